@@ -1,5 +1,7 @@
 package com.bookverse.bookCatalog.Controller;
 
+import com.bookverse.bookCatalog.DTO.BulkCategoryAssignmentRequest;
+import com.bookverse.bookCatalog.DTO.BulkCategoryAssignmentResult;
 import com.bookverse.bookCatalog.Models.BookCategory;
 import com.bookverse.bookCatalog.Service.BookCategoryService;
 import org.springframework.http.ResponseEntity;
@@ -32,4 +34,10 @@ public class BookCategoryController {
         bookCategoryService.unlinkBookFromCategory(bookId, categoryId);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    //Links, relinks or unlinks many books and categories in one transaction.
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkCategoryAssignmentResult> bulkAssignCategories(@RequestBody BulkCategoryAssignmentRequest request) {
+        return ResponseEntity.ok(bookCategoryService.bulkAssignCategories(request));
+    }
+}
@@ -2,8 +2,26 @@ package com.bookverse.bookCatalog.Controller;
 
 import com.bookverse.bookCatalog.Models.Books;
 import com.bookverse.bookCatalog.Models.Category;
+import com.bookverse.bookCatalog.Service.AdminInventoryService;
+import com.bookverse.bookCatalog.Service.BookFilterService;
+import com.bookverse.bookCatalog.Service.BookSearchService;
 import com.bookverse.bookCatalog.Service.BookService;
+import com.bookverse.bookCatalog.Service.CatalogSortIndexService;
 import com.bookverse.bookCatalog.Service.CategoryService;
+import com.bookverse.bookCatalog.Service.HomePageService;
+import com.bookverse.bookCatalog.Service.SalesCategoryReclassificationService;
+import com.bookverse.bookCatalog.Service.IsbnIndexService;
+import com.bookverse.bookCatalog.Service.TrendingService;
+import com.bookverse.bookCatalog.DTO.AdminBookFilter;
+import com.bookverse.bookCatalog.DTO.AdminBookPage;
+import com.bookverse.bookCatalog.DTO.BookBatchResponse;
+import com.bookverse.bookCatalog.DTO.BookFilter;
+import com.bookverse.bookCatalog.DTO.BookSummary;
+import com.bookverse.bookCatalog.DTO.BookPatchRequest;
+import com.bookverse.bookCatalog.DTO.BookPurgeResult;
+import com.bookverse.bookCatalog.DTO.SalesCategoryReclassificationResult;
+import com.bookverse.bookCatalog.DTO.HomePageResponse;
+import com.bookverse.bookCatalog.DTO.IsbnBatchResponse;
 import com.bookverse.bookCatalog.DTO.BookCreateRequest;
 import com.bookverse.bookCatalog.DTO.BookWithRelations;
 import com.bookverse.bookCatalog.DTO.BookImageRequest;
@@ -15,11 +33,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
+import org.springdoc.core.annotations.ParameterObject;
 
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/books")
@@ -28,10 +49,31 @@ public class BookController {
 
     private final BookService bookService;
     private final CategoryService categoryService;
+    private final CatalogSortIndexService catalogSortIndexService;
+    private final HomePageService homePageService;
+    private final TrendingService trendingService;
+    private final BookSearchService bookSearchService;
+    private final IsbnIndexService isbnIndexService;
+    private final BookFilterService bookFilterService;
+    private final SalesCategoryReclassificationService salesCategoryReclassificationService;
+    private final AdminInventoryService adminInventoryService;
 
-    public BookController(BookService bookService, CategoryService categoryService) {
+    public BookController(BookService bookService, CategoryService categoryService, CatalogSortIndexService catalogSortIndexService,
+                          HomePageService homePageService, TrendingService trendingService,
+                          BookSearchService bookSearchService, IsbnIndexService isbnIndexService,
+                          BookFilterService bookFilterService,
+                          SalesCategoryReclassificationService salesCategoryReclassificationService,
+                          AdminInventoryService adminInventoryService) {
         this.bookService = bookService;
         this.categoryService = categoryService;
+        this.catalogSortIndexService = catalogSortIndexService;
+        this.homePageService = homePageService;
+        this.trendingService = trendingService;
+        this.bookSearchService = bookSearchService;
+        this.isbnIndexService = isbnIndexService;
+        this.bookFilterService = bookFilterService;
+        this.salesCategoryReclassificationService = salesCategoryReclassificationService;
+        this.adminInventoryService = adminInventoryService;
     }
 
     @Operation(summary = "Get all active books", description = "Retrieves a list of all active books with their relationships")
@@ -45,12 +87,75 @@ public class BookController {
         return bookService.getAllBooksWithRelations();
     }
     
+    @Operation(summary = "Get a sorted page of active books",
+            description = "Server-side sorting by price, rating, newest or bestselling, optionally within a category. Backed by in-memory sorted indexes")
+    @GetMapping(params = "sort")
+    public Page<BookWithRelations> getSortedBooks(
+            @Parameter(description = "Sort key: price, rating, newest or bestselling") @RequestParam String sort,
+            @Parameter(description = "asc or desc; defaults to the natural order of the key") @RequestParam(required = false) String direction,
+            @Parameter(description = "Restrict to books in this category") @RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return catalogSortIndexService.getSortedPage(CatalogSortIndexService.SortKey.fromParameter(sort), direction, categoryId, page, size);
+    }
+    
+    @Operation(summary = "Filter active books by attributes",
+            description = "Price range, sales category, stock, rating, language, format and category filters, returned as lightweight summaries")
+    @GetMapping("/filter")
+    public Page<BookSummary> filterBooks(
+            @ParameterObject BookFilter filter,
+            @Parameter(description = "Sort key: price, rating, newest or stock") @RequestParam(defaultValue = "price") String sort,
+            @Parameter(description = "asc or desc; defaults to the natural order of the key") @RequestParam(required = false) String direction,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return bookFilterService.filterBooks(filter, BookFilterService.SortBy.fromParameter(sort), direction, page, size);
+    }
+    
+    @Operation(summary = "Get the home page",
+            description = "Newly launched, best selling, special offers, highly sold and navigation categories in one response; each book is listed once")
+    @GetMapping("/home")
+    public HomePageResponse getHomePage(
+            @Parameter(description = "Maximum books per section") @RequestParam(required = false) Integer limit) {
+        return homePageService.getHomePage(limit);
+    }
+    
     // Fetches all books for admin (including inactive ones)
     @GetMapping("/admin/all")
     public List<Books> getAllBooksForAdmin() {
         return bookService.getAllBooksForAdmin();
     }
 
+    @Operation(summary = "Admin inventory grid",
+            description = "Active and inactive books filtered and sorted in the database, returned as lightweight rows with keyset pagination (admin only)")
+    @GetMapping("/admin/grid")
+    public AdminBookPage getAdminGrid(
+            @ParameterObject AdminBookFilter filter,
+            @Parameter(description = "Comma-separated sort entries key[:asc|desc], most significant first; keys: updated, stock, price, sold, title") @RequestParam(required = false) List<String> sort,
+            @Parameter(description = "nextCursor of the previous page") @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return adminInventoryService.getPage(filter, sort, cursor, size);
+    }
+
+    @Operation(summary = "Get books by IDs", description = "Fetches many books in one call, in request order, and reports IDs that do not exist")
+    @GetMapping("/batch")
+    public BookBatchResponse getBooksByIds(
+            @Parameter(description = "Comma-separated book IDs") @RequestParam List<Long> ids) {
+        return bookService.getBooksByIds(ids);
+    }
+    
+    // Same as GET /batch, for ID lists too long for a query string
+    @PostMapping("/batch")
+    public BookBatchResponse getBooksByIdsPost(@RequestBody List<Long> ids) {
+        return bookService.getBooksByIds(ids);
+    }
+
+    @Operation(summary = "Resolve books by ISBN",
+            description = "Resolves ISBN-10 or ISBN-13 values (hyphens allowed) to books, reporting unknown and malformed ISBNs")
+    @PostMapping("/by-isbn")
+    public IsbnBatchResponse getBooksByIsbn(@RequestBody List<String> isbns) {
+        return isbnIndexService.resolve(isbns);
+    }
+
     @Operation(summary = "Get book by ID", description = "Retrieves a specific book by its ID with all relationships")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Book found",
@@ -61,11 +166,25 @@ public class BookController {
     @GetMapping("/{id}")
     public ResponseEntity<BookWithRelations> getBookById(
             @Parameter(description = "ID of the book to retrieve") @PathVariable Long id) {
-        return bookService.getBookByIdWithRelations(id)
-                .map(ResponseEntity::ok)
+        Optional<BookWithRelations> book = bookService.getBookByIdWithRelations(id);
+        book.ifPresent(found -> trendingService.record(id, TrendingService.Signal.VIEW, 1));
+        return book.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    @Operation(summary = "Get trending books", description = "Books with the most recent views, add-to-carts and sales, answered from memory")
+    @GetMapping("/trending")
+    public List<BookWithRelations> getTrendingBooks(@RequestParam(defaultValue = "10") int limit) {
+        return trendingService.getTrending(limit);
+    }
+    
+    // Records an add-to-cart signal for trending
+    @PostMapping("/{id}/signals/cart")
+    public ResponseEntity<Void> recordCartSignal(@PathVariable Long id, @RequestParam(defaultValue = "1") int quantity) {
+        trendingService.record(id, TrendingService.Signal.CART, quantity);
+        return ResponseEntity.accepted().build();
+    }
+    
     @Operation(summary = "Create a new book", description = "Creates a new book in the catalog")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Book created successfully",
@@ -87,6 +206,16 @@ public class BookController {
         return ResponseEntity.ok(updatedBook);
     }
 
+    @Operation(summary = "Partially update a book",
+            description = "Applies only the fields present in the body; changed columns are written in a single UPDATE")
+    @PatchMapping("/{id}")
+    public ResponseEntity<BookWithRelations> patchBook(@PathVariable Long id, @RequestBody BookPatchRequest patch) {
+        bookService.patchBook(id, patch);
+        return bookService.getBookByIdWithRelations(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     // To soft delete a book with id (sets isActive to false)
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteBook(@PathVariable Long id) {
@@ -94,6 +223,25 @@ public class BookController {
         return ResponseEntity.noContent().build();
     }
     
+    // Permanently deletes a book and its images, category links, alerts and reviews (admin only)
+    @DeleteMapping("/admin/{id}")
+    public ResponseEntity<Void> hardDeleteBook(@PathVariable Long id) {
+        bookService.hardDeleteBook(id);
+        return ResponseEntity.noContent().build();
+    }
+    
+    @Operation(summary = "Hard delete books", description = "Permanently deletes many books and their child rows using set-based deletes (admin only)")
+    @PostMapping("/admin/hard-delete")
+    public BookPurgeResult hardDeleteBooks(@RequestBody List<Long> ids) {
+        return bookService.hardDeleteBooks(ids);
+    }
+    
+    @Operation(summary = "Reclassify sales categories", description = "Recomputes best selling, newly launched and special offer membership now instead of waiting for the schedule (admin only)")
+    @PostMapping("/admin/reclassify")
+    public SalesCategoryReclassificationResult reclassifySalesCategories() {
+        return salesCategoryReclassificationService.reclassify();
+    }
+    
     // To restore a soft-deleted book (sets isActive to true)
     @PutMapping("/{id}/restore")
     public ResponseEntity<String> restoreBook(@PathVariable Long id) {
@@ -112,12 +260,25 @@ public class BookController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Search completed successfully",
                 content = @Content(mediaType = "application/json", 
-                schema = @Schema(implementation = Books.class)))
+                schema = @Schema(implementation = BookWithRelations.class)))
     })
     @GetMapping("/search")
-    public List<Books> searchBooks(
-            @Parameter(description = "Search query for book title or author") @RequestParam String query) {
-        return bookService.searchBooks(query);
+    public List<BookWithRelations> searchBooks(
+            @Parameter(description = "Search query for book title or author") @RequestParam String query,
+            @Parameter(description = "Only books in this category") @RequestParam(required = false) Long categoryId,
+            @Parameter(description = "Only books at or under this price") @RequestParam(required = false) Double maxPrice) {
+        return bookSearchService.search(query, categoryId, maxPrice, null, 0).getContent();
+    }
+    
+    // Same search, one page at a time
+    @GetMapping(value = "/search", params = "page")
+    public Page<BookWithRelations> searchBooksPaged(
+            @RequestParam String query,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return bookSearchService.search(query, categoryId, maxPrice, page, size);
     }
 
     // Returns similar books to a book based on it's categories
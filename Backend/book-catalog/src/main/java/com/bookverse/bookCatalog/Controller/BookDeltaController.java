@@ -0,0 +1,32 @@
+package com.bookverse.bookCatalog.Controller;
+
+import com.bookverse.bookCatalog.Service.BookDeltaStreamService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/books/deltas")
+@Tag(name = "Books", description = "Book management operations")
+public class BookDeltaController {
+
+    private final BookDeltaStreamService bookDeltaStreamService;
+
+    public BookDeltaController(BookDeltaStreamService bookDeltaStreamService) {
+        this.bookDeltaStreamService = bookDeltaStreamService;
+    }
+
+    @Operation(summary = "Stream live book changes",
+            description = "Server-Sent Events with price, stock, active-flag and rating deltas. Reconnecting with Last-Event-ID resumes where the client left off on the same instance; otherwise, or after a restart, a 'reset' event means refetch, a 'gap' event reports deltas dropped for a slow client")
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDeltas(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @Parameter(description = "Resume after this event id when the header cannot be set") @RequestParam(required = false) String since) {
+        return bookDeltaStreamService.subscribe(lastEventId != null ? lastEventId : since);
+    }
+}
@@ -0,0 +1,42 @@
+package com.bookverse.bookCatalog.Controller;
+
+import com.bookverse.bookCatalog.DTO.CatalogChangeMessage;
+import com.bookverse.bookCatalog.Service.CatalogChangeFeedService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/catalog-changes")
+@Tag(name = "Catalog Changes", description = "Feed of committed book, category and review changes")
+public class CatalogChangeController {
+
+    private final CatalogChangeFeedService catalogChangeFeedService;
+
+    public CatalogChangeController(CatalogChangeFeedService catalogChangeFeedService) {
+        this.catalogChangeFeedService = catalogChangeFeedService;
+    }
+
+    @Operation(summary = "Read the change feed", description = "Published changes after a feed position, oldest first")
+    @GetMapping
+    public List<CatalogChangeMessage> getChanges(
+            @Parameter(description = "Last position already processed; 0 reads from the start of the retained feed") @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "100") int limit) {
+        return catalogChangeFeedService.getChangesAfter(after, limit);
+    }
+
+    @Operation(summary = "Stream the change feed", description = "Server-Sent Events: replays changes after a position, then pushes new ones as they are published. Reconnecting with Last-Event-ID resumes after the last position received")
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @Parameter(description = "Last position already processed") @RequestParam(defaultValue = "0") long after,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return catalogChangeFeedService.subscribe(lastEventId != null ? lastEventId : after);
+    }
+}
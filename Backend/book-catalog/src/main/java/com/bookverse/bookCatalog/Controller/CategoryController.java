@@ -1,6 +1,10 @@
 package com.bookverse.bookCatalog.Controller;
 
+import com.bookverse.bookCatalog.DTO.BookWithRelations;
+import com.bookverse.bookCatalog.DTO.CategoryTreeNode;
 import com.bookverse.bookCatalog.Models.Category;
+import com.bookverse.bookCatalog.Service.CategoryBooksService;
+import com.bookverse.bookCatalog.Service.CategoryHierarchyService;
 import com.bookverse.bookCatalog.Service.CategoryService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,6 +15,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -22,9 +27,14 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final CategoryBooksService categoryBooksService;
+    private final CategoryHierarchyService categoryHierarchyService;
 
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService, CategoryBooksService categoryBooksService,
+                              CategoryHierarchyService categoryHierarchyService) {
         this.categoryService = categoryService;
+        this.categoryBooksService = categoryBooksService;
+        this.categoryHierarchyService = categoryHierarchyService;
     }
 
     @Operation(summary = "Get all categories", description = "Retrieves a list of all categories")
@@ -89,4 +99,44 @@ public class CategoryController {
         Category updatedCategory = categoryService.toggleCategoryActiveStatus(id);
         return ResponseEntity.ok(updatedCategory);
     }
-}
\ No newline at end of file
+
+    // Paged listing of the active books in a category, curated (higher priority) links first
+    @Operation(summary = "Get books in category",
+            description = "Pages the active books of a category ordered by link priority (higher first), then by sales or rating")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved books"),
+        @ApiResponse(responseCode = "400", description = "Invalid paging or ordering parameters"),
+        @ApiResponse(responseCode = "404", description = "Category not found")
+    })
+    @GetMapping("/{slug}/books")
+    public Page<BookWithRelations> getBooksInCategory(
+            @Parameter(description = "Category slug") @PathVariable String slug,
+            @Parameter(description = "Secondary order within equal priority: sales or rating") @RequestParam(defaultValue = "sales") String then,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return categoryBooksService.getBooksByCategorySlug(slug, CategoryBooksService.ThenBy.fromParameter(then), page, size);
+    }
+
+    // Active categories as a tree for navigation, cached until a category changes
+    @Operation(summary = "Get category tree", description = "Active categories nested under their parents, in display order")
+    @GetMapping("/tree")
+    public List<CategoryTreeNode> getCategoryTree() {
+        return categoryHierarchyService.getTree();
+    }
+    
+    // Moves a category with its subtree; omit parentId to make it top-level
+    @PutMapping("/{id}/parent")
+    public ResponseEntity<Category> moveCategory(@PathVariable Long id, @RequestParam(required = false) Long parentId) {
+        return ResponseEntity.ok(categoryService.moveCategory(id, parentId));
+    }
+    
+    @Operation(summary = "Get books in category subtree",
+            description = "Pages the active books linked to the category or any category below it, best sellers first")
+    @GetMapping("/{slug}/subtree/books")
+    public Page<BookWithRelations> getBooksInCategorySubtree(
+            @Parameter(description = "Category slug") @PathVariable String slug,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return categoryHierarchyService.getSubtreeBooks(slug, page, size);
+    }
+}
@@ -0,0 +1,74 @@
+package com.bookverse.bookCatalog.Controller;
+
+import com.bookverse.bookCatalog.Service.ImageVariantService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves resized book images. Image rows are never re-pointed (updates create new rows), so
+ * variants are cacheable for {@code books.images.max-age-seconds} and marked immutable.
+ * Bodies are transferred from a file channel opened by the cache. Tomcat's sendfile is not used:
+ * it reopens the file by name after this method returns, when eviction may already have deleted it.
+ */
+@RestController
+@RequestMapping("/api/images")
+@Tag(name = "Images", description = "Resized book images")
+public class ImageVariantController {
+
+    private final ImageVariantService imageVariantService;
+
+    @Value("${books.images.max-age-seconds:31536000}")
+    private long maxAgeSeconds;
+
+    public ImageVariantController(ImageVariantService imageVariantService) {
+        this.imageVariantService = imageVariantService;
+    }
+
+    @Operation(summary = "Get a resized book image", description = "JPEG variant of a book image: thumbnail (160 px wide) or medium (480 px wide)")
+    @GetMapping("/{imageId}/{variant}")
+    public void getImageVariant(
+            @PathVariable Long imageId,
+            @Parameter(description = "thumbnail or medium") @PathVariable String variant,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // Served from the channel opened under the cache lock; eviction may delete the file meanwhile
+        try (ImageVariantService.ServedImage image =
+                     imageVariantService.getVariant(imageId, ImageVariantService.Variant.fromParameter(variant))) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL,
+                    CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic().immutable().getHeaderValue());
+            if (new ServletWebRequest(request, response).checkNotModified(image.etag())) {
+                return;
+            }
+            response.setContentType(MediaType.IMAGE_JPEG_VALUE);
+            response.setContentLengthLong(image.length());
+            if ("HEAD".equals(request.getMethod())) {
+                return;
+            }
+
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < image.length()) {
+                long sent = image.channel().transferTo(position, image.length() - position, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+            }
+        }
+    }
+}
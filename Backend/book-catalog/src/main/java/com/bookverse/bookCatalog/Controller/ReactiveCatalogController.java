@@ -0,0 +1,76 @@
+package com.bookverse.bookCatalog.Controller;
+
+import com.bookverse.bookCatalog.DTO.BookWithRelations;
+import com.bookverse.bookCatalog.Exception.BookNotFoundException;
+import com.bookverse.bookCatalog.Exception.ValidationException;
+import com.bookverse.bookCatalog.Models.Category;
+import com.bookverse.bookCatalog.Repository.ReactiveCatalogRepository;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive variants of the hottest read endpoints, served over R2DBC straight from the database.
+ * Request threads are released while queries run. With Accept: application/x-ndjson lists are
+ * streamed one element per line, paced by how fast the client reads; plain JSON collects them
+ * into an array first.
+ */
+@RestController
+@RequestMapping("/api/reactive")
+@ConditionalOnProperty(prefix = "books.reactive", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Tag(name = "Reactive Catalog", description = "Non-blocking read-only catalog endpoints")
+public class ReactiveCatalogController {
+
+    private final ReactiveCatalogRepository reactiveCatalogRepository;
+
+    @Value("${books.pagination.max-size:100}")
+    private int maxPageSize;
+
+    public ReactiveCatalogController(ReactiveCatalogRepository reactiveCatalogRepository) {
+        this.reactiveCatalogRepository = reactiveCatalogRepository;
+    }
+
+    @Operation(summary = "Get all active books", description = "Same content as GET /api/books, in id order")
+    @GetMapping(value = "/books", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<BookWithRelations> getAllBooks() {
+        return reactiveCatalogRepository.findActiveBooks();
+    }
+
+    @Operation(summary = "Get book by ID", description = "Same content as GET /api/books/{id}")
+    @GetMapping("/books/{id}")
+    public Mono<BookWithRelations> getBookById(@PathVariable Long id) {
+        if (id == null || id <= 0) {
+            throw new ValidationException("Book ID must be a positive number");
+        }
+        return reactiveCatalogRepository.findActiveBookById(id)
+                .switchIfEmpty(Mono.error(() -> new BookNotFoundException(id)));
+    }
+
+    @Operation(summary = "Search books", description = "Title or author match, best sellers first")
+    @GetMapping(value = "/books/search", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<BookWithRelations> searchBooks(
+            @Parameter(description = "Search query for book title or author") @RequestParam String query,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new ValidationException("Search query is required");
+        }
+        if (limit <= 0) {
+            throw new ValidationException("Limit must be a positive number");
+        }
+        return reactiveCatalogRepository.searchActiveBooks(query, Math.min(limit, maxPageSize));
+    }
+
+    @Operation(summary = "Get active categories for navigation", description = "Same content as GET /api/categories/active")
+    @GetMapping(value = "/categories/active", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Category> getActiveCategoriesForNavigation() {
+        return reactiveCatalogRepository.findActiveCategoriesForNavigation();
+    }
+}
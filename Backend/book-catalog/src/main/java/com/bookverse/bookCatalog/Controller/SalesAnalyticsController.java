@@ -0,0 +1,46 @@
+package com.bookverse.bookCatalog.Controller;
+
+import com.bookverse.bookCatalog.DTO.SalesSeries;
+import com.bookverse.bookCatalog.Service.SalesRollupService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics/sales")
+@Tag(name = "Sales Analytics", description = "Units sold and revenue per time bucket, from pre-aggregated rollups")
+public class SalesAnalyticsController {
+
+    private final SalesRollupService salesRollupService;
+
+    public SalesAnalyticsController(SalesRollupService salesRollupService) {
+        this.salesRollupService = salesRollupService;
+    }
+
+    @Operation(summary = "Sales over time", description = "One point per bucket in [from, to) for the whole catalog, a book or a category")
+    @GetMapping
+    public SalesSeries getSeries(
+            @Parameter(description = "all, book or category") @RequestParam(defaultValue = "all") String scope,
+            @Parameter(description = "Book or category id; ignored for scope=all") @RequestParam(required = false) Long id,
+            @Parameter(description = "minute, hour or day") @RequestParam(defaultValue = "day") String resolution,
+            @Parameter(description = "Inclusive start, e.g. 2024-05-01T00:00") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Exclusive end; defaults to now") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return salesRollupService.getSeries(scope, id, resolution, from, to);
+    }
+
+    @Operation(summary = "Sales over time per category", description = "One series per category that sold anything in [from, to)")
+    @GetMapping("/categories")
+    public List<SalesSeries> getCategorySeries(
+            @Parameter(description = "minute, hour or day") @RequestParam(defaultValue = "day") String resolution,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return salesRollupService.getCategorySeries(resolution, from, to);
+    }
+}
@@ -0,0 +1,25 @@
+package com.bookverse.bookCatalog.DTO;
+
+import com.bookverse.bookCatalog.Models.Books;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filter for the admin inventory grid. Unlike {@link BookFilter} it covers inactive and soft-deleted books;
+ * every criterion is optional and the ones present are AND-ed.
+ */
+@Data
+public class AdminBookFilter {
+    // null lists active and inactive books
+    private Boolean active;
+    // Books whose actual stock is strictly below this value
+    private Integer stockBelow;
+    private Long categoryId;
+    private Books.SalesCategory salesCategory;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedTo;
+}
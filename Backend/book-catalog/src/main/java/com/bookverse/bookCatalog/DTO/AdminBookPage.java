@@ -0,0 +1,19 @@
+package com.bookverse.bookCatalog.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One keyset page of the admin inventory grid. Pass {@code nextCursor} back with the same filter and sort
+ * to get the following page; it is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdminBookPage {
+    private List<AdminBookRow> items;
+    private String nextCursor;
+}
@@ -0,0 +1,32 @@
+package com.bookverse.bookCatalog.DTO;
+
+import com.bookverse.bookCatalog.Models.Books;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Inventory grid row selected straight from the BOOKS columns; images, categories and reviews are not loaded.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdminBookRow {
+    private Long id;
+    private String isbn;
+    private String title;
+    private String author;
+    private double price;
+    private double mrp;
+    private int stockActual;
+    private int stockDisplay;
+    private int noOfBooksSold;
+    private Books.SalesCategory salesCategory;
+    private Boolean isActive;
+    private Boolean isFeatured;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,18 @@
+package com.bookverse.bookCatalog.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of a multi-get: books in the order they were requested, plus the ids that do not exist.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookBatchResponse {
+    private List<BookWithRelations> books;
+    private List<Long> missingIds;
+}
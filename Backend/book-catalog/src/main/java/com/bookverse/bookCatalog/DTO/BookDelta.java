@@ -0,0 +1,26 @@
+package com.bookverse.bookCatalog.DTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compact live update for one book: only the storefront-relevant fields that changed are set.
+ * {@code seq} is the SSE event id clients resume from.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookDelta {
+    private long seq;
+    private Long bookId;
+    private Double price;
+    private Double mrp;
+    private Integer stockDisplay;
+    private Integer stockActual;
+    private Boolean isActive;
+    private Double averageRating;
+    private Integer reviewCount;
+}
@@ -0,0 +1,19 @@
+package com.bookverse.bookCatalog.DTO;
+
+import com.bookverse.bookCatalog.Models.Books;
+import lombok.Data;
+
+/**
+ * Attribute filter for storefront listings. Every criterion is optional; the ones present are AND-ed.
+ */
+@Data
+public class BookFilter {
+    private Long categoryId;
+    private Double minPrice;
+    private Double maxPrice;
+    private Books.SalesCategory salesCategory;
+    private Boolean inStock;
+    private Double minRating;
+    private String language;
+    private String format;
+}
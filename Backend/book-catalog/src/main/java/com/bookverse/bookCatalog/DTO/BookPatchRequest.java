@@ -0,0 +1,35 @@
+package com.bookverse.bookCatalog.DTO;
+
+import com.bookverse.bookCatalog.Models.Books;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Partial book update: every field is optional and only the fields present (non-null) are applied.
+ * Categories and images are managed through their own endpoints.
+ */
+@Getter
+@Setter
+public class BookPatchRequest {
+    private String isbn;
+    private String title;
+    private String author;
+    private String description;
+    private String language;
+    private String format;
+    private String edition;
+    private String publisher;
+    private LocalDateTime publicationDate;
+    private Integer pages;
+    private Double weight;
+    private String dimensions;
+    private Double price;
+    private Double mrp;
+    private Integer stockDisplay;
+    private Integer stockActual;
+    private Books.SalesCategory salesCategory;
+    private Boolean isActive;
+    private Boolean isFeatured;
+}
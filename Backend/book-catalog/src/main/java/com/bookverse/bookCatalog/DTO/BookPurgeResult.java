@@ -0,0 +1,18 @@
+package com.bookverse.bookCatalog.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of a bulk hard delete: how many books were removed and which requested ids did not exist.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookPurgeResult {
+    private int deletedBooks;
+    private List<Long> missingIds;
+}
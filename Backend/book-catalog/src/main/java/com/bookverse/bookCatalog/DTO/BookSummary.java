@@ -0,0 +1,24 @@
+package com.bookverse.bookCatalog.DTO;
+
+import com.bookverse.bookCatalog.Models.Books;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Listing row selected straight from the BOOKS columns, without loading entities or relations.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookSummary {
+    private Long id;
+    private String title;
+    private String author;
+    private double price;
+    private double mrp;
+    private double averageRating;
+    private int reviewCount;
+    private int stockDisplay;
+    private Books.SalesCategory salesCategory;
+}
@@ -1,6 +1,7 @@
 package com.bookverse.bookCatalog.DTO;
 
 import com.bookverse.bookCatalog.Models.Books;
+import com.bookverse.bookCatalog.Models.Category;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -8,6 +9,7 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Data
 @NoArgsConstructor
@@ -46,6 +48,76 @@ public class BookWithRelations {
     private List<CategoryInfo> categories;
     private List<BookImageInfo> images;
     
+    /**
+     * Converts a Books entity (with categories and images already fetched) to a BookWithRelations DTO.
+     * This is the central piece of the solution.
+     */
+    public static BookWithRelations fromEntity(Books book) {
+        if (book == null) {
+            return null;
+        }
+        BookWithRelations dto = new BookWithRelations();
+        
+        // Map all the book's direct properties
+        dto.setId(book.getId());
+        dto.setIsbn(book.getIsbn());
+        dto.setTitle(book.getTitle());
+        dto.setAuthor(book.getAuthor());
+        dto.setDescription(book.getDescription());
+        dto.setLanguage(book.getLanguage());
+        dto.setFormat(book.getFormat());
+        dto.setEdition(book.getEdition());
+        dto.setPublisher(book.getPublisher());
+        dto.setPublicationDate(book.getPublicationDate());
+        dto.setPages(book.getPages());
+        dto.setWeight(book.getWeight());
+        dto.setDimensions(book.getDimensions());
+        dto.setPrice(book.getPrice());
+        dto.setMrp(book.getMrp());
+        dto.setStockDisplay(book.getStockDisplay());
+        dto.setStockActual(book.getStockActual());
+        dto.setNoOfBooksSold(book.getNoOfBooksSold());
+        dto.setTotalRevenue(book.getTotalRevenue());
+        dto.setAverageRating(book.getAverageRating());
+        dto.setReviewCount(book.getReviewCount());
+        dto.setSalesCategory(book.getSalesCategory());
+        dto.setIsActive(book.isActive());
+        dto.setIsFeatured(book.isFeatured());
+        dto.setLastSoldAt(book.getLastSoldAt());
+        dto.setCreatedAt(book.getCreatedAt());
+        dto.setUpdatedAt(book.getUpdatedAt());
+
+        // Correctly map the nested categories
+        if (book.getBookCategories() != null) {
+            dto.setCategories(book.getBookCategories().stream().map(bc -> {
+                Category category = bc.getCategory();
+                CategoryInfo categoryInfo = new CategoryInfo();
+                categoryInfo.setId(category.getId());
+                categoryInfo.setName(category.getName());
+                categoryInfo.setSlug(category.getSlug());
+                categoryInfo.setDescription(category.getDescription());
+                categoryInfo.setImage(category.getImage());
+                categoryInfo.setIsActive(category.getIsActive());
+                categoryInfo.setPriority(bc.getPriority()); // Priority is in BookCategory, not Category
+                return categoryInfo;
+            }).collect(Collectors.toList()));
+        }
+
+        // Correctly map the nested images
+        if (book.getBookImages() != null) {
+            dto.setImages(book.getBookImages().stream().map(img -> {
+                BookImageInfo imageInfo = new BookImageInfo();
+                imageInfo.setId(img.getId());
+                imageInfo.setImageUrl(img.getImage()); // Note: BookImage entity uses 'image' field
+                imageInfo.setIsPrimary(img.isPrimary());
+                imageInfo.setAltText(img.getAltText());
+                return imageInfo;
+            }).collect(Collectors.toList()));
+        }
+        
+        return dto;
+    }
+    
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -0,0 +1,28 @@
+package com.bookverse.bookCatalog.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Assigns many books to many categories in one call.
+ * ADD links every book to every category, REPLACE makes the categories the books' only links,
+ * REMOVE unlinks the books from the categories.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCategoryAssignmentRequest {
+
+    public enum Mode {
+        ADD, REPLACE, REMOVE
+    }
+
+    private List<Long> bookIds;
+    private List<Long> categoryIds;
+    private Mode mode = Mode.ADD;
+    // Priority for new links; existing links are moved to it on ADD and REPLACE
+    private int priority;
+}
@@ -0,0 +1,21 @@
+package com.bookverse.bookCatalog.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk category assignment: the applied diff and the book ids that do not exist.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCategoryAssignmentResult {
+    private int linksAdded;
+    private int linksRemoved;
+    private int linksReprioritized;
+    private int booksChanged;
+    private List<Long> missingBookIds;
+}
@@ -0,0 +1,31 @@
+package com.bookverse.bookCatalog.DTO;
+
+import com.bookverse.bookCatalog.Models.OutboxEvent;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One published catalog change as seen by listeners and feed clients.
+ * {@code position} is strictly increasing and gapless across the feed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogChangeMessage {
+    private long position;
+    private OutboxEvent.AggregateType aggregateType;
+    private Long aggregateId;
+    private OutboxEvent.EventType eventType;
+    @JsonRawValue
+    private String payload;
+    private LocalDateTime occurredAt;
+
+    public static CatalogChangeMessage from(OutboxEvent event) {
+        return new CatalogChangeMessage(event.getPosition(), event.getAggregateType(), event.getAggregateId(),
+                event.getEventType(), event.getPayload(), event.getCreatedAt());
+    }
+}
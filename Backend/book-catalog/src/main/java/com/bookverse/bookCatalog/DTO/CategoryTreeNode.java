@@ -0,0 +1,23 @@
+package com.bookverse.bookCatalog.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One active category in the navigation tree, with its active children in display order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryTreeNode {
+    private Long id;
+    private String name;
+    private String slug;
+    private String image;
+    private int displayOrder;
+    private List<CategoryTreeNode> children = new ArrayList<>();
+}
@@ -0,0 +1,25 @@
+package com.bookverse.bookCatalog.DTO;
+
+import com.bookverse.bookCatalog.Models.Category;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the home page renders, in one payload.
+ * Each book appears once in {@code books}; sections list book ids in display order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HomePageResponse {
+    private Map<Long, BookWithRelations> books;
+    private List<Long> newlyLaunched;
+    private List<Long> bestSelling;
+    private List<Long> specialOffers;
+    private List<Long> highlySold;
+    private List<Category> categories;
+}
@@ -0,0 +1,21 @@
+package com.bookverse.bookCatalog.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a batch ISBN resolution. Found books are keyed by the ISBN exactly as it was sent,
+ * in request order; unknown and malformed ISBNs are listed separately.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IsbnBatchResponse {
+    private Map<String, BookWithRelations> books;
+    private List<String> notFound;
+    private List<String> invalid;
+}
@@ -0,0 +1,22 @@
+package com.bookverse.bookCatalog.DTO;
+
+import com.bookverse.bookCatalog.Models.Books;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Outcome of a reclassification pass: books scanned, books whose category changed,
+ * and how many active books each category holds afterwards (unclassified books are not counted).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesCategoryReclassificationResult {
+    private int scannedBooks;
+    private int changedBooks;
+    private Map<Books.SalesCategory, Integer> membership;
+    private long durationMs;
+}
@@ -0,0 +1,12 @@
+package com.bookverse.bookCatalog.DTO;
+
+import com.bookverse.bookCatalog.Models.Books;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns of an active book that decide its sales category, read by the reclassification pass.
+ */
+public record SalesClassificationInput(Long id, Books.SalesCategory salesCategory, double price, double mrp,
+                                       LocalDateTime publicationDate, LocalDateTime createdAt) {
+}
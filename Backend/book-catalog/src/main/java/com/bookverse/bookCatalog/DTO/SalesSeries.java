@@ -0,0 +1,34 @@
+package com.bookverse.bookCatalog.DTO;
+
+import com.bookverse.bookCatalog.Models.SalesRollup;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Sales of one book, one category or the whole catalog over a time range, one point per bucket
+ * (empty buckets included), plus the totals of the range.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesSeries {
+    private SalesRollup.Scope scope;
+    private Long scopeId;
+    private SalesRollup.Resolution resolution;
+    private long totalUnits;
+    private double totalRevenue;
+    private List<Point> points;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Point {
+        private LocalDateTime bucketStart;
+        private long units;
+        private double revenue;
+    }
+}
@@ -0,0 +1,10 @@
+package com.bookverse.bookCatalog.Event;
+
+import com.bookverse.bookCatalog.DTO.BookWithRelations;
+
+/**
+ * Published by the book cache after a book was (re)loaded or removed.
+ * {@code previous} is null for a book not cached before; {@code current} is null once the book is gone.
+ */
+public record BookChangedEvent(Long bookId, BookWithRelations previous, BookWithRelations current) {
+}
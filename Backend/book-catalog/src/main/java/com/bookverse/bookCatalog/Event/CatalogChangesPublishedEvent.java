@@ -0,0 +1,13 @@
+package com.bookverse.bookCatalog.Event;
+
+import com.bookverse.bookCatalog.DTO.CatalogChangeMessage;
+
+import java.util.List;
+
+/**
+ * Published by the outbox relay with each batch of changes, in feed order, inside the transaction
+ * that marks them published. A listener that throws rolls the batch back and it is delivered again,
+ * so listeners should ignore positions they have already applied.
+ */
+public record CatalogChangesPublishedEvent(List<CatalogChangeMessage> changes) {
+}
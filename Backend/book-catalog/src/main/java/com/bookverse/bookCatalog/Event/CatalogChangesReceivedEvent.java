@@ -0,0 +1,21 @@
+package com.bookverse.bookCatalog.Event;
+
+import com.bookverse.bookCatalog.DTO.CatalogChangeMessage;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Published on every instance by {@link com.bookverse.bookCatalog.Service.CatalogChangeTailService}
+ * for each page of changes read from the published outbox, in feed order. {@code bookIds} holds the
+ * books touched directly or through a review, {@code categoryIds} the categories changed. When
+ * {@code resync} is set the instance fell behind the outbox retention (or could not read its start
+ * position) and derived state must be rebuilt from the database; {@code changes} is then empty.
+ */
+public record CatalogChangesReceivedEvent(List<CatalogChangeMessage> changes, Set<Long> bookIds,
+                                          Set<Long> categoryIds, boolean resync) {
+
+    public static CatalogChangesReceivedEvent resyncRequired() {
+        return new CatalogChangesReceivedEvent(List.of(), Set.of(), Set.of(), true);
+    }
+}
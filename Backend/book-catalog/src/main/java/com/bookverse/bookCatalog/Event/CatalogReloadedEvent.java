@@ -0,0 +1,8 @@
+package com.bookverse.bookCatalog.Event;
+
+/**
+ * Published by the book cache after its whole content was replaced (startup warm-up or full reload),
+ * so derived structures rebuild from the cache instead of applying per-book changes.
+ */
+public record CatalogReloadedEvent(int bookCount) {
+}
@@ -0,0 +1,10 @@
+package com.bookverse.bookCatalog.Event;
+
+import java.util.List;
+
+/**
+ * Published by the category service when categories were created, edited, toggled or deleted,
+ * so views built from the category list (navigation, home page) can drop what they hold.
+ */
+public record CategoriesChangedEvent(List<Long> categoryIds) {
+}
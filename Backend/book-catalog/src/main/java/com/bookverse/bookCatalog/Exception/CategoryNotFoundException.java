@@ -18,4 +18,8 @@ public class CategoryNotFoundException extends BaseException {
     public CategoryNotFoundException(String message, Throwable cause) {
         super(message, cause, HttpStatus.NOT_FOUND, "CATEGORY_NOT_FOUND");
     }
+    
+    public static CategoryNotFoundException forSlug(String slug) {
+        return new CategoryNotFoundException("Category not found with slug: " + slug, null);
+    }
 } 
\ No newline at end of file
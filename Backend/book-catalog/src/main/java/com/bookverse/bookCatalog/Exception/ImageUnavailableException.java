@@ -0,0 +1,27 @@
+package com.bookverse.bookCatalog.Exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a resized book image cannot be served
+ */
+public class ImageUnavailableException extends BaseException {
+
+    private ImageUnavailableException(String message, Throwable cause, HttpStatus httpStatus, String errorCode) {
+        super(message, cause, httpStatus, errorCode);
+    }
+
+    public static ImageUnavailableException notFound(Long imageId) {
+        return new ImageUnavailableException("Image not found with ID: " + imageId, null, HttpStatus.NOT_FOUND, "IMAGE_NOT_FOUND");
+    }
+
+    public static ImageUnavailableException unreadableSource(String source, Throwable cause) {
+        return new ImageUnavailableException("Image source could not be read: " + source, cause, HttpStatus.BAD_GATEWAY,
+                "IMAGE_SOURCE_UNREADABLE");
+    }
+
+    public static ImageUnavailableException busy() {
+        return new ImageUnavailableException("Image workers are busy, retry shortly", null, HttpStatus.SERVICE_UNAVAILABLE,
+                "IMAGE_WORKERS_BUSY");
+    }
+}
@@ -6,13 +6,20 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.proxy.HibernateProxy;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
-@Table(name = "BOOK_CATEGORIES")
+@Table(name = "BOOK_CATEGORIES", indexes = {
+    // Category pages read one priority-ordered range of this index
+    @Index(name = "idx_book_categories_category_priority_book", columnList = "category_id, priority, book_id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalog.book-category")
 @Getter
 @Setter
 @NoArgsConstructor
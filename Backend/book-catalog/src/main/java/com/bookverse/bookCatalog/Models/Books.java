@@ -7,6 +7,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.proxy.HibernateProxy;
 
@@ -16,7 +18,20 @@ import java.util.Objects;
 import java.util.Set;
 
 @Entity
-@Table(name = "BOOKS")
+@Table(name = "BOOKS", indexes = {
+    // Lets the retention purge find expired soft deletes without a full scan
+    @Index(name = "idx_books_deleted_at", columnList = "deleted_at"),
+    // ISBNs are stored normalized to ISBN-13; NULL stays allowed for books without one
+    @Index(name = "uk_books_isbn", columnList = "isbn", unique = true),
+    // Filtered listings: equality on is_active (and sales_category) followed by a range or ordered scan
+    @Index(name = "idx_books_active_sales_price", columnList = "is_active, sales_category, price"),
+    @Index(name = "idx_books_active_rating", columnList = "is_active, average_rating"),
+    @Index(name = "idx_books_active_stock", columnList = "is_active, stock_actual"),
+    // Admin inventory grid: updatedAt range and ordering, with or without the active filter;
+    // the implicit trailing primary key keeps the (updated_at, id) keyset on the index
+    @Index(name = "idx_books_active_updated", columnList = "is_active, updated_at"),
+    @Index(name = "idx_books_updated", columnList = "updated_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -65,11 +80,13 @@ public class Books {
     // Unidirectional relationship to BookImage
     @OneToMany(mappedBy = "book", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @JsonIgnoreProperties({"book"})
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalog.book.images")
     private Set<BookImage> bookImages = new HashSet<>();
     
     // Bidirectional relationship to BookCategory
     @JsonManagedReference("book-category")
     @OneToMany(mappedBy = "book", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalog.book.categories")
     private Set<BookCategory> bookCategories = new HashSet<>();
     
     @OneToOne(mappedBy = "book", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
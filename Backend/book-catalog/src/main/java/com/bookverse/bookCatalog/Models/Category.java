@@ -7,6 +7,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.proxy.HibernateProxy;
 
@@ -16,7 +18,11 @@ import java.util.Objects;
 import java.util.Set;
 
 @Entity
-@Table(name = "CATEGORIES")
+@Table(name = "CATEGORIES", indexes = {
+    @Index(name = "idx_categories_parent", columnList = "parent_id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalog.category")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -37,6 +43,11 @@ public class Category {
     private String description;
     
     private String image;
+    
+    // Null for top-level categories; the full ancestry lives in CATEGORY_CLOSURE
+    @Column(name = "parent_id")
+    private Long parentId;
+    
     private int displayOrder;
     private Boolean isActive = true;
     private LocalDateTime createdAt;
@@ -0,0 +1,59 @@
+package com.bookverse.bookCatalog.Models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A catalog change recorded in the same transaction as the change itself.
+ * {@code position} stays null until the relay publishes the event; it then becomes the event's
+ * gapless place in the change feed, which is what feed clients use as their cursor.
+ */
+@Entity
+@Table(name = "OUTBOX_EVENTS", indexes = {
+    // NULL positions (unpublished) come out in id order; published ones serve feed range reads
+    @Index(name = "uk_outbox_events_position", columnList = "position", unique = true),
+    // Retention cleanup
+    @Index(name = "idx_outbox_events_published_at", columnList = "published_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private AggregateType aggregateType;
+
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private EventType eventType;
+
+    // Optional JSON details, e.g. the quantity of a stock change
+    @Column(length = 1000)
+    private String payload;
+
+    private Long position;
+    private LocalDateTime createdAt;
+    private LocalDateTime publishedAt;
+
+    public enum AggregateType {
+        BOOK, CATEGORY, REVIEW
+    }
+
+    public enum EventType {
+        BOOK_CREATED, BOOK_UPDATED, BOOK_DEACTIVATED, BOOK_RESTORED, BOOK_DELETED,
+        STOCK_CHANGED, BOOK_CATEGORIES_CHANGED, BOOK_IMAGES_CHANGED,
+        CATEGORY_CREATED, CATEGORY_UPDATED, CATEGORY_MOVED, CATEGORY_DELETED,
+        REVIEW_CREATED, REVIEW_UPDATED, REVIEW_DELETED, REVIEW_MODERATED
+    }
+}
@@ -0,0 +1,24 @@
+package com.bookverse.bookCatalog.Models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Single-row table the outbox relays lock ({@code SELECT ... FOR UPDATE}) at the start of every batch,
+ * so relays running on several instances hand out positions one batch at a time.
+ */
+@Entity
+@Table(name = "OUTBOX_RELAY_LOCK")
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxRelayLock {
+    @Id
+    private Integer id;
+
+    public OutboxRelayLock(Integer id) {
+        this.id = id;
+    }
+}
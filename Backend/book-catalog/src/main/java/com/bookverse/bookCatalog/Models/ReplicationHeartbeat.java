@@ -0,0 +1,24 @@
+package com.bookverse.bookCatalog.Models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Single-row table the replica lag monitor writes on the primary and reads back from the replica.
+ * The difference between now and the replicated {@code beatAt} is the replica's lag.
+ */
+@Entity
+@Table(name = "REPLICATION_HEARTBEAT")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ReplicationHeartbeat {
+    @Id
+    private Integer id;
+
+    // Epoch millis of the last write on the primary
+    @Column(nullable = false)
+    private Long beatAt;
+}
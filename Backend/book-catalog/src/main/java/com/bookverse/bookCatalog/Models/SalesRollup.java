@@ -0,0 +1,67 @@
+package com.bookverse.bookCatalog.Models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Units sold and revenue for one book, one category or the whole catalog over one time bucket.
+ * Rows are only ever incremented by the rollup flush, never rewritten.
+ */
+@Entity
+@Table(name = "SALES_ROLLUPS", indexes = {
+    // Upsert target and range reads for a series
+    @Index(name = "uk_sales_rollups_bucket", columnList = "scope, resolution, scope_id, bucket_start", unique = true),
+    // Retention cleanup
+    @Index(name = "idx_sales_rollups_resolution_start", columnList = "resolution, bucket_start")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class SalesRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Scope scope;
+
+    // Book or category id; 0 for the whole catalog
+    @Column(name = "scope_id", nullable = false)
+    private Long scopeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Resolution resolution;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false)
+    private long units;
+
+    @Column(nullable = false)
+    private double revenue;
+
+    public enum Scope {
+        ALL, BOOK, CATEGORY
+    }
+
+    public enum Resolution {
+        MINUTE(60_000L), HOUR(3_600_000L), DAY(86_400_000L);
+
+        private final long millis;
+
+        Resolution(long millis) {
+            this.millis = millis;
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+    }
+}
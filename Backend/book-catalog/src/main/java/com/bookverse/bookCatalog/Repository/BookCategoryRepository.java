@@ -3,16 +3,56 @@ package com.bookverse.bookCatalog.Repository;
 import com.bookverse.bookCatalog.Models.BookCategory;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface BookCategoryRepository extends JpaRepository<BookCategory, Long> {
+
+    // Flat view of a link, read without loading the book or category entities
+    interface LinkView {
+        Long getId();
+        Long getBookId();
+        Long getCategoryId();
+        int getPriority();
+    }
+
     List<BookCategory> findByCategoryId(Long categoryId);
     List<BookCategory> findByBookId(Long bookId);
+    
+    @Query("SELECT DISTINCT bc.book.id FROM BookCategory bc WHERE bc.category.id IN :categoryIds")
+    List<Long> findBookIdsByCategoryIdIn(@Param("categoryIds") Collection<Long> categoryIds);
+    
+    // Active books of a category, highest link priority first, then best sellers
+    @Query("SELECT b.id FROM BookCategory bc JOIN bc.book b " +
+           "WHERE bc.category.id = :categoryId AND b.isActive = true " +
+           "ORDER BY bc.priority DESC, b.noOfBooksSold DESC, b.id ASC")
+    List<Long> findActiveBookIdsByCategoryOrderBySales(@Param("categoryId") Long categoryId);
+    
+    // Active books of a category, highest link priority first, then best rated
+    @Query("SELECT b.id FROM BookCategory bc JOIN bc.book b " +
+           "WHERE bc.category.id = :categoryId AND b.isActive = true " +
+           "ORDER BY bc.priority DESC, b.averageRating DESC, b.id ASC")
+    List<Long> findActiveBookIdsByCategoryOrderByRating(@Param("categoryId") Long categoryId);
         
+    @Query("SELECT bc.id AS id, bc.book.id AS bookId, bc.category.id AS categoryId, bc.priority AS priority " +
+           "FROM BookCategory bc WHERE bc.book.id IN :bookIds")
+    List<LinkView> findLinksByBookIdIn(@Param("bookIds") Collection<Long> bookIds);
+    
+    @Modifying
+    @Query("DELETE FROM BookCategory bc WHERE bc.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Modifying
+    @Query("DELETE FROM BookCategory bc WHERE bc.book.id IN :bookIds")
+    int deleteByBookIdIn(@Param("bookIds") Collection<Long> bookIds);
+    
     @Transactional
     void deleteByBookIdAndCategoryId(Long bookId, Long categoryId);
     
@@ -2,11 +2,19 @@ package com.bookverse.bookCatalog.Repository;
 
 import com.bookverse.bookCatalog.Models.BookImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface BookImageRepository extends JpaRepository<BookImage, Long> {
     List<BookImage> findByBookIdOrderByDisplayOrderAsc(Long bookId);
-}
\ No newline at end of file
+
+    @Modifying
+    @Query("DELETE FROM BookImage i WHERE i.book.id IN :bookIds")
+    int deleteByBookIdIn(@Param("bookIds") Collection<Long> bookIds);
+}
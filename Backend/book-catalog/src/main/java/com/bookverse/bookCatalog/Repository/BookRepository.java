@@ -1,17 +1,28 @@
 package com.bookverse.bookCatalog.Repository;
 
+import com.bookverse.bookCatalog.DTO.SalesClassificationInput;
 import com.bookverse.bookCatalog.Models.Books;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface BookRepository extends JpaRepository<Books, Long>, JpaSpecificationExecutor<Books> {
+public interface BookRepository extends JpaRepository<Books, Long>, JpaSpecificationExecutor<Books>, BookRepositoryCustom {
 
     List<Books> findByTitleContainingIgnoreCaseOrAuthorContainingIgnoreCase(String titleQuery, String authorQuery);
 
@@ -55,4 +66,90 @@ public interface BookRepository extends JpaRepository<Books, Long>, JpaSpecifica
            "LEFT JOIN FETCH b.inventoryAlert " +
            "LEFT JOIN FETCH b.bookImages")
     List<Books> findAllWithCategoriesForAdmin();
-}
\ No newline at end of file
+
+    // Finds books (active or not) changed after the given instant, with all relations eagerly loaded.
+    @Query("SELECT DISTINCT b FROM Books b " +
+           "LEFT JOIN FETCH b.bookCategories bc " +
+           "LEFT JOIN FETCH bc.category " +
+           "LEFT JOIN FETCH b.inventoryAlert " +
+           "LEFT JOIN FETCH b.bookImages " +
+           "WHERE b.updatedAt > :since")
+    List<Books> findUpdatedSinceWithRelations(@Param("since") LocalDateTime since);
+
+    // Finds the given books (active or not) with all relations eagerly loaded.
+    @Query("SELECT DISTINCT b FROM Books b " +
+           "LEFT JOIN FETCH b.bookCategories bc " +
+           "LEFT JOIN FETCH bc.category " +
+           "LEFT JOIN FETCH b.inventoryAlert " +
+           "LEFT JOIN FETCH b.bookImages " +
+           "WHERE b.id IN :ids")
+    List<Books> findAllByIdWithRelations(@Param("ids") Collection<Long> ids);
+
+    // Lists every book id, used to reconcile in-memory state with hard deletes.
+    @Query("SELECT b.id FROM Books b")
+    List<Long> findAllIds();
+
+    // Title/author search returning ids only; the pattern is lower-cased and LIKE-escaped by the caller
+    @Query(value = "SELECT b.id FROM Books b " +
+           "WHERE (LOWER(b.title) LIKE :pattern ESCAPE '!' OR LOWER(b.author) LIKE :pattern ESCAPE '!') " +
+           "AND (:maxPrice IS NULL OR b.price <= :maxPrice) " +
+           "AND (:categoryId IS NULL OR EXISTS (SELECT 1 FROM BookCategory bc WHERE bc.book = b AND bc.category.id = :categoryId)) " +
+           "ORDER BY b.id",
+           countQuery = "SELECT COUNT(b) FROM Books b " +
+           "WHERE (LOWER(b.title) LIKE :pattern ESCAPE '!' OR LOWER(b.author) LIKE :pattern ESCAPE '!') " +
+           "AND (:maxPrice IS NULL OR b.price <= :maxPrice) " +
+           "AND (:categoryId IS NULL OR EXISTS (SELECT 1 FROM BookCategory bc WHERE bc.book = b AND bc.category.id = :categoryId))")
+    Page<Long> searchIds(@Param("pattern") String pattern, @Param("categoryId") Long categoryId,
+                         @Param("maxPrice") Double maxPrice, Pageable pageable);
+
+    // Active books linked to a category or any of its descendants, best sellers first
+    @Query(value = "SELECT b.id FROM Books b WHERE b.isActive = true AND EXISTS (" +
+                   "SELECT 1 FROM BookCategory bc, CategoryClosure cc " +
+                   "WHERE bc.book = b AND bc.category.id = cc.descendantId AND cc.ancestorId = :categoryId) " +
+                   "ORDER BY b.noOfBooksSold DESC, b.id",
+           countQuery = "SELECT COUNT(b) FROM Books b WHERE b.isActive = true AND EXISTS (" +
+                   "SELECT 1 FROM BookCategory bc, CategoryClosure cc " +
+                   "WHERE bc.book = b AND bc.category.id = cc.descendantId AND cc.ancestorId = :categoryId)")
+    Page<Long> findActiveIdsInCategorySubtree(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    @Query("SELECT b.id FROM Books b WHERE b.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Oldest soft-deleted books past the retention cutoff, one chunk at a time
+    @Query("SELECT b.id FROM Books b WHERE b.isActive = false AND b.deletedAt < :cutoff ORDER BY b.deletedAt")
+    List<Long> findSoftDeletedIdsBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    // Re-checks a purge chunk inside its transaction and locks the rows still eligible, so a restore
+    // either commits first and is excluded here or waits until the purge has committed
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id FROM Books b WHERE b.id IN :ids AND b.isActive = false AND b.deletedAt < :cutoff")
+    List<Long> lockSoftDeletedIdsBefore(@Param("ids") Collection<Long> ids, @Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM Books b WHERE b.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Current active flag read from the row, for writes that must not trust the cached copy.
+    @Query("SELECT b.isActive FROM Books b WHERE b.id = :id")
+    Optional<Boolean> findActiveFlagById(@Param("id") Long id);
+
+    // Stored ISBN as written, for patches that echo it back unchanged.
+    @Query("SELECT b.isbn FROM Books b WHERE b.id = :id")
+    Optional<String> findIsbnById(@Param("id") Long id);
+
+    // Bumps updatedAt for books whose relations changed without touching the book row itself.
+    @Modifying
+    @Query("UPDATE Books b SET b.updatedAt = :now WHERE b.id IN :ids")
+    int touchBooks(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // Inputs of the sales-category pass; MySQL streams the rows instead of buffering the result set
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"))
+    @Query("SELECT new com.bookverse.bookCatalog.DTO.SalesClassificationInput(" +
+           "b.id, b.salesCategory, b.price, b.mrp, b.publicationDate, b.createdAt) FROM Books b WHERE b.isActive = true")
+    Stream<SalesClassificationInput> streamSalesClassificationInputs();
+
+    @Modifying
+    @Query("UPDATE Books b SET b.salesCategory = :salesCategory, b.updatedAt = :now WHERE b.id IN :ids")
+    int updateSalesCategory(@Param("ids") Collection<Long> ids, @Param("salesCategory") Books.SalesCategory salesCategory,
+                            @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,36 @@
+package com.bookverse.bookCatalog.Repository;
+
+import com.bookverse.bookCatalog.DTO.AdminBookRow;
+import com.bookverse.bookCatalog.DTO.BookSummary;
+import com.bookverse.bookCatalog.Models.Books;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+
+// Hand-written queries mixed into BookRepository
+public interface BookRepositoryCustom {
+
+    /**
+     * Updates only the given columns of one book in a single UPDATE statement, without loading it.
+     * @param changes entity attribute name to new value
+     * @return the number of rows updated (0 if the book does not exist)
+     */
+    int updateColumns(Long id, Map<String, Object> changes);
+
+    /**
+     * Runs the specification as a projection query: only the {@link BookSummary} columns are selected,
+     * so no entities enter the persistence context.
+     */
+    Page<BookSummary> findSummaries(Specification<Books> spec, Pageable pageable);
+
+    /**
+     * Runs the specification as an {@link AdminBookRow} projection in the given order, without a count
+     * and without an offset; keyset pagination supplies the position through the specification.
+     */
+    List<AdminBookRow> findAdminRows(Specification<Books> spec, Sort sort, int limit);
+}
@@ -0,0 +1,86 @@
+package com.bookverse.bookCatalog.Repository;
+
+import com.bookverse.bookCatalog.DTO.AdminBookRow;
+import com.bookverse.bookCatalog.DTO.BookSummary;
+import com.bookverse.bookCatalog.Models.Books;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+import java.util.Map;
+
+public class BookRepositoryImpl implements BookRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int updateColumns(Long id, Map<String, Object> changes) {
+        if (changes.isEmpty()) {
+            return 0;
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Books> update = cb.createCriteriaUpdate(Books.class);
+        Root<Books> book = update.from(Books.class);
+        changes.forEach((attribute, value) -> update.set(book.get(attribute), value));
+        update.where(cb.equal(book.get("id"), id));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public Page<BookSummary> findSummaries(Specification<Books> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<BookSummary> select = cb.createQuery(BookSummary.class);
+        Root<Books> book = select.from(Books.class);
+        select.select(cb.construct(BookSummary.class,
+                book.get("id"), book.get("title"), book.get("author"), book.get("price"), book.get("mrp"),
+                book.get("averageRating"), book.get("reviewCount"), book.get("stockDisplay"), book.get("salesCategory")));
+        select.where(spec.toPredicate(book, select, cb));
+        select.orderBy(QueryUtils.toOrders(pageable.getSort(), book, cb));
+        List<BookSummary> content = entityManager.createQuery(select)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        // Skip the count when the first page is already short
+        if (pageable.getOffset() == 0 && content.size() < pageable.getPageSize()) {
+            return new PageImpl<>(content, pageable, content.size());
+        }
+        CriteriaQuery<Long> count = cb.createQuery(Long.class);
+        Root<Books> counted = count.from(Books.class);
+        count.select(cb.count(counted)).where(spec.toPredicate(counted, count, cb));
+        return new PageImpl<>(content, pageable, entityManager.createQuery(count).getSingleResult());
+    }
+
+    @Override
+    public List<AdminBookRow> findAdminRows(Specification<Books> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AdminBookRow> select = cb.createQuery(AdminBookRow.class);
+        Root<Books> book = select.from(Books.class);
+        select.select(cb.construct(AdminBookRow.class,
+                book.get("id"), book.get("isbn"), book.get("title"), book.get("author"), book.get("price"), book.get("mrp"),
+                book.get("stockActual"), book.get("stockDisplay"), book.get("noOfBooksSold"), book.get("salesCategory"),
+                book.get("isActive"), book.get("isFeatured"), book.get("createdAt"), book.get("updatedAt"), book.get("deletedAt")));
+        Predicate predicate = spec.toPredicate(book, select, cb);
+        if (predicate != null) {
+            select.where(predicate);
+        }
+        select.orderBy(QueryUtils.toOrders(sort, book, cb));
+        return entityManager.createQuery(select)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
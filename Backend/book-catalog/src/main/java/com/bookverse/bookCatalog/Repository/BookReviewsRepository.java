@@ -5,10 +5,12 @@ import com.bookverse.bookCatalog.Models.Books;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -74,4 +76,9 @@ public interface BookReviewsRepository extends JpaRepository<BookReviews, Long>
     // Get rating distribution for a book
     @Query("SELECT r.rating, COUNT(r) FROM BookReviews r WHERE r.book.id = :bookId AND r.status = :status GROUP BY r.rating ORDER BY r.rating")
     List<Object[]> getRatingDistributionByBookId(@Param("bookId") Long bookId, @Param("status") BookReviews.ReviewStatus status);
-} 
\ No newline at end of file
+    
+    // Removes every review of the given books, without loading them (used by the purge)
+    @Modifying
+    @Query("DELETE FROM BookReviews r WHERE r.book.id IN :bookIds")
+    int deleteByBookIdIn(@Param("bookIds") Collection<Long> bookIds);
+}
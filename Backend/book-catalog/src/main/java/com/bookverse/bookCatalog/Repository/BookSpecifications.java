@@ -0,0 +1,177 @@
+package com.bookverse.bookCatalog.Repository;
+
+import com.bookverse.bookCatalog.DTO.AdminBookFilter;
+import com.bookverse.bookCatalog.DTO.BookFilter;
+import com.bookverse.bookCatalog.Models.BookCategory;
+import com.bookverse.bookCatalog.Models.Books;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Composable predicates over BOOKS. Equality on is_active comes first so that, combined with
+ * sales_category, price, average_rating or stock_actual, the filter lines up with one of the
+ * composite indexes declared on {@link Books}.
+ */
+public final class BookSpecifications {
+
+    private BookSpecifications() {
+    }
+
+    public static Specification<Books> isActive() {
+        return (root, query, cb) -> cb.isTrue(root.get("isActive"));
+    }
+
+    public static Specification<Books> hasActive(boolean active) {
+        return (root, query, cb) -> cb.equal(root.get("isActive"), active);
+    }
+
+    public static Specification<Books> hasSalesCategory(Books.SalesCategory salesCategory) {
+        return (root, query, cb) -> cb.equal(root.get("salesCategory"), salesCategory);
+    }
+
+    public static Specification<Books> priceAtLeast(double minPrice) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+
+    public static Specification<Books> priceAtMost(double maxPrice) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+    }
+
+    public static Specification<Books> ratingAtLeast(double minRating) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("averageRating"), minRating);
+    }
+
+    public static Specification<Books> inStock() {
+        return (root, query, cb) -> cb.greaterThan(root.get("stockActual"), 0);
+    }
+
+    public static Specification<Books> stockBelow(int threshold) {
+        return (root, query, cb) -> cb.lessThan(root.get("stockActual"), threshold);
+    }
+
+    public static Specification<Books> updatedAtFrom(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("updatedAt"), from);
+    }
+
+    public static Specification<Books> updatedAtBefore(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThan(root.get("updatedAt"), to);
+    }
+
+    public static Specification<Books> hasLanguage(String language) {
+        return (root, query, cb) -> cb.equal(root.get("language"), language);
+    }
+
+    public static Specification<Books> hasFormat(String format) {
+        return (root, query, cb) -> cb.equal(root.get("format"), format);
+    }
+
+    // EXISTS over the (category_id, priority, book_id) index instead of a join that would duplicate rows
+    public static Specification<Books> inCategory(Long categoryId) {
+        return (root, query, cb) -> {
+            Subquery<Long> link = query.subquery(Long.class);
+            Root<BookCategory> bookCategory = link.from(BookCategory.class);
+            link.select(bookCategory.get("book").get("id"))
+                    .where(cb.equal(bookCategory.get("category").get("id"), categoryId),
+                            cb.equal(bookCategory.get("book").get("id"), root.get("id")));
+            return cb.exists(link);
+        };
+    }
+
+    // Active books matching every criterion present in the filter
+    public static Specification<Books> matching(BookFilter filter) {
+        Specification<Books> spec = isActive();
+        if (filter.getSalesCategory() != null) {
+            spec = spec.and(hasSalesCategory(filter.getSalesCategory()));
+        }
+        if (filter.getMinPrice() != null) {
+            spec = spec.and(priceAtLeast(filter.getMinPrice()));
+        }
+        if (filter.getMaxPrice() != null) {
+            spec = spec.and(priceAtMost(filter.getMaxPrice()));
+        }
+        if (filter.getMinRating() != null) {
+            spec = spec.and(ratingAtLeast(filter.getMinRating()));
+        }
+        if (Boolean.TRUE.equals(filter.getInStock())) {
+            spec = spec.and(inStock());
+        }
+        if (filter.getLanguage() != null && !filter.getLanguage().isBlank()) {
+            spec = spec.and(hasLanguage(filter.getLanguage().trim()));
+        }
+        if (filter.getFormat() != null && !filter.getFormat().isBlank()) {
+            spec = spec.and(hasFormat(filter.getFormat().trim()));
+        }
+        if (filter.getCategoryId() != null) {
+            spec = spec.and(inCategory(filter.getCategoryId()));
+        }
+        return spec;
+    }
+
+    // Active and inactive books matching every criterion present in the admin filter
+    public static Specification<Books> matching(AdminBookFilter filter) {
+        Specification<Books> spec = Specification.where(null);
+        if (filter.getActive() != null) {
+            spec = spec.and(hasActive(filter.getActive()));
+        }
+        if (filter.getSalesCategory() != null) {
+            spec = spec.and(hasSalesCategory(filter.getSalesCategory()));
+        }
+        if (filter.getStockBelow() != null) {
+            spec = spec.and(stockBelow(filter.getStockBelow()));
+        }
+        if (filter.getUpdatedFrom() != null) {
+            spec = spec.and(updatedAtFrom(filter.getUpdatedFrom()));
+        }
+        if (filter.getUpdatedTo() != null) {
+            spec = spec.and(updatedAtBefore(filter.getUpdatedTo()));
+        }
+        if (filter.getCategoryId() != null) {
+            spec = spec.and(inCategory(filter.getCategoryId()));
+        }
+        return spec;
+    }
+
+    /**
+     * Rows strictly after the given position in the given order (keyset pagination).
+     * Expands to {@code c1 > v1 OR (c1 = v1 AND (c2 > v2 OR (c2 = v2 AND ...)))}, so the last order
+     * must be on a unique attribute. NULLs are placed the way MySQL sorts them: first ascending, last descending.
+     * @param values one value per order, null where the row had no value
+     */
+    public static Specification<Books> after(List<Sort.Order> orders, List<Object> values) {
+        return (root, query, cb) -> after(root, cb, orders, values, 0);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate after(Root<Books> root, CriteriaBuilder cb, List<Sort.Order> orders, List<Object> values, int i) {
+        if (i == orders.size()) {
+            return cb.disjunction();
+        }
+        Sort.Order order = orders.get(i);
+        Path<Comparable> path = root.get(order.getProperty());
+        Comparable value = (Comparable) values.get(i);
+        Predicate beyond;
+        Predicate tied;
+        if (value == null) {
+            beyond = order.isAscending() ? cb.isNotNull(path) : cb.disjunction();
+            tied = cb.isNull(path);
+        } else {
+            beyond = order.isAscending()
+                    ? cb.greaterThan(path, value)
+                    : cb.or(cb.lessThan(path, value), cb.isNull(path));
+            tied = cb.equal(path, value);
+        }
+        if (i == orders.size() - 1) {
+            return beyond;
+        }
+        return cb.or(beyond, cb.and(tied, after(root, cb, orders, values, i + 1)));
+    }
+}
@@ -0,0 +1,60 @@
+package com.bookverse.bookCatalog.Repository;
+
+import com.bookverse.bookCatalog.Models.CategoryClosure;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CategoryClosureRepository extends JpaRepository<CategoryClosure, CategoryClosure.Key> {
+
+    // The category itself and everything below it
+    @Query("SELECT cc.descendantId FROM CategoryClosure cc WHERE cc.ancestorId = :categoryId")
+    List<Long> findSubtreeIds(@Param("categoryId") Long categoryId);
+
+    // Strict ancestors of the category, nearest first
+    @Query("SELECT cc.ancestorId FROM CategoryClosure cc WHERE cc.descendantId = :categoryId AND cc.depth > 0 ORDER BY cc.depth")
+    List<Long> findAncestorIds(@Param("categoryId") Long categoryId);
+
+    @Query("SELECT COUNT(cc) FROM CategoryClosure cc WHERE cc.depth = 0")
+    long countSelfLinks();
+
+    // Links a new leaf under its parent: one row per ancestor of the parent, plus the self row.
+    // The inserts are JPQL so they invalidate only CategoryClosure in the second-level cache, not every region;
+    // the casts type the parameter-only select of the union
+    @Modifying
+    @Query("INSERT INTO CategoryClosure (ancestorId, descendantId, depth) " +
+           "SELECT cc.ancestorId, CAST(:categoryId AS Long), cc.depth + 1 FROM CategoryClosure cc WHERE cc.descendantId = :parentId " +
+           "UNION ALL SELECT CAST(:categoryId AS Long), CAST(:categoryId AS Long), 0")
+    int insertLeaf(@Param("categoryId") Long categoryId, @Param("parentId") Long parentId);
+
+    // Links a whole subtree under a new parent: every ancestor of the parent to every node of the subtree
+    @Modifying
+    @Query("INSERT INTO CategoryClosure (ancestorId, descendantId, depth) " +
+           "SELECT a.ancestorId, d.descendantId, a.depth + d.depth + 1 " +
+           "FROM CategoryClosure a CROSS JOIN CategoryClosure d " +
+           "WHERE a.descendantId = :parentId AND d.ancestorId = :rootId")
+    int attachSubtree(@Param("rootId") Long rootId, @Param("parentId") Long parentId);
+
+    @Modifying
+    @Query("DELETE FROM CategoryClosure cc WHERE cc.ancestorId IN :ancestorIds AND cc.descendantId IN :descendantIds")
+    int deleteLinks(@Param("ancestorIds") Collection<Long> ancestorIds, @Param("descendantIds") Collection<Long> descendantIds);
+
+    @Modifying
+    @Query("UPDATE CategoryClosure cc SET cc.depth = cc.depth - 1 WHERE cc.ancestorId IN :ancestorIds AND cc.descendantId IN :descendantIds")
+    int shortenLinks(@Param("ancestorIds") Collection<Long> ancestorIds, @Param("descendantIds") Collection<Long> descendantIds);
+
+    @Modifying
+    @Query("DELETE FROM CategoryClosure cc WHERE cc.ancestorId = :categoryId OR cc.descendantId = :categoryId")
+    int deleteAllFor(@Param("categoryId") Long categoryId);
+
+    @Modifying
+    @Query("DELETE FROM CategoryClosure cc")
+    int deleteAllLinks();
+}
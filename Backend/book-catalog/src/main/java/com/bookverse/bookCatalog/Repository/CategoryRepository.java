@@ -2,14 +2,51 @@ package com.bookverse.bookCatalog.Repository;
 
 import com.bookverse.bookCatalog.Models.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+    
+    // Lookups served from the query cache; results are invalidated whenever CATEGORIES is written through Hibernate
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = "catalog.category-queries")
+    })
+    @Override
+    List<Category> findAll();
+    
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = "catalog.category-queries")
+    })
     Optional<Category> findByName(String name);
+    
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = "catalog.category-queries")
+    })
+    Optional<Category> findBySlug(String slug);
+    
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = "catalog.category-queries")
+    })
+    List<Category> findByParentId(Long parentId);
+    
     List<Category> findByNameIn(List<String> names);
     List<Category> findByNameContainingIgnoreCase(String name);
+    List<Category> findByUpdatedAtAfter(LocalDateTime since);
+    
+    @Query("SELECT c.id FROM Category c WHERE c.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
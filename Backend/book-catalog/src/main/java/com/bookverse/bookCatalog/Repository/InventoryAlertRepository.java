@@ -2,8 +2,12 @@ package com.bookverse.bookCatalog.Repository;
 
 import com.bookverse.bookCatalog.Models.InventoryAlert;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +16,8 @@ public interface InventoryAlertRepository extends JpaRepository<InventoryAlert,
     Optional<InventoryAlert> findByBookId(Long bookId);
     List<InventoryAlert> findByCurrentStockLessThanEqual(int threshold);
     List<InventoryAlert> findByAlertTypeAndIsResolvedFalse(InventoryAlert.AlertType alertType);
+
+    @Modifying
+    @Query("DELETE FROM InventoryAlert a WHERE a.book.id IN :bookIds")
+    int deleteByBookIdIn(@Param("bookIds") Collection<Long> bookIds);
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.bookverse.bookCatalog.Repository;
+
+import com.bookverse.bookCatalog.Models.OutboxRelayLock;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface OutboxRelayLockRepository extends JpaRepository<OutboxRelayLock, Integer> {
+
+    // Blocks until no other relay transaction holds the row
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM OutboxRelayLock l WHERE l.id = :id")
+    Optional<OutboxRelayLock> lockById(@Param("id") Integer id);
+}
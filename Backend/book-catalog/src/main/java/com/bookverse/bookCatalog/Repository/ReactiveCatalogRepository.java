@@ -0,0 +1,175 @@
+package com.bookverse.bookCatalog.Repository;
+
+import com.bookverse.bookCatalog.DTO.BookWithRelations;
+import com.bookverse.bookCatalog.Models.Books;
+import com.bookverse.bookCatalog.Models.Category;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking reads of the catalog over R2DBC, producing the same DTOs as the JPA path.
+ * Books stream in id order; their categories and images are fetched per buffer of
+ * {@code books.reactive.relation-batch-size} books with two IN queries, so a slow subscriber
+ * holds back the book query instead of piling rows up in memory.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "books.reactive", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ReactiveCatalogRepository {
+
+    private static final String BOOK_COLUMNS =
+            "SELECT id, isbn, title, author, description, language, format, edition, publisher, publication_date, " +
+            "pages, weight, dimensions, price, mrp, stock_display, stock_actual, no_of_books_sold, total_revenue, " +
+            "average_rating, review_count, sales_category, is_active, is_featured, last_sold_at, created_at, updated_at " +
+            "FROM books ";
+
+    private final DatabaseClient client;
+
+    @Value("${books.reactive.relation-batch-size:100}")
+    private int relationBatchSize;
+
+    public ReactiveCatalogRepository(DatabaseClient reactiveCatalogClient) {
+        this.client = reactiveCatalogClient;
+    }
+
+    public Flux<BookWithRelations> findActiveBooks() {
+        Flux<BookWithRelations> books = client.sql(BOOK_COLUMNS + "WHERE is_active = true ORDER BY id")
+                .map(ReactiveCatalogRepository::toBook)
+                .all();
+        return withRelations(books);
+    }
+
+    public Mono<BookWithRelations> findActiveBookById(Long id) {
+        Flux<BookWithRelations> book = client.sql(BOOK_COLUMNS + "WHERE id = :id AND is_active = true")
+                .bind("id", id)
+                .map(ReactiveCatalogRepository::toBook)
+                .all();
+        return withRelations(book).next();
+    }
+
+    // Case-insensitive title/author match, best sellers first
+    public Flux<BookWithRelations> searchActiveBooks(String query, int limit) {
+        Flux<BookWithRelations> books = client.sql(BOOK_COLUMNS +
+                        "WHERE is_active = true AND (LOWER(title) LIKE :pattern OR LOWER(author) LIKE :pattern) " +
+                        "ORDER BY no_of_books_sold DESC, id LIMIT :limit")
+                .bind("pattern", "%" + escapeLike(query.trim().toLowerCase()) + "%")
+                .bind("limit", limit)
+                .map(ReactiveCatalogRepository::toBook)
+                .all();
+        return withRelations(books);
+    }
+
+    public Flux<Category> findActiveCategoriesForNavigation() {
+        return client.sql("SELECT id, name, slug, description, image, parent_id, display_order, is_active, created_at, updated_at " +
+                        "FROM categories WHERE is_active = true ORDER BY display_order, id")
+                .map(ReactiveCatalogRepository::toCategory)
+                .all();
+    }
+
+    private Flux<BookWithRelations> withRelations(Flux<BookWithRelations> books) {
+        return books.buffer(relationBatchSize).concatMap(batch -> {
+            List<Long> ids = batch.stream().map(BookWithRelations::getId).toList();
+            // One relation query at a time: a request holds at most two pooled connections
+            return categoriesOf(ids).flatMapMany(categories -> imagesOf(ids).flatMapIterable(images -> {
+                for (BookWithRelations book : batch) {
+                    book.setCategories(new ArrayList<>(categories.getOrDefault(book.getId(), List.of())));
+                    book.setImages(new ArrayList<>(images.getOrDefault(book.getId(), List.of())));
+                }
+                return batch;
+            }));
+        });
+    }
+
+    private Mono<Map<Long, Collection<BookWithRelations.CategoryInfo>>> categoriesOf(List<Long> bookIds) {
+        return client.sql("SELECT bc.book_id, bc.priority, c.id, c.name, c.slug, c.description, c.image, c.is_active " +
+                        "FROM book_categories bc JOIN categories c ON c.id = bc.category_id " +
+                        "WHERE bc.book_id IN (:ids) ORDER BY bc.priority")
+                .bind("ids", bookIds)
+                .map(row -> Map.entry(row.get("book_id", Long.class), new BookWithRelations.CategoryInfo(
+                        row.get("id", Long.class),
+                        row.get("name", String.class),
+                        row.get("slug", String.class),
+                        row.get("description", String.class),
+                        row.get("image", String.class),
+                        row.get("is_active", Boolean.class),
+                        row.get("priority", Integer.class))))
+                .all()
+                .collectMultimap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    private Mono<Map<Long, Collection<BookWithRelations.BookImageInfo>>> imagesOf(List<Long> bookIds) {
+        return client.sql("SELECT id, book_id, image, alt_text, is_primary FROM book_images " +
+                        "WHERE book_id IN (:ids) ORDER BY display_order, id")
+                .bind("ids", bookIds)
+                .map(row -> Map.entry(row.get("book_id", Long.class), new BookWithRelations.BookImageInfo(
+                        row.get("id", Long.class),
+                        row.get("image", String.class),
+                        row.get("alt_text", String.class),
+                        row.get("is_primary", Boolean.class))))
+                .all()
+                .collectMultimap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    private static BookWithRelations toBook(Readable row) {
+        BookWithRelations book = new BookWithRelations();
+        book.setId(row.get("id", Long.class));
+        book.setIsbn(row.get("isbn", String.class));
+        book.setTitle(row.get("title", String.class));
+        book.setAuthor(row.get("author", String.class));
+        book.setDescription(row.get("description", String.class));
+        book.setLanguage(row.get("language", String.class));
+        book.setFormat(row.get("format", String.class));
+        book.setEdition(row.get("edition", String.class));
+        book.setPublisher(row.get("publisher", String.class));
+        book.setPublicationDate(row.get("publication_date", LocalDateTime.class));
+        book.setPages(row.get("pages", Integer.class));
+        book.setWeight(row.get("weight", Double.class));
+        book.setDimensions(row.get("dimensions", String.class));
+        book.setPrice(row.get("price", Double.class));
+        book.setMrp(row.get("mrp", Double.class));
+        book.setStockDisplay(row.get("stock_display", Integer.class));
+        book.setStockActual(row.get("stock_actual", Integer.class));
+        book.setNoOfBooksSold(row.get("no_of_books_sold", Integer.class));
+        book.setTotalRevenue(row.get("total_revenue", Double.class));
+        book.setAverageRating(row.get("average_rating", Double.class));
+        book.setReviewCount(row.get("review_count", Integer.class));
+        String salesCategory = row.get("sales_category", String.class);
+        book.setSalesCategory(salesCategory != null ? Books.SalesCategory.valueOf(salesCategory) : null);
+        book.setIsActive(row.get("is_active", Boolean.class));
+        book.setIsFeatured(row.get("is_featured", Boolean.class));
+        book.setLastSoldAt(row.get("last_sold_at", LocalDateTime.class));
+        book.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        book.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        return book;
+    }
+
+    private static Category toCategory(Readable row) {
+        Category category = new Category();
+        category.setId(row.get("id", Long.class));
+        category.setName(row.get("name", String.class));
+        category.setSlug(row.get("slug", String.class));
+        category.setDescription(row.get("description", String.class));
+        category.setImage(row.get("image", String.class));
+        category.setParentId(row.get("parent_id", Long.class));
+        Integer displayOrder = row.get("display_order", Integer.class);
+        category.setDisplayOrder(displayOrder != null ? displayOrder : 0);
+        category.setIsActive(row.get("is_active", Boolean.class));
+        category.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        category.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        return category;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,46 @@
+package com.bookverse.bookCatalog.Repository;
+
+import com.bookverse.bookCatalog.Models.SalesRollup;
+import com.bookverse.bookCatalog.Models.SalesRollup.Resolution;
+import com.bookverse.bookCatalog.Models.SalesRollup.Scope;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, Long> {
+
+    // Buckets of one series in [from, to)
+    @Query("SELECT r FROM SalesRollup r WHERE r.scope = :scope AND r.resolution = :resolution AND r.scopeId = :scopeId " +
+           "AND r.bucketStart >= :from AND r.bucketStart < :to ORDER BY r.bucketStart")
+    List<SalesRollup> findSeries(@Param("scope") Scope scope, @Param("resolution") Resolution resolution,
+                                 @Param("scopeId") Long scopeId,
+                                 @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Buckets of every series of a scope in [from, to)
+    @Query("SELECT r FROM SalesRollup r WHERE r.scope = :scope AND r.resolution = :resolution " +
+           "AND r.bucketStart >= :from AND r.bucketStart < :to ORDER BY r.scopeId, r.bucketStart")
+    List<SalesRollup> findAllSeries(@Param("scope") Scope scope, @Param("resolution") Resolution resolution,
+                                    @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query("DELETE FROM SalesRollup r WHERE r.resolution = :resolution AND r.bucketStart < :cutoff")
+    int deleteBefore(@Param("resolution") Resolution resolution, @Param("cutoff") LocalDateTime cutoff);
+
+    // Units per series id over the buckets starting at or after :from
+    @Query("SELECT r.scopeId, SUM(r.units) FROM SalesRollup r WHERE r.scope = :scope AND r.resolution = :resolution " +
+           "AND r.bucketStart >= :from GROUP BY r.scopeId")
+    List<Object[]> sumUnitsSince(@Param("scope") Scope scope, @Param("resolution") Resolution resolution,
+                                 @Param("from") LocalDateTime from);
+
+    // Start of the oldest stored bucket of a resolution
+    @Query("SELECT MIN(r.bucketStart) FROM SalesRollup r WHERE r.resolution = :resolution")
+    Optional<LocalDateTime> findEarliestBucketStart(@Param("resolution") Resolution resolution);
+}
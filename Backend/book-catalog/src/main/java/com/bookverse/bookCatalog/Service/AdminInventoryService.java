@@ -0,0 +1,183 @@
+package com.bookverse.bookCatalog.Service;
+
+import com.bookverse.bookCatalog.DTO.AdminBookFilter;
+import com.bookverse.bookCatalog.DTO.AdminBookPage;
+import com.bookverse.bookCatalog.DTO.AdminBookRow;
+import com.bookverse.bookCatalog.Exception.ValidationException;
+import com.bookverse.bookCatalog.Models.Books;
+import com.bookverse.bookCatalog.Repository.BookRepository;
+import com.bookverse.bookCatalog.Repository.BookSpecifications;
+import com.bookverse.bookCatalog.util.KeysetCursor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Server-side admin inventory grid over every book, active or not.
+ * Rows are {@link AdminBookRow} projections; pages are keyset-based (the cursor carries the sort values of
+ * the last row and the id), so a deep page costs the same as the first one and rows do not shift
+ * between pages when books are added or removed.
+ */
+@Service
+public class AdminInventoryService {
+
+    public enum SortKey {
+        UPDATED("updatedAt", Sort.Direction.DESC, AdminBookRow::getUpdatedAt, LocalDateTime::parse),
+        STOCK("stockActual", Sort.Direction.ASC, AdminBookRow::getStockActual, Integer::valueOf),
+        PRICE("price", Sort.Direction.ASC, AdminBookRow::getPrice, Double::valueOf),
+        SOLD("noOfBooksSold", Sort.Direction.DESC, AdminBookRow::getNoOfBooksSold, Integer::valueOf),
+        TITLE("title", Sort.Direction.ASC, AdminBookRow::getTitle, value -> value);
+
+        private final String attribute;
+        private final Sort.Direction defaultDirection;
+        private final Function<AdminBookRow, Object> extractor;
+        private final Function<String, Object> parser;
+
+        SortKey(String attribute, Sort.Direction defaultDirection,
+                Function<AdminBookRow, Object> extractor, Function<String, Object> parser) {
+            this.attribute = attribute;
+            this.defaultDirection = defaultDirection;
+            this.extractor = extractor;
+            this.parser = parser;
+        }
+
+        public static SortKey fromParameter(String value) {
+            try {
+                return SortKey.valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new ValidationException("Unsupported sort key: " + value + ". Use updated, stock, price, sold or title");
+            }
+        }
+    }
+
+    private record SortColumn(SortKey key, Sort.Direction direction) {
+        @Override
+        public String toString() {
+            return key.name().toLowerCase() + ":" + direction.name().toLowerCase();
+        }
+    }
+
+    private final BookRepository bookRepository;
+
+    @Value("${books.pagination.max-size:100}")
+    private int maxPageSize;
+
+    public AdminInventoryService(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    /**
+     * Returns the page that follows the cursor, or the first page without one.
+     * @param sort "key" or "key:direction" entries, most significant first; defaults to "updated:desc".
+     *             Id is always appended as the final tie-breaker, in the direction of the last entry
+     * @param cursor the {@code nextCursor} of the previous page, issued for the same sort
+     */
+    @Transactional(readOnly = true)
+    public AdminBookPage getPage(AdminBookFilter filter, List<String> sort, String cursor, int size) {
+        if (size <= 0) {
+            throw new ValidationException("Page size must be a positive number");
+        }
+        validate(filter);
+        size = Math.min(size, maxPageSize);
+
+        List<SortColumn> columns = parseSort(sort);
+        String signature = columns.stream().map(SortColumn::toString).collect(Collectors.joining(","));
+        List<Sort.Order> orders = new ArrayList<>(columns.size() + 1);
+        columns.forEach(column -> orders.add(new Sort.Order(column.direction(), column.key().attribute)));
+        orders.add(new Sort.Order(columns.get(columns.size() - 1).direction(), "id"));
+
+        Specification<Books> spec = BookSpecifications.matching(filter);
+        if (cursor != null && !cursor.isBlank()) {
+            spec = spec.and(BookSpecifications.after(orders, decodeCursor(cursor, signature, columns)));
+        }
+
+        // One extra row tells whether another page exists without a count query
+        List<AdminBookRow> rows = bookRepository.findAdminRows(spec, Sort.by(orders), size + 1);
+        if (rows.size() <= size) {
+            return new AdminBookPage(rows, null);
+        }
+        List<AdminBookRow> items = new ArrayList<>(rows.subList(0, size));
+        return new AdminBookPage(items, encodeCursor(signature, columns, items.get(size - 1)));
+    }
+
+    private List<SortColumn> parseSort(List<String> sort) {
+        if (sort == null || sort.isEmpty()) {
+            return List.of(new SortColumn(SortKey.UPDATED, SortKey.UPDATED.defaultDirection));
+        }
+        Set<SortKey> seen = new LinkedHashSet<>();
+        List<SortColumn> columns = new ArrayList<>(sort.size());
+        for (String entry : sort) {
+            if (entry == null || entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.split(":", 2);
+            SortKey key = SortKey.fromParameter(parts[0]);
+            if (!seen.add(key)) {
+                throw new ValidationException("Sort key listed more than once: " + parts[0].trim());
+            }
+            Sort.Direction direction = parts.length == 1 ? key.defaultDirection
+                    : Sort.Direction.fromOptionalString(parts[1].trim())
+                            .orElseThrow(() -> new ValidationException("Sort direction must be asc or desc"));
+            columns.add(new SortColumn(key, direction));
+        }
+        return columns.isEmpty() ? parseSort(null) : columns;
+    }
+
+    private String encodeCursor(String signature, List<SortColumn> columns, AdminBookRow last) {
+        List<String> values = new ArrayList<>(columns.size() + 2);
+        values.add(signature);
+        for (SortColumn column : columns) {
+            values.add(Objects.toString(column.key().extractor.apply(last), null));
+        }
+        values.add(String.valueOf(last.getId()));
+        return KeysetCursor.encode(values);
+    }
+
+    private List<Object> decodeCursor(String cursor, String signature, List<SortColumn> columns) {
+        List<String> values;
+        try {
+            values = KeysetCursor.decode(cursor.trim());
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+        if (values.size() != columns.size() + 2 || !signature.equals(values.get(0)) || values.get(values.size() - 1) == null) {
+            throw new ValidationException("Cursor does not belong to this sort order; restart from the first page");
+        }
+        List<Object> position = new ArrayList<>(columns.size() + 1);
+        try {
+            for (int i = 0; i < columns.size(); i++) {
+                String value = values.get(i + 1);
+                position.add(value == null ? null : columns.get(i).key().parser.apply(value));
+            }
+            position.add(Long.valueOf(values.get(values.size() - 1)));
+        } catch (RuntimeException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+        return position;
+    }
+
+    private void validate(AdminBookFilter filter) {
+        if (filter.getStockBelow() != null && filter.getStockBelow() < 0) {
+            throw new ValidationException("Stock threshold must be a non-negative number");
+        }
+        if (filter.getCategoryId() != null && filter.getCategoryId() <= 0) {
+            throw new ValidationException("Category ID must be a positive number");
+        }
+        if (filter.getUpdatedFrom() != null && filter.getUpdatedTo() != null
+                && filter.getUpdatedFrom().isAfter(filter.getUpdatedTo())) {
+            throw new ValidationException("updatedFrom cannot be after updatedTo");
+        }
+    }
+}
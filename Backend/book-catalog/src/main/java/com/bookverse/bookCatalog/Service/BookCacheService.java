@@ -0,0 +1,339 @@
+package com.bookverse.bookCatalog.Service;
+
+import com.bookverse.bookCatalog.DTO.BookWithRelations;
+import com.bookverse.bookCatalog.Event.BookChangedEvent;
+import com.bookverse.bookCatalog.Event.CatalogChangesReceivedEvent;
+import com.bookverse.bookCatalog.Event.CatalogReloadedEvent;
+import com.bookverse.bookCatalog.Models.Category;
+import com.bookverse.bookCatalog.Repository.BookCategoryRepository;
+import com.bookverse.bookCatalog.Repository.BookRepository;
+import com.bookverse.bookCatalog.Repository.CategoryRepository;
+import com.bookverse.bookCatalog.config.ReadWriteRoutingDataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory copy of the catalog, keyed by book id.
+ * Entries are read-only DTOs; writers call {@link #invalidate} and the entry is reloaded once the
+ * surrounding transaction commits. Writes made on other instances arrive through the outbox tail
+ * (see {@link CatalogChangeTailService}). On startup the cache is warmed from the latest snapshot
+ * (see {@link CatalogSnapshotService}) and only rows changed since then are read from MySQL.
+ * Every load reads the primary, never a possibly lagging replica.
+ */
+@Service
+public class BookCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookCacheService.class);
+
+    private final BookRepository bookRepository;
+    private final CategoryRepository categoryRepository;
+    private final BookCategoryRepository bookCategoryRepository;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Long, BookWithRelations> books = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private volatile boolean loaded = false;
+    // Serializes on-demand loads; CatalogReloadedEvent listeners run under it, so they must never wait for it
+    private final Object loadLock = new Object();
+
+    @Value("${books.cache.warm-on-startup:true}")
+    private boolean warmOnStartup;
+
+    public BookCacheService(BookRepository bookRepository, CategoryRepository categoryRepository,
+                            BookCategoryRepository bookCategoryRepository, CatalogSnapshotService catalogSnapshotService,
+                            ApplicationEventPublisher eventPublisher) {
+        this.bookRepository = bookRepository;
+        this.categoryRepository = categoryRepository;
+        this.bookCategoryRepository = bookCategoryRepository;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // Warms the cache once the application is up: snapshot first, then the delta since the snapshot.
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!warmOnStartup) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            Optional<CatalogSnapshotService.Snapshot> snapshot = catalogSnapshotService.loadLatest();
+            if (snapshot.isPresent()) {
+                ReadWriteRoutingDataSource.onPrimary(() -> applySnapshot(snapshot.get()));
+            } else {
+                reloadAll();
+            }
+            logger.info("Book cache warmed with {} books in {} ms", books.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.warn("Book cache warm-up failed, falling back to lazy loading: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Loads the whole catalog once if nothing has loaded it yet. Concurrent callers wait for the same load;
+     * derived indexes call this without holding their own locks and build from the CatalogReloadedEvent.
+     */
+    public void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (loadLock) {
+            if (!loaded) {
+                reloadAll();
+            }
+        }
+    }
+
+    // Replaces the cache content with a full read of the catalog.
+    public void reloadAll() {
+        Map<Long, BookWithRelations> fresh = ReadWriteRoutingDataSource.onPrimary(bookRepository::findAllWithCategoriesForAdmin).stream()
+                .map(BookWithRelations::fromEntity)
+                .collect(Collectors.toMap(BookWithRelations::getId, dto -> dto));
+        replaceContent(fresh);
+        loaded = true;
+        version.incrementAndGet();
+        eventPublisher.publishEvent(new CatalogReloadedEvent(books.size()));
+    }
+
+    // Loads the snapshot content and applies only the changes made after it was taken.
+    private void applySnapshot(CatalogSnapshotService.Snapshot snapshot) {
+        LocalDateTime since = snapshot.takenAt();
+        Map<Long, BookWithRelations> fresh = new HashMap<>(snapshot.books().size() * 2);
+        snapshot.books().forEach(dto -> fresh.put(dto.getId(), dto));
+
+        // Books edited since the snapshot
+        bookRepository.findUpdatedSinceWithRelations(since)
+                .forEach(book -> fresh.put(book.getId(), BookWithRelations.fromEntity(book)));
+
+        // Category renames/toggles do not touch the book rows, so reload the books linked to them
+        List<Long> changedCategoryIds = categoryRepository.findByUpdatedAtAfter(since).stream()
+                .map(Category::getId)
+                .toList();
+        if (!changedCategoryIds.isEmpty()) {
+            List<Long> linkedBookIds = bookCategoryRepository.findBookIdsByCategoryIdIn(changedCategoryIds);
+            if (!linkedBookIds.isEmpty()) {
+                bookRepository.findAllByIdWithRelations(linkedBookIds)
+                        .forEach(book -> fresh.put(book.getId(), BookWithRelations.fromEntity(book)));
+            }
+        }
+
+        // Hard deletes leave no trace behind, so drop ids that no longer exist
+        Set<Long> existingIds = new HashSet<>(bookRepository.findAllIds());
+        fresh.keySet().retainAll(existingIds);
+
+        replaceContent(fresh);
+        loaded = true;
+        version.incrementAndGet();
+        eventPublisher.publishEvent(new CatalogReloadedEvent(books.size()));
+        logger.info("Applied catalog snapshot taken at {} ({} books)", since, snapshot.books().size());
+    }
+
+    // Periodically persists the cache so the next start can skip the full catalog read.
+    @Scheduled(initialDelayString = "${books.snapshot.interval-ms:300000}", fixedDelayString = "${books.snapshot.interval-ms:300000}")
+    public void writeSnapshot() {
+        if (!loaded) {
+            return;
+        }
+        LocalDateTime takenAt = catalogSnapshotService.snapshotTimestamp();
+        catalogSnapshotService.write(takenAt, getAll());
+    }
+
+    // Returns a book by id, loading it on a miss.
+    public Optional<BookWithRelations> get(Long id) {
+        BookWithRelations cached = books.get(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return ReadWriteRoutingDataSource.onPrimary(() -> bookRepository.findByIdWithCategories(id))
+                .map(BookWithRelations::fromEntity)
+                .map(this::fill);
+    }
+
+    /**
+     * Returns the requested books keyed by id. Cache hits are served from memory and all misses
+     * are loaded together with one fetch-join query; ids that do not exist are absent from the result.
+     */
+    public Map<Long, BookWithRelations> getMany(Collection<Long> ids) {
+        Map<Long, BookWithRelations> result = new HashMap<>(ids.size() * 2);
+        List<Long> misses = new ArrayList<>();
+        for (Long id : ids) {
+            BookWithRelations cached = books.get(id);
+            if (cached != null) {
+                result.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            ReadWriteRoutingDataSource.onPrimary(() -> bookRepository.findAllByIdWithRelations(misses)).forEach(book -> {
+                BookWithRelations dto = fill(BookWithRelations.fromEntity(book));
+                result.put(dto.getId(), dto);
+            });
+        }
+        return result;
+    }
+
+    // Returns all active books ordered by id, or null if the cache has not been loaded yet.
+    public List<BookWithRelations> getAllActive() {
+        if (!loaded) {
+            return null;
+        }
+        return books.values().stream()
+                .filter(dto -> Boolean.TRUE.equals(dto.getIsActive()))
+                .sorted(Comparator.comparing(BookWithRelations::getId))
+                .collect(Collectors.toList());
+    }
+
+    // Returns every cached book (active or not).
+    public List<BookWithRelations> getAll() {
+        return List.copyOf(books.values());
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        return books.size();
+    }
+
+    // Monotonic counter bumped on every change, so derived caches can detect staleness cheaply.
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Marks a book as changed. Inside a transaction the reload is deferred until after commit,
+     * so readers never see uncommitted state; outside a transaction it happens immediately.
+     */
+    public void invalidate(Long bookId) {
+        if (bookId == null) {
+            return;
+        }
+        invalidateAll(List.of(bookId));
+    }
+
+    public void invalidateAll(Collection<Long> bookIds) {
+        if (bookIds == null || bookIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(bookIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload(ids);
+                }
+            });
+        } else {
+            reload(ids);
+        }
+    }
+
+    // Marks every book linked to one of the given categories as changed.
+    public void invalidateCategories(Collection<Long> categoryIds) {
+        if (categoryIds == null || categoryIds.isEmpty()) {
+            return;
+        }
+        invalidateAll(bookCategoryRepository.findBookIdsByCategoryIdIn(categoryIds));
+    }
+
+    /**
+     * Reloads the books changed on any instance, as read from the outbox. This instance's own writes were
+     * already reloaded after commit and reload unchanged here. Runs before the derived indexes listening
+     * to the same event, so they see the new entries.
+     */
+    @EventListener
+    @Order(0)
+    public void onChangesReceived(CatalogChangesReceivedEvent event) {
+        if (event.resync()) {
+            if (loaded) {
+                reloadAll();
+            } else {
+                books.clear();
+            }
+            return;
+        }
+        Set<Long> ids = new HashSet<>(event.bookIds());
+        if (!event.categoryIds().isEmpty()) {
+            books.values().stream()
+                    .filter(dto -> dto.getCategories() != null && dto.getCategories().stream()
+                            .anyMatch(category -> event.categoryIds().contains(category.getId())))
+                    .forEach(dto -> ids.add(dto.getId()));
+        }
+        if (!loaded) {
+            // Only refresh what earlier misses filled in; the rest is read on demand
+            ids.retainAll(books.keySet());
+        }
+        reload(ids);
+    }
+
+    // Re-reads the given books in a single query; ids that no longer exist are evicted.
+    private void reload(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Set<Long> missing = new HashSet<>(ids);
+        ReadWriteRoutingDataSource.onPrimary(() -> bookRepository.findAllByIdWithRelations(ids)).forEach(book -> {
+            put(BookWithRelations.fromEntity(book));
+            missing.remove(book.getId());
+        });
+        missing.forEach(id -> {
+            BookWithRelations previous = books.remove(id);
+            if (previous != null) {
+                version.incrementAndGet();
+                eventPublisher.publishEvent(new BookChangedEvent(id, previous, null));
+            }
+        });
+    }
+
+    /**
+     * Caches a book read on a miss. A read is not a change: no version bump and no event, and an entry
+     * stored meanwhile (typically the after-commit reload of a write) wins over the possibly older read.
+     */
+    private BookWithRelations fill(BookWithRelations dto) {
+        BookWithRelations existing = books.putIfAbsent(dto.getId(), dto);
+        return existing != null ? existing : dto;
+    }
+
+    // Swaps in a full catalog without emptying the map first, so readers never see a partial catalog.
+    private void replaceContent(Map<Long, BookWithRelations> fresh) {
+        books.putAll(fresh);
+        books.keySet().retainAll(fresh.keySet());
+    }
+
+    private void put(BookWithRelations dto) {
+        BookWithRelations previous = books.put(dto.getId(), dto);
+        if (dto.equals(previous)) {
+            // Reloaded without a change, e.g. a local write seen again on the outbox tail
+            return;
+        }
+        version.incrementAndGet();
+        eventPublisher.publishEvent(new BookChangedEvent(dto.getId(), previous, dto));
+    }
+}
@@ -1,15 +1,38 @@
 package com.bookverse.bookCatalog.Service;
 
+import com.bookverse.bookCatalog.DTO.BulkCategoryAssignmentRequest;
+import com.bookverse.bookCatalog.DTO.BulkCategoryAssignmentResult;
+import com.bookverse.bookCatalog.Exception.CategoryNotFoundException;
+import com.bookverse.bookCatalog.Exception.ValidationException;
 import com.bookverse.bookCatalog.Models.BookCategory;
 import com.bookverse.bookCatalog.Models.Books;
 import com.bookverse.bookCatalog.Models.Category;
+import com.bookverse.bookCatalog.Models.OutboxEvent.AggregateType;
+import com.bookverse.bookCatalog.Models.OutboxEvent.EventType;
 import com.bookverse.bookCatalog.Repository.BookCategoryRepository;
 import com.bookverse.bookCatalog.Repository.BookRepository;
 import com.bookverse.bookCatalog.Repository.CategoryRepository;
+import com.bookverse.bookCatalog.Repository.BookCategoryRepository.LinkView;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class BookCategoryService {
@@ -17,11 +40,27 @@ public class BookCategoryService {
     private final BookRepository bookRepository;
     private final CategoryRepository categoryRepository;
     private final BookCategoryRepository bookCategoryRepository;
+    private final BookCacheService bookCacheService;
+    private final JdbcTemplate jdbcTemplate;
+    private final OutboxService outboxService;
+    private final EntityManagerFactory entityManagerFactory;
 
-    public BookCategoryService(BookRepository bookRepository, CategoryRepository categoryRepository, BookCategoryRepository bookCategoryRepository) {
+    // Upper bound for IN lists and JDBC batches
+    private static final int CHUNK_SIZE = 1000;
+
+    @Value("${books.bulk.max-books:5000}")
+    private int maxBulkBooks;
+
+    public BookCategoryService(BookRepository bookRepository, CategoryRepository categoryRepository, BookCategoryRepository bookCategoryRepository,
+                               BookCacheService bookCacheService, JdbcTemplate jdbcTemplate, OutboxService outboxService,
+                               EntityManagerFactory entityManagerFactory) {
         this.bookRepository = bookRepository;
         this.categoryRepository = categoryRepository;
         this.bookCategoryRepository = bookCategoryRepository;
+        this.bookCacheService = bookCacheService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.outboxService = outboxService;
+        this.entityManagerFactory = entityManagerFactory;
     }
     
     /**
@@ -32,6 +71,7 @@ public class BookCategoryService {
      * @param priority The priority of this category link.
      * @return An Optional of the saved BookCategory.
      */
+    @Transactional
     public Optional<BookCategory> linkBookToCategory(Long bookId, Long categoryId, int priority) {
         Books book = bookRepository.findById(bookId).orElse(null);
         Category category = categoryRepository.findById(categoryId).orElse(null);
@@ -41,7 +81,11 @@ public class BookCategoryService {
             bookCategory.setBook(book);
             bookCategory.setCategory(category);
             bookCategory.setPriority(priority);
-            return Optional.of(bookCategoryRepository.save(bookCategory));
+            BookCategory saved = bookCategoryRepository.save(bookCategory);
+            bookRepository.touchBooks(List.of(bookId), LocalDateTime.now());
+            bookCacheService.invalidate(bookId);
+            outboxService.record(AggregateType.BOOK, bookId, EventType.BOOK_CATEGORIES_CHANGED);
+            return Optional.of(saved);
         }
         return Optional.empty();
     }
@@ -54,5 +98,161 @@ public class BookCategoryService {
     @Transactional
     public void unlinkBookFromCategory(Long bookId, Long categoryId) {
         bookCategoryRepository.deleteByBookIdAndCategoryId(bookId, categoryId);
+        bookRepository.touchBooks(List.of(bookId), LocalDateTime.now());
+        bookCacheService.invalidate(bookId);
+        outboxService.record(AggregateType.BOOK, bookId, EventType.BOOK_CATEGORIES_CHANGED);
+    }
+
+    /**
+     * Links, relinks or unlinks many books and categories in one transaction.
+     * Existing links are read once and diffed in memory; only the difference is written,
+     * as batched inserts, priority updates and chunked deletes.
+     * @param request The books, the categories, the mode and the priority for new links.
+     * @return The applied diff and the requested book ids that do not exist.
+     */
+    @Transactional
+    public BulkCategoryAssignmentResult bulkAssignCategories(BulkCategoryAssignmentRequest request) {
+        if (request == null) {
+            throw new ValidationException("Bulk assignment request is required");
+        }
+        BulkCategoryAssignmentRequest.Mode mode = request.getMode() != null ? request.getMode() : BulkCategoryAssignmentRequest.Mode.ADD;
+        Set<Long> bookIds = positiveIds(request.getBookIds(), "Book");
+        Set<Long> categoryIds = positiveIds(request.getCategoryIds(), "Category");
+        if (bookIds.isEmpty()) {
+            throw new ValidationException("At least one book ID is required");
+        }
+        if (categoryIds.isEmpty() && mode != BulkCategoryAssignmentRequest.Mode.REPLACE) {
+            throw new ValidationException("At least one category ID is required");
+        }
+        if (bookIds.size() > maxBulkBooks) {
+            throw new ValidationException("A bulk assignment may contain at most " + maxBulkBooks + " book IDs");
+        }
+
+        // One existence check for all categories, and one per chunk of books
+        if (!categoryIds.isEmpty()) {
+            Set<Long> existingCategories = new HashSet<>(categoryRepository.findExistingIds(categoryIds));
+            for (Long categoryId : categoryIds) {
+                if (!existingCategories.contains(categoryId)) {
+                    throw new CategoryNotFoundException(categoryId);
+                }
+            }
+        }
+        Set<Long> existingBooks = new LinkedHashSet<>();
+        for (List<Long> chunk : chunks(bookIds)) {
+            existingBooks.addAll(bookRepository.findExistingIds(chunk));
+        }
+        List<Long> missingBookIds = bookIds.stream().filter(id -> !existingBooks.contains(id)).toList();
+
+        // Current links of the requested books, keyed by book then category
+        Map<Long, Map<Long, LinkView>> linksByBook = new HashMap<>();
+        for (List<Long> chunk : chunks(existingBooks)) {
+            for (LinkView link : bookCategoryRepository.findLinksByBookIdIn(chunk)) {
+                linksByBook.computeIfAbsent(link.getBookId(), id -> new HashMap<>()).put(link.getCategoryId(), link);
+            }
+        }
+
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> reprioritized = new ArrayList<>();
+        List<Long> deletes = new ArrayList<>();
+        Set<Long> changedBooks = new LinkedHashSet<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int priority = request.getPriority();
+
+        for (Long bookId : existingBooks) {
+            Map<Long, LinkView> current = linksByBook.getOrDefault(bookId, Map.of());
+            if (mode == BulkCategoryAssignmentRequest.Mode.REMOVE) {
+                for (Long categoryId : categoryIds) {
+                    LinkView link = current.get(categoryId);
+                    if (link != null) {
+                        deletes.add(link.getId());
+                        changedBooks.add(bookId);
+                    }
+                }
+                continue;
+            }
+            for (Long categoryId : categoryIds) {
+                LinkView link = current.get(categoryId);
+                if (link == null) {
+                    inserts.add(new Object[]{bookId, categoryId, priority, now});
+                    changedBooks.add(bookId);
+                } else if (link.getPriority() != priority) {
+                    reprioritized.add(new Object[]{priority, link.getId()});
+                    changedBooks.add(bookId);
+                }
+            }
+            if (mode == BulkCategoryAssignmentRequest.Mode.REPLACE) {
+                for (LinkView link : current.values()) {
+                    if (!categoryIds.contains(link.getCategoryId())) {
+                        deletes.add(link.getId());
+                        changedBooks.add(bookId);
+                    }
+                }
+            }
+        }
+
+        for (List<Long> chunk : chunks(deletes)) {
+            bookCategoryRepository.deleteByIdIn(chunk);
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO book_categories (book_id, category_id, priority, created_at) VALUES (?, ?, ?, ?)", inserts);
+        }
+        if (!reprioritized.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE book_categories SET priority = ? WHERE id = ?", reprioritized);
+        }
+        LocalDateTime touchedAt = now.toLocalDateTime();
+        for (List<Long> chunk : chunks(changedBooks)) {
+            bookRepository.touchBooks(chunk, touchedAt);
+        }
+        bookCacheService.invalidateAll(changedBooks);
+        outboxService.recordAll(AggregateType.BOOK, changedBooks, EventType.BOOK_CATEGORIES_CHANGED);
+        if (!inserts.isEmpty() || !reprioritized.isEmpty()) {
+            evictCachedLinksAfterCommit();
+        }
+
+        return new BulkCategoryAssignmentResult(inserts.size(), deletes.size(), reprioritized.size(),
+                changedBooks.size(), missingBookIds);
+    }
+
+    // The JDBC batches bypass Hibernate, so the second-level cache cannot see them
+    private void evictCachedLinksAfterCommit() {
+        Runnable evict = () -> {
+            entityManagerFactory.getCache().evict(BookCategory.class);
+            entityManagerFactory.unwrap(SessionFactory.class).getCache()
+                    .evictCollectionData(Books.class.getName() + ".bookCategories");
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        } else {
+            evict.run();
+        }
+    }
+
+    private static Set<Long> positiveIds(List<Long> ids, String label) {
+        Set<Long> result = new LinkedHashSet<>();
+        if (ids == null) {
+            return result;
+        }
+        for (Long id : ids) {
+            if (id == null || id <= 0) {
+                throw new ValidationException(label + " ID must be a positive number");
+            }
+            result.add(id);
+        }
+        return result;
+    }
+
+    private static List<List<Long>> chunks(Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += CHUNK_SIZE) {
+            chunks.add(all.subList(from, Math.min(all.size(), from + CHUNK_SIZE)));
+        }
+        return chunks;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,269 @@
+package com.bookverse.bookCatalog.Service;
+
+import com.bookverse.bookCatalog.DTO.BookDelta;
+import com.bookverse.bookCatalog.DTO.BookWithRelations;
+import com.bookverse.bookCatalog.Event.BookChangedEvent;
+import com.bookverse.bookCatalog.Event.CatalogReloadedEvent;
+import com.bookverse.bookCatalog.Exception.BusinessLogicException;
+import com.bookverse.bookCatalog.util.DropOldestRingBuffer;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Live price, stock, active-flag and rating changes over Server-Sent Events.
+ * Deltas are derived from {@link BookChangedEvent}s of the book cache, so subscribers never touch
+ * the database. Every delta gets a sequence number and goes into a shared history ring (for resume
+ * via Last-Event-ID) and into each subscriber's own bounded ring. Event ids are the sequence number
+ * prefixed with a random epoch chosen at startup, so an id from an earlier run or another instance
+ * is recognised and answered with a reset; a slow subscriber loses its oldest
+ * deltas and is told how many with a "gap" event instead of holding memory or the publisher.
+ */
+@Service
+public class BookDeltaStreamService {
+
+    private static final String DELTA_EVENT = "book-delta";
+    // Tells the client its view may be stale and it should refetch what it shows
+    private static final String RESET_EVENT = "reset";
+    private static final String GAP_EVENT = "gap";
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final DropOldestRingBuffer<BookDelta> buffer = new DropOldestRingBuffer<>(subscriberBufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean resetPending;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final DropOldestRingBuffer<BookDelta> history;
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private long lastSeq = 0;
+
+    @Value("${books.deltas.subscriber-buffer:256}")
+    private int subscriberBufferSize;
+
+    @Value("${books.deltas.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${books.deltas.sse-timeout-ms:1800000}")
+    private long sseTimeoutMs;
+
+    public BookDeltaStreamService(@Value("${books.deltas.history-size:4096}") int historySize) {
+        this.history = new DropOldestRingBuffer<>(historySize);
+    }
+
+    /**
+     * Opens a stream. With a last event id the deltas after it are replayed from history first;
+     * if they are no longer all there, or the id was issued by an earlier run or another instance,
+     * a "reset" event is sent instead.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new BusinessLogicException("Too many live update subscribers, try again later");
+        }
+        Subscriber subscriber = new Subscriber(new SseEmitter(sseTimeoutMs));
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(e -> subscribers.remove(subscriber));
+
+        // Registering and reading history under the publish lock means nothing is missed or sent twice
+        synchronized (this) {
+            subscribers.add(subscriber);
+            long resumeAfter = lastEventId != null ? parseEventId(lastEventId) : lastSeq;
+            if (resumeAfter < 0 || resumeAfter > lastSeq) {
+                subscriber.resetPending = true;
+            } else if (resumeAfter < lastSeq) {
+                List<BookDelta> recent = history.snapshot();
+                if (recent.isEmpty() || recent.get(0).getSeq() > resumeAfter + 1) {
+                    subscriber.resetPending = true;
+                } else {
+                    recent.stream().filter(delta -> delta.getSeq() > resumeAfter).forEach(subscriber.buffer::offer);
+                }
+            }
+        }
+        scheduleDrain(subscriber);
+        return subscriber.emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @EventListener
+    public void onBookChanged(BookChangedEvent event) {
+        BookDelta delta = diff(event.bookId(), event.previous(), event.current());
+        if (delta == null) {
+            return;
+        }
+        synchronized (this) {
+            delta.setSeq(++lastSeq);
+            history.offer(delta);
+            for (Subscriber subscriber : subscribers) {
+                subscriber.buffer.offer(delta);
+            }
+        }
+        subscribers.forEach(this::scheduleDrain);
+    }
+
+    // After a full reload individual changes are unknown; every client refetches.
+    @EventListener
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.resetPending = true;
+            scheduleDrain(subscriber);
+        }
+    }
+
+    // Comment line that keeps idle connections open through proxies and detects gone clients.
+    @Scheduled(fixedDelayString = "${books.deltas.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            senders.execute(() -> {
+                try {
+                    synchronized (subscriber) {
+                        subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    drop(subscriber, e);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdown();
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    // Sends what the subscriber has buffered; at most one drain runs per subscriber.
+    private void drain(Subscriber subscriber) {
+        try {
+            synchronized (subscriber) {
+                if (subscriber.resetPending) {
+                    subscriber.resetPending = false;
+                    subscriber.buffer.drain();
+                    subscriber.buffer.takeDropped();
+                    subscriber.emitter.send(SseEmitter.event().name(RESET_EVENT).id(eventId(currentSeq())).data(""));
+                }
+                List<BookDelta> deltas = subscriber.buffer.drain();
+                long dropped = subscriber.buffer.takeDropped();
+                if (dropped > 0) {
+                    subscriber.emitter.send(SseEmitter.event().name(GAP_EVENT).data(Map.of("dropped", dropped)));
+                }
+                for (BookDelta delta : deltas) {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(eventId(delta.getSeq()))
+                            .name(DELTA_EVENT)
+                            .data(delta));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            drop(subscriber, e);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        if (!subscriber.buffer.isEmpty() || subscriber.resetPending) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private synchronized long currentSeq() {
+        return lastSeq;
+    }
+
+    private String eventId(long seq) {
+        return epoch + "-" + seq;
+    }
+
+    // Sequence number of an event id issued by this run, or -1 for any other id
+    private long parseEventId(String eventId) {
+        int dash = eventId.lastIndexOf('-');
+        if (dash <= 0 || !eventId.substring(0, dash).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void drop(Subscriber subscriber, Exception cause) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.emitter.completeWithError(cause);
+        }
+    }
+
+    // Null when none of the streamed fields changed.
+    private static BookDelta diff(Long bookId, BookWithRelations previous, BookWithRelations current) {
+        if (current == null) {
+            if (previous == null) {
+                return null;
+            }
+            BookDelta removed = new BookDelta();
+            removed.setBookId(bookId);
+            removed.setIsActive(false);
+            return removed;
+        }
+        BookDelta delta = new BookDelta();
+        delta.setBookId(bookId);
+        boolean changed = false;
+        if (previous == null || !Objects.equals(previous.getPrice(), current.getPrice())) {
+            delta.setPrice(current.getPrice());
+            changed = true;
+        }
+        if (previous == null || !Objects.equals(previous.getMrp(), current.getMrp())) {
+            delta.setMrp(current.getMrp());
+            changed = true;
+        }
+        if (previous == null || !Objects.equals(previous.getStockDisplay(), current.getStockDisplay())) {
+            delta.setStockDisplay(current.getStockDisplay());
+            changed = true;
+        }
+        if (previous == null || !Objects.equals(previous.getStockActual(), current.getStockActual())) {
+            delta.setStockActual(current.getStockActual());
+            changed = true;
+        }
+        if (previous == null || !Objects.equals(previous.getIsActive(), current.getIsActive())) {
+            delta.setIsActive(current.getIsActive());
+            changed = true;
+        }
+        if (previous == null || !Objects.equals(previous.getAverageRating(), current.getAverageRating())) {
+            delta.setAverageRating(current.getAverageRating());
+            changed = true;
+        }
+        if (previous == null || !Objects.equals(previous.getReviewCount(), current.getReviewCount())) {
+            delta.setReviewCount(current.getReviewCount());
+            changed = true;
+        }
+        return changed ? delta : null;
+    }
+}
@@ -0,0 +1,95 @@
+package com.bookverse.bookCatalog.Service;
+
+import com.bookverse.bookCatalog.DTO.BookFilter;
+import com.bookverse.bookCatalog.DTO.BookSummary;
+import com.bookverse.bookCatalog.Exception.ValidationException;
+import com.bookverse.bookCatalog.Repository.BookRepository;
+import com.bookverse.bookCatalog.Repository.BookSpecifications;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Attribute-filtered storefront listings ("under 300 in Fantasy, in stock, by rating").
+ * Filters are built as {@link BookSpecifications} and read as {@link BookSummary} projections straight
+ * from the database; the composite indexes on BOOKS turn them into index range scans.
+ */
+@Service
+public class BookFilterService {
+
+    public enum SortBy {
+        PRICE("price", Sort.Direction.ASC),
+        RATING("averageRating", Sort.Direction.DESC),
+        NEWEST("createdAt", Sort.Direction.DESC),
+        STOCK("stockActual", Sort.Direction.DESC);
+
+        private final String attribute;
+        private final Sort.Direction defaultDirection;
+
+        SortBy(String attribute, Sort.Direction defaultDirection) {
+            this.attribute = attribute;
+            this.defaultDirection = defaultDirection;
+        }
+
+        public static SortBy fromParameter(String value) {
+            try {
+                return SortBy.valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new ValidationException("Unsupported sort key: " + value + ". Use price, rating, newest or stock");
+            }
+        }
+    }
+
+    private final BookRepository bookRepository;
+
+    @Value("${books.pagination.max-size:100}")
+    private int maxPageSize;
+
+    public BookFilterService(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    /**
+     * Returns one page of active books matching the filter.
+     * @param direction "asc" or "desc"; null uses the natural direction of the key
+     */
+    @Transactional(readOnly = true)
+    public Page<BookSummary> filterBooks(BookFilter filter, SortBy sortBy, String direction, int page, int size) {
+        if (page < 0) {
+            throw new ValidationException("Page index must not be negative");
+        }
+        if (size <= 0) {
+            throw new ValidationException("Page size must be a positive number");
+        }
+        validate(filter);
+        size = Math.min(size, maxPageSize);
+
+        Sort.Direction order = direction == null ? sortBy.defaultDirection : Sort.Direction.fromOptionalString(direction)
+                .orElseThrow(() -> new ValidationException("Sort direction must be asc or desc"));
+        // Id breaks ties so pages stay stable
+        Sort sort = Sort.by(order, sortBy.attribute).and(Sort.by(order, "id"));
+        return bookRepository.findSummaries(BookSpecifications.matching(filter), PageRequest.of(page, size, sort));
+    }
+
+    private void validate(BookFilter filter) {
+        if (filter.getMinPrice() != null && filter.getMinPrice() < 0) {
+            throw new ValidationException("Minimum price must be a non-negative number");
+        }
+        if (filter.getMaxPrice() != null && filter.getMaxPrice() < 0) {
+            throw new ValidationException("Maximum price must be a non-negative number");
+        }
+        if (filter.getMinPrice() != null && filter.getMaxPrice() != null && filter.getMinPrice() > filter.getMaxPrice()) {
+            throw new ValidationException("Minimum price cannot exceed maximum price");
+        }
+        if (filter.getMinRating() != null && (filter.getMinRating() < 0 || filter.getMinRating() > 5)) {
+            throw new ValidationException("Minimum rating must be between 0 and 5");
+        }
+        if (filter.getCategoryId() != null && filter.getCategoryId() <= 0) {
+            throw new ValidationException("Category ID must be a positive number");
+        }
+    }
+}
@@ -2,11 +2,14 @@ package com.bookverse.bookCatalog.Service;
 
 import com.bookverse.bookCatalog.Models.BookImage;
 import com.bookverse.bookCatalog.Models.Books;
+import com.bookverse.bookCatalog.Models.OutboxEvent.AggregateType;
+import com.bookverse.bookCatalog.Models.OutboxEvent.EventType;
 import com.bookverse.bookCatalog.Repository.BookImageRepository;
 import com.bookverse.bookCatalog.Repository.BookRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,10 +18,15 @@ public class BookImageService {
 
     private final BookImageRepository bookImageRepository;
     private final BookRepository bookRepository;
+    private final BookCacheService bookCacheService;
+    private final OutboxService outboxService;
 
-    public BookImageService(BookImageRepository bookImageRepository, BookRepository bookRepository) {
+    public BookImageService(BookImageRepository bookImageRepository, BookRepository bookRepository, BookCacheService bookCacheService,
+                            OutboxService outboxService) {
         this.bookImageRepository = bookImageRepository;
         this.bookRepository = bookRepository;
+        this.bookCacheService = bookCacheService;
+        this.outboxService = outboxService;
     }
     
     // Retrieves all images for a specific book.
@@ -43,13 +51,24 @@ public class BookImageService {
                     }
                 });
             }
-            return Optional.of(bookImageRepository.save(bookImage));
+            BookImage saved = bookImageRepository.save(bookImage);
+            bookRepository.touchBooks(List.of(bookId), LocalDateTime.now());
+            bookCacheService.invalidate(bookId);
+            outboxService.record(AggregateType.BOOK, bookId, EventType.BOOK_IMAGES_CHANGED);
+            return Optional.of(saved);
         }
         return Optional.empty();
     }
     
     // Deletes a specific image by its ID.
+    @Transactional
     public void deleteImage(Long imageId) {
+        Optional<BookImage> image = bookImageRepository.findById(imageId);
         bookImageRepository.deleteById(imageId);
+        image.map(img -> img.getBook().getId()).ifPresent(bookId -> {
+            bookRepository.touchBooks(List.of(bookId), LocalDateTime.now());
+            bookCacheService.invalidate(bookId);
+            outboxService.record(AggregateType.BOOK, bookId, EventType.BOOK_IMAGES_CHANGED);
+        });
     }
 }
\ No newline at end of file
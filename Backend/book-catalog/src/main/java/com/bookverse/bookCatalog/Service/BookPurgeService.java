@@ -0,0 +1,155 @@
+package com.bookverse.bookCatalog.Service;
+
+import com.bookverse.bookCatalog.DTO.BookPurgeResult;
+import com.bookverse.bookCatalog.Exception.ValidationException;
+import com.bookverse.bookCatalog.Models.OutboxEvent.AggregateType;
+import com.bookverse.bookCatalog.Models.OutboxEvent.EventType;
+import com.bookverse.bookCatalog.Repository.BookCategoryRepository;
+import com.bookverse.bookCatalog.Repository.BookImageRepository;
+import com.bookverse.bookCatalog.Repository.BookRepository;
+import com.bookverse.bookCatalog.Repository.BookReviewsRepository;
+import com.bookverse.bookCatalog.Repository.InventoryAlertRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Physically removes books and their child rows with set-based deletes.
+ * Work is split into chunks of {@code books.purge.chunk-size} ids, each committed in its own short
+ * transaction: children first (images, category links, alerts, reviews), then the book rows.
+ * No entity is loaded, so nothing cascades row by row. The retention purge re-selects its chunk with
+ * the soft-delete predicate and a row lock inside that transaction, so a book restored after the
+ * chunk was picked is left alone.
+ */
+@Service
+public class BookPurgeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookPurgeService.class);
+
+    private final BookRepository bookRepository;
+    private final BookImageRepository bookImageRepository;
+    private final BookCategoryRepository bookCategoryRepository;
+    private final InventoryAlertRepository inventoryAlertRepository;
+    private final BookReviewsRepository bookReviewsRepository;
+    private final BookCacheService bookCacheService;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxService outboxService;
+
+    @Value("${books.purge.enabled:true}")
+    private boolean enabled;
+
+    @Value("${books.purge.retention-days:30}")
+    private int retentionDays;
+
+    @Value("${books.purge.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${books.batch.max-ids:500}")
+    private int maxBatchIds;
+
+    public BookPurgeService(BookRepository bookRepository, BookImageRepository bookImageRepository,
+                            BookCategoryRepository bookCategoryRepository, InventoryAlertRepository inventoryAlertRepository,
+                            BookReviewsRepository bookReviewsRepository, BookCacheService bookCacheService,
+                            TransactionTemplate transactionTemplate, OutboxService outboxService) {
+        this.bookRepository = bookRepository;
+        this.bookImageRepository = bookImageRepository;
+        this.bookCategoryRepository = bookCategoryRepository;
+        this.inventoryAlertRepository = inventoryAlertRepository;
+        this.bookReviewsRepository = bookReviewsRepository;
+        this.bookCacheService = bookCacheService;
+        this.transactionTemplate = transactionTemplate;
+        this.outboxService = outboxService;
+    }
+
+    // Hard deletes the given books, active or not; ids that do not exist are reported back.
+    public BookPurgeResult hardDeleteBooks(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new ValidationException("At least one book ID is required");
+        }
+        Set<Long> requested = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id == null || id <= 0) {
+                throw new ValidationException("Book ID must be a positive number");
+            }
+            requested.add(id);
+        }
+        if (requested.size() > maxBatchIds) {
+            throw new ValidationException("A batch may contain at most " + maxBatchIds + " book IDs");
+        }
+
+        Set<Long> existing = new HashSet<>(bookRepository.findExistingIds(requested));
+        List<Long> missingIds = requested.stream().filter(id -> !existing.contains(id)).toList();
+        List<Long> toDelete = requested.stream().filter(existing::contains).toList();
+
+        int deleted = 0;
+        for (int from = 0; from < toDelete.size(); from += chunkSize) {
+            deleted += purgeChunk(toDelete.subList(from, Math.min(toDelete.size(), from + chunkSize)), null);
+        }
+        return new BookPurgeResult(deleted, missingIds);
+    }
+
+    // Removes books that were soft deleted more than the retention period ago.
+    @Scheduled(cron = "${books.purge.cron:0 30 3 * * *}")
+    public void purgeExpiredSoftDeletes() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        long start = System.currentTimeMillis();
+        int purged = 0;
+        try {
+            List<Long> chunk;
+            while (!(chunk = bookRepository.findSoftDeletedIdsBefore(cutoff, Pageable.ofSize(chunkSize))).isEmpty()) {
+                int deleted = purgeChunk(chunk, cutoff);
+                purged += deleted;
+                if (deleted == 0) {
+                    // Rows vanished under us; avoid spinning on the same ids
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Soft-delete purge stopped after {} books: {}", purged, e.getMessage(), e);
+        }
+        if (purged > 0) {
+            logger.info("Purged {} books soft deleted before {} in {} ms", purged, cutoff, System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * One short transaction per chunk: child tables first, then the books themselves. With a cutoff only
+     * the books still soft deleted before it are purged; without one every id is.
+     */
+    private int purgeChunk(Collection<Long> bookIds, LocalDateTime cutoff) {
+        Integer deleted = transactionTemplate.execute(status -> {
+            List<Long> ids = cutoff != null
+                    ? bookRepository.lockSoftDeletedIdsBefore(bookIds, cutoff)
+                    : new ArrayList<>(bookIds);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            bookImageRepository.deleteByBookIdIn(ids);
+            bookCategoryRepository.deleteByBookIdIn(ids);
+            inventoryAlertRepository.deleteByBookIdIn(ids);
+            bookReviewsRepository.deleteByBookIdIn(ids);
+            int count = bookRepository.deleteByIdIn(ids);
+            // Evicts the books from the cache once this chunk commits
+            bookCacheService.invalidateAll(ids);
+            outboxService.recordAll(AggregateType.BOOK, ids, EventType.BOOK_DELETED);
+            return count;
+        });
+        return deleted != null ? deleted : 0;
+    }
+}
@@ -2,6 +2,8 @@ package com.bookverse.bookCatalog.Service;
 
 import com.bookverse.bookCatalog.Models.BookReviews;
 import com.bookverse.bookCatalog.Models.Books;
+import com.bookverse.bookCatalog.Models.OutboxEvent.AggregateType;
+import com.bookverse.bookCatalog.Models.OutboxEvent.EventType;
 import com.bookverse.bookCatalog.Repository.BookReviewsRepository;
 import com.bookverse.bookCatalog.Repository.BookRepository;
 import com.bookverse.bookCatalog.DTO.ReviewRequest;
@@ -31,6 +33,12 @@ public class BookReviewsService {
     @Autowired
     private BookRepository bookRepository;
     
+    @Autowired
+    private BookCacheService bookCacheService;
+    
+    @Autowired
+    private OutboxService outboxService;
+    
     /**
      * Create a new review with purchase validation
      */
@@ -68,6 +76,7 @@ public class BookReviewsService {
         
         // Update book's average rating and review count
         updateBookRatingStats(book);
+        recordReviewEvent(savedReview, EventType.REVIEW_CREATED);
         
         return new ReviewResponse(savedReview);
     }
@@ -92,6 +101,7 @@ public class BookReviewsService {
         
         // Update book's average rating and review count
         updateBookRatingStats(review.getBook());
+        recordReviewEvent(updatedReview, EventType.REVIEW_UPDATED);
         
         return new ReviewResponse(updatedReview);
     }
@@ -113,6 +123,7 @@ public class BookReviewsService {
         
         // Update book's average rating and review count
         updateBookRatingStats(review.getBook());
+        recordReviewEvent(review, EventType.REVIEW_DELETED);
     }
     
     /**
@@ -252,6 +263,7 @@ public class BookReviewsService {
         
         // Update book's rating stats
         updateBookRatingStats(review.getBook());
+        recordReviewEvent(moderatedReview, EventType.REVIEW_MODERATED);
         
         return new ReviewResponse(moderatedReview);
     }
@@ -291,5 +303,15 @@ public class BookReviewsService {
         book.setReviewCount((int) reviewCount);
         
         bookRepository.save(book);
+        bookCacheService.invalidate(book.getId());
+    }
+    
+    /**
+     * Record the review change and the book's new rating in the outbox
+     */
+    private void recordReviewEvent(BookReviews review, EventType eventType) {
+        Books book = review.getBook();
+        outboxService.record(AggregateType.REVIEW, review.getId(), eventType,
+            Map.of("bookId", book.getId(), "averageRating", book.getAverageRating(), "reviewCount", book.getReviewCount()));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.bookverse.bookCatalog.Service;
+
+import com.bookverse.bookCatalog.DTO.BookWithRelations;
+import com.bookverse.bookCatalog.Exception.ValidationException;
+import com.bookverse.bookCatalog.Repository.BookRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Title/author search with a result cache.
+ * The cache is an LRU map from (normalized query, filters, page) to the ordered ids of that page
+ * and the total match count; books are hydrated from the book cache. Each entry remembers the book
+ * cache version it was computed at and is ignored once any book has been written since, so a
+ * repeated search is one hash lookup plus cache hits, and never serves results older than the catalog.
+ */
+@Service
+public class BookSearchService {
+
+    private record Key(String query, Long categoryId, Double maxPrice, int page, int size) {
+    }
+
+    private record Entry(long version, long[] ids, long total) {
+    }
+
+    // Page index used in keys for unpaged searches
+    private static final int ALL = -1;
+
+    private final BookRepository bookRepository;
+    private final BookCacheService bookCacheService;
+    private final SearchAnalyticsService searchAnalyticsService;
+
+    private final Map<Key, Entry> results;
+
+    @Value("${books.pagination.max-size:100}")
+    private int maxPageSize;
+
+    public BookSearchService(BookRepository bookRepository, BookCacheService bookCacheService,
+                             SearchAnalyticsService searchAnalyticsService,
+                             @Value("${books.search-cache.max-entries:1000}") int maxEntries) {
+        this.bookRepository = bookRepository;
+        this.bookCacheService = bookCacheService;
+        this.searchAnalyticsService = searchAnalyticsService;
+        this.results = new LinkedHashMap<>(Math.min(maxEntries, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Searches titles and authors, optionally within a category and under a price.
+     * @param page null returns every match in one page
+     */
+    public Page<BookWithRelations> search(String query, Long categoryId, Double maxPrice, Integer page, int size) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new ValidationException("Search query is required");
+        }
+        if (page != null && page < 0) {
+            throw new ValidationException("Page index must not be negative");
+        }
+        if (page != null && size <= 0) {
+            throw new ValidationException("Page size must be a positive number");
+        }
+        long start = System.nanoTime();
+        String normalized = query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        int pageSize = page != null ? Math.min(size, maxPageSize) : 0;
+        Key key = new Key(normalized, categoryId, maxPrice, page != null ? page : ALL, pageSize);
+
+        // Read the version first: a write racing with the query leaves the entry stale, never wrong
+        long version = bookCacheService.getVersion();
+        Entry entry;
+        synchronized (results) {
+            entry = results.get(key);
+        }
+        if (entry == null || entry.version() != version) {
+            Pageable pageable = page != null ? PageRequest.of(page, pageSize) : Pageable.unpaged();
+            Page<Long> ids = bookRepository.searchIds(likePattern(normalized), categoryId, maxPrice, pageable);
+            entry = new Entry(version, ids.getContent().stream().mapToLong(Long::longValue).toArray(), ids.getTotalElements());
+            synchronized (results) {
+                results.put(key, entry);
+            }
+        }
+
+        List<Long> ids = new ArrayList<>(entry.ids().length);
+        for (long id : entry.ids()) {
+            ids.add(id);
+        }
+        Map<Long, BookWithRelations> books = bookCacheService.getMany(ids);
+        List<BookWithRelations> content = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            BookWithRelations book = books.get(id);
+            if (book != null) {
+                content.add(book);
+            }
+        }
+
+        searchAnalyticsService.record(query, (int) entry.total(), System.nanoTime() - start);
+        if (page == null) {
+            return new PageImpl<>(content);
+        }
+        return new PageImpl<>(content, PageRequest.of(page, pageSize), entry.total());
+    }
+
+    public int cachedResultCount() {
+        synchronized (results) {
+            return results.size();
+        }
+    }
+
+    private static String likePattern(String text) {
+        String escaped = text.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+        return "%" + escaped + "%";
+    }
+}
@@ -2,11 +2,16 @@ package com.bookverse.bookCatalog.Service;
 
 import com.bookverse.bookCatalog.Models.Books;
 import com.bookverse.bookCatalog.Models.Category;
+import com.bookverse.bookCatalog.DTO.BookBatchResponse;
+import com.bookverse.bookCatalog.DTO.BookPurgeResult;
 import com.bookverse.bookCatalog.DTO.BookCreateRequest;
 import com.bookverse.bookCatalog.DTO.BookWithRelations;
 import com.bookverse.bookCatalog.DTO.BookImageRequest;
+import com.bookverse.bookCatalog.DTO.BookPatchRequest;
 import com.bookverse.bookCatalog.Models.BookCategory;
 import com.bookverse.bookCatalog.Models.BookImage;
+import com.bookverse.bookCatalog.Models.OutboxEvent.AggregateType;
+import com.bookverse.bookCatalog.Models.OutboxEvent.EventType;
 import com.bookverse.bookCatalog.Repository.BookRepository;
 import com.bookverse.bookCatalog.Repository.CategoryRepository;
 import com.bookverse.bookCatalog.Repository.BookCategoryRepository;
@@ -17,12 +22,20 @@ import com.bookverse.bookCatalog.Exception.InsufficientStockException;
 import com.bookverse.bookCatalog.Exception.DuplicateResourceException;
 import com.bookverse.bookCatalog.Exception.ValidationException;
 import com.bookverse.bookCatalog.Exception.BusinessLogicException;
+import com.bookverse.bookCatalog.util.IsbnNormalizer;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.Comparator;    
 import java.util.stream.Collectors;
 
@@ -34,25 +47,45 @@ public class BookService {
     private final CategoryRepository categoryRepository;
     private final BookCategoryRepository bookCategoryRepository;
     //private final InventoryAlertRepository inventoryAlertRepository;
+    private final BookCacheService bookCacheService;
+    private final BookPurgeService bookPurgeService;
+    private final TrendingService trendingService;
+    private final IsbnIndexService isbnIndexService;
+    private final OutboxService outboxService;
+    private final SalesRollupService salesRollupService;
 
-    public BookService(BookRepository bookRepository, CategoryRepository categoryRepository, BookCategoryRepository bookCategoryRepository, InventoryAlertRepository inventoryAlertRepository) {
+    @Value("${books.batch.max-ids:500}")
+    private int maxBatchIds;
+
+    public BookService(BookRepository bookRepository, CategoryRepository categoryRepository, BookCategoryRepository bookCategoryRepository, InventoryAlertRepository inventoryAlertRepository,
+                       BookCacheService bookCacheService, BookPurgeService bookPurgeService, TrendingService trendingService,
+                       IsbnIndexService isbnIndexService, OutboxService outboxService, SalesRollupService salesRollupService) {
         this.bookRepository = bookRepository;
         this.categoryRepository = categoryRepository;
         this.bookCategoryRepository = bookCategoryRepository;
         //this.inventoryAlertRepository = inventoryAlertRepository;
+        this.bookCacheService = bookCacheService;
+        this.bookPurgeService = bookPurgeService;
+        this.trendingService = trendingService;
+        this.isbnIndexService = isbnIndexService;
+        this.outboxService = outboxService;
+        this.salesRollupService = salesRollupService;
     }
 
     // Fetches all active books
+    @Transactional(readOnly = true)
     public List<Books> getAllBooks() {
         return bookRepository.findAllWithCategories();
     }
     
     // Fetches all books for admin (including inactive ones)
+    @Transactional(readOnly = true)
     public List<Books> getAllBooksForAdmin() {
         return bookRepository.findAllWithCategoriesForAdmin();
     }
 
     // fetches a book by it's Id
+    @Transactional(readOnly = true)
     public Optional<Books> getBookById(Long id) {
         if (id == null || id <= 0) {
             throw new ValidationException("Book ID must be a positive number");
@@ -61,6 +94,7 @@ public class BookService {
     }
     
     // fetches a book by it's Id or throws exception if not found
+    @Transactional(readOnly = true)
     public Books getBookByIdOrThrow(Long id) {
         return getBookById(id)
             .orElseThrow(() -> new BookNotFoundException(id));
@@ -80,16 +114,14 @@ public class BookService {
             throw new ValidationException("Book price must be a non-negative number");
         }
         
-        // Check for duplicate ISBN if provided
-        if (request.getIsbn() != null && !request.getIsbn().trim().isEmpty()) {
-            Optional<Books> existingBook = bookRepository.findByIsbn(request.getIsbn());
-            if (existingBook.isPresent()) {
-                throw new DuplicateResourceException("Book", "ISBN: " + request.getIsbn());
-            }
+        // Normalize to ISBN-13 and check for a duplicate if provided
+        String isbn = normalizeIsbn(request.getIsbn());
+        if (isbn != null && isbnIndexService.findBookId(isbn).isPresent()) {
+            throw new DuplicateResourceException("Book", "ISBN: " + request.getIsbn());
         }
         
         Books book = new Books();
-        book.setIsbn(request.getIsbn());
+        book.setIsbn(isbn);
         book.setTitle(request.getTitle().trim());
         book.setAuthor(request.getAuthor().trim());
         book.setDescription(request.getDescription());
@@ -157,7 +189,10 @@ public class BookService {
         }
         
         try {
-            return bookRepository.save(book);
+            Books savedBook = bookRepository.save(book);
+            bookCacheService.invalidate(savedBook.getId());
+            outboxService.record(AggregateType.BOOK, savedBook.getId(), EventType.BOOK_CREATED);
+            return savedBook;
         } catch (Exception e) {
             throw new BusinessLogicException("Failed to create book: " + e.getMessage(), e);
         }
@@ -184,17 +219,17 @@ public class BookService {
             throw new ValidationException("Book price must be a non-negative number");
         }
         // Check for ISBN conflicts if ISBN is being updated
-        if (request.getIsbn() != null && !request.getIsbn().trim().isEmpty() && 
-            !request.getIsbn().equals(existingBook.getIsbn())) {
-            Optional<Books> bookWithSameIsbn = bookRepository.findByIsbn(request.getIsbn());
-            if (bookWithSameIsbn.isPresent()) {
+        String isbn = normalizeIsbn(request.getIsbn(), existingBook::getIsbn);
+        if (isbn != null) {
+            Optional<Long> holder = isbnIndexService.findBookId(isbn);
+            if (holder.isPresent() && !holder.get().equals(existingBook.getId())) {
                 throw new DuplicateResourceException("Book", "ISBN: " + request.getIsbn());
             }
         }
         
         // Update basic fields
-        if (request.getIsbn() != null && !request.getIsbn().trim().isEmpty()) {
-            existingBook.setIsbn(request.getIsbn().trim());
+        if (isbn != null) {
+            existingBook.setIsbn(isbn);
         }
         existingBook.setTitle(request.getTitle().trim());
         existingBook.setAuthor(request.getAuthor().trim());
@@ -243,7 +278,10 @@ public class BookService {
         // TODO: Implement separate endpoints for category and image management
         
         try {
-            return bookRepository.save(existingBook);
+            Books savedBook = bookRepository.save(existingBook);
+            bookCacheService.invalidate(id);
+            outboxService.record(AggregateType.BOOK, id, EventType.BOOK_UPDATED);
+            return savedBook;
         } catch (Exception e) {
             throw new BusinessLogicException("Failed to update book from request: " + e.getMessage(), e);
         }
@@ -269,26 +307,112 @@ public class BookService {
             book.setActive(false);
             book.setDeletedAt(java.time.LocalDateTime.now());
             bookRepository.save(book);
+            bookCacheService.invalidate(id);
+            outboxService.record(AggregateType.BOOK, id, EventType.BOOK_DEACTIVATED);
         } catch (Exception e) {
             throw new BusinessLogicException("Failed to delete book: " + e.getMessage(), e);
         }
     }
     
-    // Hard deletes a book by its ID (for admin use only)
+    /**
+     * Applies a partial update. Every present field is written, in one UPDATE of those columns; relations
+     * are never loaded. Fields are not diffed against the cached copy, which can lag behind the row
+     * (writes on another instance, a pending after-commit reload), so a value is never dropped as "unchanged".
+     * @return true if the request carried at least one field
+     */
     @Transactional
-    public void hardDeleteBook(Long id) {
+    public boolean patchBook(Long id, BookPatchRequest request) {
         if (id == null || id <= 0) {
             throw new ValidationException("Book ID must be a positive number");
         }
+        if (request == null) {
+            throw new ValidationException("Patch body is required");
+        }
         
-        // Verify book exists before attempting to delete
-        Books book = getBookByIdOrThrow(id);
+        Map<String, Object> changes = new LinkedHashMap<>();
+        String isbn = normalizeIsbn(request.getIsbn(), () -> bookRepository.findIsbnById(id).orElse(null));
+        if (isbn != null) {
+            Optional<Long> holder = isbnIndexService.findBookId(isbn);
+            if (holder.isPresent() && !holder.get().equals(id)) {
+                throw new DuplicateResourceException("Book", "ISBN: " + request.getIsbn());
+            }
+            changes.put("isbn", isbn);
+        }
+        if (request.getTitle() != null) {
+            if (request.getTitle().trim().isEmpty()) {
+                throw new ValidationException("Book title cannot be empty");
+            }
+            changes.put("title", request.getTitle().trim());
+        }
+        if (request.getAuthor() != null) {
+            if (request.getAuthor().trim().isEmpty()) {
+                throw new ValidationException("Book author cannot be empty");
+            }
+            changes.put("author", request.getAuthor().trim());
+        }
+        putIfPresent(changes, "description", request.getDescription());
+        putIfPresent(changes, "language", request.getLanguage());
+        putIfPresent(changes, "format", request.getFormat());
+        putIfPresent(changes, "edition", request.getEdition());
+        putIfPresent(changes, "publisher", request.getPublisher());
+        putIfPresent(changes, "publicationDate", request.getPublicationDate());
+        putIfPresent(changes, "dimensions", request.getDimensions());
+        putIfPresent(changes, "pages", nonNegative(request.getPages(), "Pages"));
+        putIfPresent(changes, "weight", nonNegative(request.getWeight(), "Weight"));
+        putIfPresent(changes, "price", nonNegative(request.getPrice(), "Book price"));
+        putIfPresent(changes, "mrp", nonNegative(request.getMrp(), "MRP"));
+        putIfPresent(changes, "stockDisplay", nonNegative(request.getStockDisplay(), "Display stock"));
+        putIfPresent(changes, "stockActual", nonNegative(request.getStockActual(), "Actual stock"));
+        putIfPresent(changes, "salesCategory", request.getSalesCategory());
+        putIfPresent(changes, "isFeatured", request.getIsFeatured());
+        if (request.getIsActive() != null) {
+            // deletedAt follows soft delete and restore, so it is only stamped when the row's flag actually flips
+            Boolean active = bookRepository.findActiveFlagById(id).orElseThrow(() -> new BookNotFoundException(id));
+            changes.put("isActive", request.getIsActive());
+            if (!request.getIsActive().equals(active)) {
+                changes.put("deletedAt", request.getIsActive() ? null : LocalDateTime.now());
+            }
+        }
         
+        if (changes.isEmpty()) {
+            return false;
+        }
+        // Bulk updates skip @PreUpdate, so the timestamp is set explicitly
+        changes.put("updatedAt", LocalDateTime.now());
         try {
-            bookRepository.deleteById(id);
+            if (bookRepository.updateColumns(id, changes) == 0) {
+                throw new BookNotFoundException(id);
+            }
+            bookCacheService.invalidate(id);
+            outboxService.record(AggregateType.BOOK, id, EventType.BOOK_UPDATED, Map.of("fields", changes.keySet()));
+            return true;
+        } catch (BookNotFoundException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BusinessLogicException("Failed to patch book: " + e.getMessage(), e);
+        }
+    }
+    
+    // Hard deletes a book by its ID (for admin use only)
+    public void hardDeleteBook(Long id) {
+        if (id == null || id <= 0) {
+            throw new ValidationException("Book ID must be a positive number");
+        }
+        
+        BookPurgeResult result;
+        try {
+            result = bookPurgeService.hardDeleteBooks(List.of(id));
         } catch (Exception e) {
             throw new BusinessLogicException("Failed to hard delete book: " + e.getMessage(), e);
         }
+        if (!result.getMissingIds().isEmpty()) {
+            throw new BookNotFoundException(id);
+        }
+    }
+    
+    // Hard deletes many books at once (for admin use only)
+    public BookPurgeResult hardDeleteBooks(List<Long> ids) {
+        return bookPurgeService.hardDeleteBooks(ids);
     }
     
     // Restores a soft-deleted book by setting isActive to true
@@ -316,6 +440,8 @@ public class BookService {
             book.setActive(true);
             book.setDeletedAt(null);
             bookRepository.save(book);
+            bookCacheService.invalidate(id);
+            outboxService.record(AggregateType.BOOK, id, EventType.BOOK_RESTORED);
         } catch (Exception e) {
             throw new BusinessLogicException("Failed to restore book: " + e.getMessage(), e);
         }
@@ -346,18 +472,24 @@ public class BookService {
             book.setNoOfBooksSold(book.getNoOfBooksSold() + quantity);
             book.setTotalRevenue(book.getTotalRevenue() + (book.getPrice() * quantity));
             bookRepository.save(book);
+            bookCacheService.invalidate(bookId);
+            trendingService.record(bookId, TrendingService.Signal.SALE, quantity);
+            salesRollupService.recordSale(bookId, quantity, book.getPrice() * quantity);
+            outboxService.record(AggregateType.BOOK, bookId, EventType.STOCK_CHANGED,
+                    Map.of("sold", quantity, "stockActual", book.getStockActual(), "stockDisplay", book.getStockDisplay()));
         } catch (Exception e) {
             throw new BusinessLogicException("Failed to decrease stock: " + e.getMessage(), e);
         }
     }
 
     // Searches for books by title, author, or description.
+    @Transactional(readOnly = true)
     public List<Books> searchBooks(String query) {
         return bookRepository.findByTitleContainingIgnoreCaseOrAuthorContainingIgnoreCase(query, query);
     }
     
     // Finds books that share at least one category with a given book.
-    @Transactional
+    @Transactional(readOnly = true)
     public List<Books> findSimilarBooks(Long bookId) {
         if (bookId == null || bookId <= 0) {
             throw new ValidationException("Book ID must be a positive number");
@@ -395,11 +527,13 @@ public class BookService {
     }
 
     // Finds and sorts books by their SalesCategory.
+    @Transactional(readOnly = true)
     public List<Books> findBooksBySalesCategory(Books.SalesCategory salesCategory) {
         return bookRepository.findBySalesCategoryWithRelations(salesCategory);
     }
     
     // Finds and sorts books by a given sales category and sort direction.
+    @Transactional(readOnly = true)
     public List<Books> getBooksBySalesCategoryAndSort(Books.SalesCategory salesCategory, int limit, String sortDirection) {
         List<Books> books = bookRepository.findBySalesCategoryWithRelations(salesCategory);
         if ("desc".equalsIgnoreCase(sortDirection)) {
@@ -410,82 +544,18 @@ public class BookService {
         return books.stream().limit(limit).collect(Collectors.toList());
     }
     
-    /**
-     * Converts a Books entity to a BookWithRelations DTO.
-     * This is the central piece of the solution.
-     */
-    private BookWithRelations convertToBookWithRelations(Books book) {
-        if (book == null) {
-            return null;
-        }
-        BookWithRelations dto = new BookWithRelations();
-        
-        // Map all the book's direct properties
-        dto.setId(book.getId());
-        dto.setIsbn(book.getIsbn());
-        dto.setTitle(book.getTitle());
-        dto.setAuthor(book.getAuthor());
-        dto.setDescription(book.getDescription());
-        dto.setLanguage(book.getLanguage());
-        dto.setFormat(book.getFormat());
-        dto.setEdition(book.getEdition());
-        dto.setPublisher(book.getPublisher());
-        dto.setPublicationDate(book.getPublicationDate());
-        dto.setPages(book.getPages());
-        dto.setWeight(book.getWeight());
-        dto.setDimensions(book.getDimensions());
-        dto.setPrice(book.getPrice());
-        dto.setMrp(book.getMrp());
-        dto.setStockDisplay(book.getStockDisplay());
-        dto.setStockActual(book.getStockActual());
-        dto.setNoOfBooksSold(book.getNoOfBooksSold());
-        dto.setTotalRevenue(book.getTotalRevenue());
-        dto.setAverageRating(book.getAverageRating());
-        dto.setReviewCount(book.getReviewCount());
-        dto.setSalesCategory(book.getSalesCategory());
-        dto.setIsActive(book.isActive());
-        dto.setIsFeatured(book.isFeatured());
-        dto.setLastSoldAt(book.getLastSoldAt());
-        dto.setCreatedAt(book.getCreatedAt());
-        dto.setUpdatedAt(book.getUpdatedAt());
-
-        // Correctly map the nested categories
-        if (book.getBookCategories() != null) {
-            dto.setCategories(book.getBookCategories().stream().map(bc -> {
-                Category category = bc.getCategory();
-                BookWithRelations.CategoryInfo categoryInfo = new BookWithRelations.CategoryInfo();
-                categoryInfo.setId(category.getId());
-                categoryInfo.setName(category.getName());
-                categoryInfo.setSlug(category.getSlug());
-                categoryInfo.setDescription(category.getDescription());
-                categoryInfo.setImage(category.getImage());
-                categoryInfo.setIsActive(category.getIsActive());
-                categoryInfo.setPriority(bc.getPriority()); // Priority is in BookCategory, not Category
-                return categoryInfo;
-            }).collect(Collectors.toList()));
-        }
-
-        // Correctly map the nested images
-        if (book.getBookImages() != null) {
-            dto.setImages(book.getBookImages().stream().map(img -> {
-                BookWithRelations.BookImageInfo imageInfo = new BookWithRelations.BookImageInfo();
-                imageInfo.setId(img.getId());
-                imageInfo.setImageUrl(img.getImage()); // Note: BookImage entity uses 'image' field
-                imageInfo.setIsPrimary(img.isPrimary());
-                imageInfo.setAltText(img.getAltText());
-                return imageInfo;
-            }).collect(Collectors.toList()));
-        }
-        
-        return dto;
-    }
-
     /**
      * Fetches all books and converts them to DTOs.
+     * Served from the in-memory catalog once it is warm.
      */
+    @Transactional(readOnly = true)
     public List<BookWithRelations> getAllBooksWithRelations() {
+        List<BookWithRelations> cached = bookCacheService.getAllActive();
+        if (cached != null) {
+            return cached;
+        }
         return bookRepository.findAllWithCategories().stream()
-                .map(this::convertToBookWithRelations)
+                .map(BookWithRelations::fromEntity)
                 .collect(Collectors.toList());
     }
 
@@ -493,25 +563,59 @@ public class BookService {
      * Fetches a single book by ID and converts it to a DTO.
      */
     public Optional<BookWithRelations> getBookByIdWithRelations(Long id) {
-        return bookRepository.findByIdWithCategories(id)
-                .map(this::convertToBookWithRelations);
+        return bookCacheService.get(id);
+    }
+
+    /**
+     * Fetches many books at once, preserving the request order and reporting ids that do not exist.
+     * Duplicate ids are returned once, at their first position.
+     */
+    public BookBatchResponse getBooksByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new ValidationException("At least one book ID is required");
+        }
+        LinkedHashSet<Long> requested = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id == null || id <= 0) {
+                throw new ValidationException("Book ID must be a positive number");
+            }
+            requested.add(id);
+        }
+        if (requested.size() > maxBatchIds) {
+            throw new ValidationException("A batch may contain at most " + maxBatchIds + " book IDs");
+        }
+        
+        Map<Long, BookWithRelations> found = bookCacheService.getMany(requested);
+        List<BookWithRelations> books = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requested) {
+            BookWithRelations book = found.get(id);
+            if (book != null) {
+                books.add(book);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new BookBatchResponse(books, missingIds);
     }
 
     /**
      * Fetches books by sales category and converts them to DTOs with relations.
      */
+    @Transactional(readOnly = true)
     public List<BookWithRelations> getBooksBySalesCategoryWithRelations(Books.SalesCategory salesCategory) {
         return bookRepository.findBySalesCategoryWithRelations(salesCategory).stream()
-                .map(this::convertToBookWithRelations)
+                .map(BookWithRelations::fromEntity)
                 .collect(Collectors.toList());
     }
 
     /**
      * Finds similar books and converts them to DTOs with relations.
      */
+    @Transactional(readOnly = true)
     public List<BookWithRelations> getSimilarBooksWithRelations(Long bookId) {
         return findSimilarBooks(bookId).stream()
-                .map(this::convertToBookWithRelations)
+                .map(BookWithRelations::fromEntity)
                 .collect(Collectors.toList());
     }
     
@@ -526,19 +630,31 @@ public class BookService {
         
         Books book = getBookByIdOrThrow(bookId);
         
-        // Clear existing categories
-        book.getBookCategories().clear();
-        
-        // Add new categories if provided
-        if (categoryIds != null && !categoryIds.isEmpty()) {
+        Set<Long> targetIds = new LinkedHashSet<>();
+        if (categoryIds != null) {
             for (Long categoryId : categoryIds) {
                 if (categoryId == null || categoryId <= 0) {
                     throw new ValidationException("Category ID must be a positive number");
                 }
-                
-                Category category = categoryRepository.findById(categoryId)
-                    .orElseThrow(() -> new CategoryNotFoundException(categoryId));
-                
+                targetIds.add(categoryId);
+            }
+        }
+        
+        // Keep links that are still wanted, drop the rest, then add only the missing ones
+        book.getBookCategories().removeIf(link -> !targetIds.contains(link.getCategory().getId()));
+        Set<Long> linkedIds = book.getBookCategories().stream()
+                .map(link -> link.getCategory().getId())
+                .collect(Collectors.toSet());
+        targetIds.removeAll(linkedIds);
+        
+        if (!targetIds.isEmpty()) {
+            Map<Long, Category> categories = categoryRepository.findAllById(targetIds).stream()
+                    .collect(Collectors.toMap(Category::getId, category -> category));
+            for (Long categoryId : targetIds) {
+                Category category = categories.get(categoryId);
+                if (category == null) {
+                    throw new CategoryNotFoundException(categoryId);
+                }
                 BookCategory bookCategory = new BookCategory();
                 bookCategory.setBook(book);
                 bookCategory.setCategory(category);
@@ -546,8 +662,14 @@ public class BookService {
             }
         }
         
+        // Link changes alone do not dirty the book row, so bump updatedAt for snapshot deltas
+        book.setUpdatedAt(LocalDateTime.now());
+        
         try {
-            return bookRepository.save(book);
+            Books savedBook = bookRepository.save(book);
+            bookCacheService.invalidate(bookId);
+            outboxService.record(AggregateType.BOOK, bookId, EventType.BOOK_CATEGORIES_CHANGED);
+            return savedBook;
         } catch (Exception e) {
             throw new BusinessLogicException("Failed to update book categories: " + e.getMessage(), e);
         }
@@ -585,10 +707,51 @@ public class BookService {
             }
         }
         
+        book.setUpdatedAt(LocalDateTime.now());
+        
         try {
-            return bookRepository.save(book);
+            Books savedBook = bookRepository.save(book);
+            bookCacheService.invalidate(bookId);
+            outboxService.record(AggregateType.BOOK, bookId, EventType.BOOK_IMAGES_CHANGED);
+            return savedBook;
         } catch (Exception e) {
             throw new BusinessLogicException("Failed to update book images: " + e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+    
+    // Canonical ISBN-13 for a provided ISBN, null when none was provided
+    private String normalizeIsbn(String rawIsbn) {
+        if (rawIsbn == null || rawIsbn.trim().isEmpty()) {
+            return null;
+        }
+        String isbn = IsbnNormalizer.toIsbn13(rawIsbn);
+        if (isbn == null) {
+            throw new ValidationException("Invalid ISBN: " + rawIsbn);
+        }
+        return isbn;
+    }
+    
+    /**
+     * Same as {@link #normalizeIsbn(String)} for an existing book, except that an ISBN stored before
+     * checksum validation and sent back unchanged is accepted; null is returned so it is left as is.
+     */
+    private String normalizeIsbn(String rawIsbn, Supplier<String> storedIsbn) {
+        if (rawIsbn != null && IsbnNormalizer.toIsbn13(rawIsbn) == null && rawIsbn.trim().equals(storedIsbn.get())) {
+            return null;
+        }
+        return normalizeIsbn(rawIsbn);
+    }
+    
+    private static void putIfPresent(Map<String, Object> changes, String attribute, Object requested) {
+        if (requested != null) {
+            changes.put(attribute, requested);
+        }
+    }
+    
+    private static <T extends Number> T nonNegative(T value, String label) {
+        if (value != null && value.doubleValue() < 0) {
+            throw new ValidationException(label + " must be a non-negative number");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,137 @@
+package com.bookverse.bookCatalog.Service;
+
+import com.bookverse.bookCatalog.DTO.CatalogChangeMessage;
+import com.bookverse.bookCatalog.Event.CatalogChangesReceivedEvent;
+import com.bookverse.bookCatalog.Exception.ValidationException;
+import com.bookverse.bookCatalog.Repository.OutboxEventRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.LongFunction;
+
+/**
+ * HTTP side of the outbox: a pollable feed read by position from OUTBOX_EVENTS, and an SSE stream
+ * that replays from a position and then follows the table through this instance's outbox tail
+ * ({@link CatalogChangeTailService}), so subscribers on every instance see every change.
+ */
+@Service
+public class CatalogChangeFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogChangeFeedService.class);
+
+    // One SSE client; sends are serialized and never repeat or go back in position
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private long lastSent;
+
+        private Subscriber(SseEmitter emitter, long lastSent) {
+            this.emitter = emitter;
+            this.lastSent = lastSent;
+        }
+
+        // Sends the changes after lastSent, first reading from the table any positions that were skipped
+        private synchronized void send(List<CatalogChangeMessage> changes,
+                                       LongFunction<List<CatalogChangeMessage>> backfill) throws IOException {
+            if (!changes.isEmpty() && changes.get(0).getPosition() > lastSent + 1) {
+                emit(backfill.apply(lastSent));
+            }
+            emit(changes);
+        }
+
+        private void emit(List<CatalogChangeMessage> changes) throws IOException {
+            for (CatalogChangeMessage change : changes) {
+                if (change.getPosition() > lastSent) {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(change.getPosition()))
+                            .name("catalog-change")
+                            .data(change));
+                    lastSent = change.getPosition();
+                }
+            }
+        }
+    }
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final Set<Subscriber> subscribers = new CopyOnWriteArraySet<>();
+
+    @Value("${books.outbox.feed.max-limit:500}")
+    private int maxLimit;
+
+    @Value("${books.outbox.sse-timeout-ms:1800000}")
+    private long sseTimeoutMs;
+
+    public CatalogChangeFeedService(OutboxEventRepository outboxEventRepository) {
+        this.outboxEventRepository = outboxEventRepository;
+    }
+
+    // Returns up to limit published changes after the given position.
+    public List<CatalogChangeMessage> getChangesAfter(long after, int limit) {
+        if (after < 0) {
+            throw new ValidationException("Position must not be negative");
+        }
+        if (limit <= 0) {
+            throw new ValidationException("Limit must be a positive number");
+        }
+        return outboxEventRepository.findPublishedAfter(after, Pageable.ofSize(Math.min(limit, maxLimit))).stream()
+                .map(CatalogChangeMessage::from)
+                .toList();
+    }
+
+    /**
+     * Opens a stream that first replays changes after {@code after} (at most one feed page; clients
+     * further behind should page through {@link #getChangesAfter} first), then follows live batches.
+     */
+    public SseEmitter subscribe(long after) {
+        if (after < 0) {
+            throw new ValidationException("Position must not be negative");
+        }
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, after);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        // Registered before the backlog is read: a batch committed after the read is pushed live,
+        // one committed before it is in the backlog, and the live push waits and skips it
+        synchronized (subscriber) {
+            subscribers.add(subscriber);
+            try {
+                subscriber.emit(getChangesAfter(after, maxLimit));
+            } catch (IOException e) {
+                subscribers.remove(subscriber);
+                emitter.completeWithError(e);
+            }
+        }
+        return emitter;
+    }
+
+    /**
+     * Pushes each page read by the outbox tail. After a resync the tail has skipped positions deleted by
+     * retention, so streams are closed and clients reconnect with their last event id.
+     */
+    @EventListener
+    public void onChangesReceived(CatalogChangesReceivedEvent event) {
+        for (Subscriber subscriber : subscribers) {
+            if (event.resync()) {
+                subscribers.remove(subscriber);
+                subscriber.emitter.complete();
+                continue;
+            }
+            try {
+                subscriber.send(event.changes(), lastSent -> getChangesAfter(lastSent, maxLimit));
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(subscriber);
+                logger.debug("Dropped catalog change subscriber: {}", e.getMessage());
+            }
+        }
+    }
+}
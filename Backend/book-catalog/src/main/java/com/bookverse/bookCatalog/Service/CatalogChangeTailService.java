@@ -0,0 +1,133 @@
+package com.bookverse.bookCatalog.Service;
+
+import com.bookverse.bookCatalog.DTO.CatalogChangeMessage;
+import com.bookverse.bookCatalog.Event.CatalogChangesReceivedEvent;
+import com.bookverse.bookCatalog.Models.OutboxEvent;
+import com.bookverse.bookCatalog.Models.OutboxEvent.AggregateType;
+import com.bookverse.bookCatalog.Repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Follows the published outbox on every instance, whichever one runs the relay. Each poll reads the
+ * changes after the last position seen and publishes them locally as a
+ * {@link CatalogChangesReceivedEvent}, so in-memory state (book cache, ISBN index, live feed) catches up
+ * with writes made on other instances. Positions are gapless, so a first position beyond the next
+ * expected one means the rows were already deleted by retention and listeners are asked to resync.
+ */
+@Service
+public class CatalogChangeTailService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogChangeTailService.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+
+    // Last position applied; -1 until read from the table
+    private long lastPosition = -1;
+
+    @Value("${books.outbox.tail-enabled:true}")
+    private boolean tailEnabled;
+
+    @Value("${books.outbox.tail-batch-size:500}")
+    private int batchSize;
+
+    public CatalogChangeTailService(OutboxEventRepository outboxEventRepository, ApplicationEventPublisher eventPublisher,
+                                    ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+    }
+
+    // Starts from the current end of the feed: the book cache warm-up reads everything committed before it.
+    @PostConstruct
+    public void init() {
+        try {
+            lastPosition = outboxEventRepository.findLastPosition();
+        } catch (Exception e) {
+            logger.warn("Could not read the outbox position, the first poll will resync: {}", e.getMessage());
+        }
+    }
+
+    // Publishes everything after the last position seen, one event per page.
+    @Scheduled(fixedDelayString = "${books.outbox.tail-interval-ms:1000}")
+    public synchronized void poll() {
+        if (!tailEnabled) {
+            return;
+        }
+        try {
+            if (lastPosition < 0) {
+                lastPosition = outboxEventRepository.findLastPosition();
+                eventPublisher.publishEvent(CatalogChangesReceivedEvent.resyncRequired());
+                return;
+            }
+            List<OutboxEvent> events;
+            do {
+                events = outboxEventRepository.findPublishedAfter(lastPosition, Pageable.ofSize(batchSize));
+                if (events.isEmpty()) {
+                    return;
+                }
+                if (events.get(0).getPosition() != lastPosition + 1) {
+                    logger.warn("Outbox positions {} to {} were already deleted, resyncing",
+                            lastPosition + 1, events.get(0).getPosition() - 1);
+                    lastPosition = outboxEventRepository.findLastPosition();
+                    eventPublisher.publishEvent(CatalogChangesReceivedEvent.resyncRequired());
+                    return;
+                }
+                eventPublisher.publishEvent(toEvent(events));
+                // Advanced only once every listener applied the page; a failure re-reads it next poll
+                lastPosition = events.get(events.size() - 1).getPosition();
+            } while (events.size() == batchSize);
+        } catch (Exception e) {
+            logger.warn("Outbox tail failed, will retry from position {}: {}", lastPosition, e.getMessage(), e);
+        }
+    }
+
+    public long getLastPosition() {
+        return lastPosition;
+    }
+
+    private CatalogChangesReceivedEvent toEvent(List<OutboxEvent> events) {
+        List<CatalogChangeMessage> changes = events.stream().map(CatalogChangeMessage::from).toList();
+        Set<Long> bookIds = new HashSet<>();
+        Set<Long> categoryIds = new HashSet<>();
+        for (CatalogChangeMessage change : changes) {
+            if (change.getAggregateType() == AggregateType.BOOK) {
+                bookIds.add(change.getAggregateId());
+            } else if (change.getAggregateType() == AggregateType.CATEGORY) {
+                categoryIds.add(change.getAggregateId());
+            } else if (change.getAggregateType() == AggregateType.REVIEW) {
+                Long bookId = reviewedBookId(change);
+                if (bookId != null) {
+                    bookIds.add(bookId);
+                }
+            }
+        }
+        return new CatalogChangesReceivedEvent(changes, bookIds, categoryIds, false);
+    }
+
+    // Review events carry the rated book in their payload
+    private Long reviewedBookId(CatalogChangeMessage change) {
+        try {
+            JsonNode bookId = objectMapper.readTree(change.getPayload()).get("bookId");
+            return bookId != null && bookId.canConvertToLong() ? bookId.asLong() : null;
+        } catch (Exception e) {
+            logger.warn("Unreadable payload on outbox position {}: {}", change.getPosition(), e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.bookverse.bookCatalog.Service;
+
+import com.bookverse.bookCatalog.DTO.BookWithRelations;
+import com.bookverse.bookCatalog.util.CatalogSnapshotCodec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Reads and writes versioned binary snapshots of the in-memory catalog.
+ * Files are written to a temp file and atomically renamed, so a crash mid-write never
+ * leaves a half-written file behind; on load, files failing the header or checksum check are skipped.
+ */
+@Service
+public class CatalogSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshotService.class);
+
+    private static final String FILE_PREFIX = "catalog-";
+    private static final String FILE_SUFFIX = ".snap";
+
+    @Value("${books.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${books.snapshot.dir:./data/snapshots}")
+    private String directory;
+
+    @Value("${books.snapshot.retain:2}")
+    private int retain;
+
+    @Value("${books.snapshot.max-age-hours:24}")
+    private long maxAgeHours;
+
+    @Value("${books.snapshot.safety-margin-seconds:60}")
+    private long safetyMarginSeconds;
+
+    public record Snapshot(LocalDateTime takenAt, List<BookWithRelations> books) {
+    }
+
+    /**
+     * Timestamp to record for a snapshot taken now. It is set back by a safety margin so that
+     * transactions still in flight while the cache is copied are picked up by the next delta load.
+     */
+    public LocalDateTime snapshotTimestamp() {
+        return LocalDateTime.now().minusSeconds(safetyMarginSeconds);
+    }
+
+    // Writes a new snapshot file and prunes older ones.
+    public void write(LocalDateTime takenAt, Collection<BookWithRelations> books) {
+        if (!enabled) {
+            return;
+        }
+        Path dir = Paths.get(directory);
+        Path target = dir.resolve(FILE_PREFIX + takenAt.toInstant(ZoneOffset.UTC).toEpochMilli() + FILE_SUFFIX);
+        Path temp = dir.resolve(target.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(dir);
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024)) {
+                CatalogSnapshotCodec.encode(out, takenAt, books);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Wrote catalog snapshot {} ({} books)", target.getFileName(), books.size());
+            prune(dir);
+        } catch (IOException e) {
+            logger.warn("Failed to write catalog snapshot {}: {}", target, e.getMessage());
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // Nothing more to do; the temp file is never read
+            }
+        }
+    }
+
+    /**
+     * Memory-maps and decodes the newest valid snapshot that is not older than the configured maximum age.
+     */
+    public Optional<Snapshot> loadLatest() {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        LocalDateTime oldestAccepted = LocalDateTime.now().minusHours(maxAgeHours);
+        for (Path file : listSnapshots(Paths.get(directory))) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                CatalogSnapshotCodec.Decoded decoded = CatalogSnapshotCodec.decode(buffer);
+                if (decoded.takenAt().isBefore(oldestAccepted)) {
+                    logger.info("Ignoring catalog snapshot {} older than {} hours", file.getFileName(), maxAgeHours);
+                    return Optional.empty();
+                }
+                return Optional.of(new Snapshot(decoded.takenAt(), decoded.books()));
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Skipping unreadable catalog snapshot {}: {}", file.getFileName(), e.getMessage());
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Lists snapshot files, newest first.
+    private List<Path> listSnapshots(Path dir) {
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX);
+                    })
+                    .sorted(Comparator.comparingLong(this::timestampOf).reversed())
+                    .toList();
+        } catch (IOException e) {
+            logger.warn("Failed to list catalog snapshots in {}: {}", dir, e.getMessage());
+            return List.of();
+        }
+    }
+
+    private long timestampOf(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    // Keeps the newest files so a corrupt latest snapshot still leaves a fallback.
+    private void prune(Path dir) throws IOException {
+        List<Path> snapshots = listSnapshots(dir);
+        for (int i = Math.max(1, retain); i < snapshots.size(); i++) {
+            Files.deleteIfExists(snapshots.get(i));
+        }
+    }
+}
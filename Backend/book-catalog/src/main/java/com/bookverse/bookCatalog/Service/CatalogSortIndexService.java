@@ -0,0 +1,225 @@
+package com.bookverse.bookCatalog.Service;
+
+import com.bookverse.bookCatalog.DTO.BookWithRelations;
+import com.bookverse.bookCatalog.Event.BookChangedEvent;
+import com.bookverse.bookCatalog.Event.CatalogReloadedEvent;
+import com.bookverse.bookCatalog.Exception.ValidationException;
+import com.bookverse.bookCatalog.util.SortedIdIndex;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains one sorted id array per supported sort key, globally and per category, for active books.
+ * The arrays are updated incrementally from {@link BookChangedEvent}s, so a sorted page is a slice
+ * of an array followed by cache lookups: no ORDER BY and no filesort.
+ */
+@Service
+public class CatalogSortIndexService {
+
+    public enum SortKey {
+        PRICE(false, book -> valueOf(book.getPrice())),
+        RATING(true, book -> valueOf(book.getAverageRating())),
+        NEWEST(true, book -> epochSecond(book.getCreatedAt())),
+        BESTSELLING(true, book -> book.getNoOfBooksSold() != null ? book.getNoOfBooksSold() : 0);
+
+        private final boolean descendingByDefault;
+        private final ToDoubleFunction<BookWithRelations> extractor;
+
+        SortKey(boolean descendingByDefault, ToDoubleFunction<BookWithRelations> extractor) {
+            this.descendingByDefault = descendingByDefault;
+            this.extractor = extractor;
+        }
+
+        public static SortKey fromParameter(String value) {
+            try {
+                return SortKey.valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new ValidationException("Unsupported sort key: " + value + ". Use price, rating, newest or bestselling");
+            }
+        }
+
+        private static double valueOf(Double value) {
+            return value != null ? value : 0.0;
+        }
+
+        private static double epochSecond(LocalDateTime value) {
+            return value != null ? value.toEpochSecond(ZoneOffset.UTC) : 0;
+        }
+    }
+
+    private final BookCacheService bookCacheService;
+
+    private final Map<SortKey, SortedIdIndex> globalIndexes = new EnumMap<>(SortKey.class);
+    private final Map<Long, Map<SortKey, SortedIdIndex>> categoryIndexes = new ConcurrentHashMap<>();
+    private volatile boolean built = false;
+
+    @Value("${books.pagination.max-size:100}")
+    private int maxPageSize;
+
+    public CatalogSortIndexService(BookCacheService bookCacheService) {
+        this.bookCacheService = bookCacheService;
+        for (SortKey key : SortKey.values()) {
+            globalIndexes.put(key, new SortedIdIndex());
+        }
+    }
+
+    /**
+     * Returns one page of active books in the requested order, optionally restricted to a category.
+     * @param direction "asc" or "desc"; null uses the natural direction of the key (cheapest price, best rating, newest, most sold)
+     */
+    public Page<BookWithRelations> getSortedPage(SortKey sortKey, String direction, Long categoryId, int page, int size) {
+        if (page < 0) {
+            throw new ValidationException("Page index must not be negative");
+        }
+        if (size <= 0) {
+            throw new ValidationException("Page size must be a positive number");
+        }
+        boolean descending = direction == null ? sortKey.descendingByDefault : Sort.Direction.fromOptionalString(direction)
+                .orElseThrow(() -> new ValidationException("Sort direction must be asc or desc")).isDescending();
+        size = Math.min(size, maxPageSize);
+        ensureBuilt();
+
+        SortedIdIndex index = categoryId == null
+                ? globalIndexes.get(sortKey)
+                : categoryIndexes.getOrDefault(categoryId, Map.of()).get(sortKey);
+        if (index == null) {
+            return new PageImpl<>(List.of(), PageRequest.of(page, size), 0);
+        }
+
+        long offset = (long) page * size;
+        long[] ids = offset > Integer.MAX_VALUE ? new long[0] : index.page((int) offset, size, descending);
+        List<BookWithRelations> content = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            bookCacheService.get(id).ifPresent(content::add);
+        }
+        return new PageImpl<>(content, PageRequest.of(page, size), index.size());
+    }
+
+    // Active books in the global indexes (0 until the first sorted request builds them)
+    public int size() {
+        return globalIndexes.get(SortKey.PRICE).size();
+    }
+
+    public int categoryIndexCount() {
+        return categoryIndexes.size();
+    }
+
+    // Rebuilds every index from the cache after a full reload.
+    @EventListener
+    public synchronized void onCatalogReloaded(CatalogReloadedEvent event) {
+        rebuild();
+    }
+
+    // Moves a single book inside the indexes it belongs to.
+    @EventListener
+    public synchronized void onBookChanged(BookChangedEvent event) {
+        if (!built) {
+            return;
+        }
+        BookWithRelations previous = event.previous();
+        BookWithRelations current = isIndexed(event.current()) ? event.current() : null;
+
+        for (SortKey key : SortKey.values()) {
+            if (current != null) {
+                globalIndexes.get(key).upsert(current.getId(), key.extractor.applyAsDouble(current));
+            } else {
+                globalIndexes.get(key).remove(event.bookId());
+            }
+        }
+
+        Set<Long> oldCategories = categoryIdsOf(previous);
+        Set<Long> newCategories = current != null ? categoryIdsOf(current) : Set.of();
+        for (Long categoryId : oldCategories) {
+            if (!newCategories.contains(categoryId)) {
+                Map<SortKey, SortedIdIndex> indexes = categoryIndexes.get(categoryId);
+                if (indexes != null) {
+                    indexes.values().forEach(index -> index.remove(event.bookId()));
+                }
+            }
+        }
+        for (Long categoryId : newCategories) {
+            Map<SortKey, SortedIdIndex> indexes = categoryIndexes.computeIfAbsent(categoryId, id -> newIndexSet());
+            for (SortKey key : SortKey.values()) {
+                indexes.get(key).upsert(current.getId(), key.extractor.applyAsDouble(current));
+            }
+        }
+    }
+
+    private void ensureBuilt() {
+        if (built) {
+            return;
+        }
+        // Outside this monitor: the load publishes CatalogReloadedEvent, whose listeners take it
+        bookCacheService.ensureLoaded();
+        synchronized (this) {
+            if (!built) {
+                rebuild();
+            }
+        }
+    }
+
+    private void rebuild() {
+        List<BookWithRelations> books = bookCacheService.getAll().stream()
+                .filter(this::isIndexed)
+                .toList();
+
+        for (SortKey key : SortKey.values()) {
+            Map<Long, Double> entries = new HashMap<>(books.size() * 2);
+            books.forEach(book -> entries.put(book.getId(), key.extractor.applyAsDouble(book)));
+            globalIndexes.get(key).rebuild(entries);
+        }
+
+        Map<Long, List<BookWithRelations>> byCategory = new HashMap<>();
+        books.forEach(book -> categoryIdsOf(book)
+                .forEach(categoryId -> byCategory.computeIfAbsent(categoryId, id -> new ArrayList<>()).add(book)));
+        categoryIndexes.keySet().retainAll(byCategory.keySet());
+        byCategory.forEach((categoryId, categoryBooks) -> {
+            Map<SortKey, SortedIdIndex> indexes = categoryIndexes.computeIfAbsent(categoryId, id -> newIndexSet());
+            for (SortKey key : SortKey.values()) {
+                Map<Long, Double> entries = new HashMap<>(categoryBooks.size() * 2);
+                categoryBooks.forEach(book -> entries.put(book.getId(), key.extractor.applyAsDouble(book)));
+                indexes.get(key).rebuild(entries);
+            }
+        });
+        built = true;
+    }
+
+    private boolean isIndexed(BookWithRelations book) {
+        return book != null && Boolean.TRUE.equals(book.getIsActive());
+    }
+
+    private static Set<Long> categoryIdsOf(BookWithRelations book) {
+        if (book == null || book.getCategories() == null) {
+            return Set.of();
+        }
+        return book.getCategories().stream()
+                .map(BookWithRelations.CategoryInfo::getId)
+                .collect(Collectors.toSet());
+    }
+
+    private static Map<SortKey, SortedIdIndex> newIndexSet() {
+        Map<SortKey, SortedIdIndex> indexes = new EnumMap<>(SortKey.class);
+        for (SortKey key : SortKey.values()) {
+            indexes.put(key, new SortedIdIndex());
+        }
+        return indexes;
+    }
+}
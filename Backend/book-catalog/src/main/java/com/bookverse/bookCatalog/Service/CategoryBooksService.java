@@ -0,0 +1,147 @@
+package com.bookverse.bookCatalog.Service;
+
+import com.bookverse.bookCatalog.DTO.BookWithRelations;
+import com.bookverse.bookCatalog.Event.BookChangedEvent;
+import com.bookverse.bookCatalog.Event.CatalogReloadedEvent;
+import com.bookverse.bookCatalog.Exception.CategoryNotFoundException;
+import com.bookverse.bookCatalog.Exception.ValidationException;
+import com.bookverse.bookCatalog.Models.Category;
+import com.bookverse.bookCatalog.Repository.BookCategoryRepository;
+import com.bookverse.bookCatalog.Repository.CategoryRepository;
+import com.bookverse.bookCatalog.config.ReadWriteRoutingDataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Paged category listings ordered by BookCategory.priority.
+ * Each category's ordered id list is read once through the (category_id, priority, book_id) index
+ * and cached; pages are slices of that list hydrated from the book cache.
+ */
+@Service
+public class CategoryBooksService {
+
+    // Secondary order applied to books sharing the same link priority
+    public enum ThenBy {
+        SALES, RATING;
+
+        public static ThenBy fromParameter(String value) {
+            try {
+                return ThenBy.valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new ValidationException("Unsupported secondary order: " + value + ". Use sales or rating");
+            }
+        }
+    }
+
+    private record ListKey(Long categoryId, ThenBy thenBy) {
+    }
+
+    private final CategoryRepository categoryRepository;
+    private final BookCategoryRepository bookCategoryRepository;
+    private final BookCacheService bookCacheService;
+
+    private final Map<ListKey, long[]> idLists = new ConcurrentHashMap<>();
+    // Bumped by every eviction, so a list loaded across one is not cached
+    private final AtomicLong listsVersion = new AtomicLong();
+
+    @Value("${books.pagination.max-size:100}")
+    private int maxPageSize;
+
+    public CategoryBooksService(CategoryRepository categoryRepository, BookCategoryRepository bookCategoryRepository,
+                                BookCacheService bookCacheService) {
+        this.categoryRepository = categoryRepository;
+        this.bookCategoryRepository = bookCategoryRepository;
+        this.bookCacheService = bookCacheService;
+    }
+
+    // Returns one page of the active books in the category identified by its slug.
+    public Page<BookWithRelations> getBooksByCategorySlug(String slug, ThenBy thenBy, int page, int size) {
+        if (slug == null || slug.trim().isEmpty()) {
+            throw new ValidationException("Category slug is required");
+        }
+        if (page < 0) {
+            throw new ValidationException("Page index must not be negative");
+        }
+        if (size <= 0) {
+            throw new ValidationException("Page size must be a positive number");
+        }
+        size = Math.min(size, maxPageSize);
+
+        Category category = categoryRepository.findBySlug(slug.trim())
+                .orElseThrow(() -> CategoryNotFoundException.forSlug(slug));
+
+        ListKey key = new ListKey(category.getId(), thenBy);
+        long[] ids = idLists.get(key);
+        if (ids == null) {
+            // Loaded outside any lock; a change while loading leaves the list uncached instead of caching a stale one
+            long version = listsVersion.get();
+            ids = loadIds(key);
+            synchronized (this) {
+                if (listsVersion.get() == version) {
+                    idLists.put(key, ids);
+                }
+            }
+        }
+        long offset = (long) page * size;
+        if (offset >= ids.length) {
+            return new PageImpl<>(List.of(), PageRequest.of(page, size), ids.length);
+        }
+        long[] pageIds = Arrays.copyOfRange(ids, (int) offset, (int) Math.min(ids.length, offset + size));
+
+        List<Long> requested = Arrays.stream(pageIds).boxed().toList();
+        Map<Long, BookWithRelations> books = bookCacheService.getMany(requested);
+        List<BookWithRelations> content = new ArrayList<>(pageIds.length);
+        for (Long id : requested) {
+            BookWithRelations book = books.get(id);
+            if (book != null) {
+                content.add(book);
+            }
+        }
+        return new PageImpl<>(content, PageRequest.of(page, size), ids.length);
+    }
+
+    private long[] loadIds(ListKey key) {
+        List<Long> ids = ReadWriteRoutingDataSource.onPrimary(() -> key.thenBy() == ThenBy.RATING
+                ? bookCategoryRepository.findActiveBookIdsByCategoryOrderByRating(key.categoryId())
+                : bookCategoryRepository.findActiveBookIdsByCategoryOrderBySales(key.categoryId()));
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    // Drops the lists of every category the book belonged to before or belongs to now.
+    @EventListener
+    public synchronized void onBookChanged(BookChangedEvent event) {
+        listsVersion.incrementAndGet();
+        evictCategoriesOf(event.previous());
+        evictCategoriesOf(event.current());
+    }
+
+    @EventListener
+    public synchronized void onCatalogReloaded(CatalogReloadedEvent event) {
+        listsVersion.incrementAndGet();
+        idLists.clear();
+    }
+
+    public int cachedListCount() {
+        return idLists.size();
+    }
+
+    private void evictCategoriesOf(BookWithRelations book) {
+        if (book == null || book.getCategories() == null || idLists.isEmpty()) {
+            return;
+        }
+        book.getCategories().forEach(category -> idLists.keySet()
+                .removeIf(key -> key.categoryId().equals(category.getId())));
+    }
+}
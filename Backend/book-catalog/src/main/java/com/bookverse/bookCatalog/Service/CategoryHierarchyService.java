@@ -0,0 +1,232 @@
+package com.bookverse.bookCatalog.Service;
+
+import com.bookverse.bookCatalog.DTO.BookWithRelations;
+import com.bookverse.bookCatalog.DTO.CategoryTreeNode;
+import com.bookverse.bookCatalog.Event.CategoriesChangedEvent;
+import com.bookverse.bookCatalog.Exception.CategoryNotFoundException;
+import com.bookverse.bookCatalog.Exception.ValidationException;
+import com.bookverse.bookCatalog.Models.Category;
+import com.bookverse.bookCatalog.Repository.BookRepository;
+import com.bookverse.bookCatalog.Repository.CategoryClosureRepository;
+import com.bookverse.bookCatalog.Repository.CategoryRepository;
+import com.bookverse.bookCatalog.config.ReadWriteRoutingDataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Category tree stored twice: {@code Category.parentId} for the direct parent and a closure table
+ * (ancestor, descendant, depth) for every path. Writes keep both in step with set-based statements,
+ * so "all books under X" is a single join on the closure table whatever the depth. The navigation
+ * tree is built once from the categories and cached until a category changes.
+ */
+@Service
+public class CategoryHierarchyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryHierarchyService.class);
+
+    private final CategoryRepository categoryRepository;
+    private final CategoryClosureRepository categoryClosureRepository;
+    private final BookRepository bookRepository;
+    private final BookCacheService bookCacheService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile List<CategoryTreeNode> tree;
+    private final AtomicLong treeVersion = new AtomicLong();
+
+    @Value("${books.pagination.max-size:100}")
+    private int maxPageSize;
+
+    public CategoryHierarchyService(CategoryRepository categoryRepository, CategoryClosureRepository categoryClosureRepository,
+                                    BookRepository bookRepository, BookCacheService bookCacheService,
+                                    JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.categoryRepository = categoryRepository;
+        this.categoryClosureRepository = categoryClosureRepository;
+        this.bookRepository = bookRepository;
+        this.bookCacheService = bookCacheService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // Checks that a parent given on create or move exists.
+    public void validateParent(Long parentId) {
+        if (parentId != null && !categoryRepository.existsById(parentId)) {
+            throw new CategoryNotFoundException(parentId);
+        }
+    }
+
+    // Adds the closure rows of a newly saved category (itself, and below its parent if it has one).
+    @Transactional
+    public void onCategoryCreated(Category category) {
+        categoryClosureRepository.insertLeaf(category.getId(), category.getParentId());
+    }
+
+    /**
+     * Moves a category, with its whole subtree, under a new parent.
+     * @param newParentId null makes it a top-level category
+     */
+    @Transactional
+    public void moveCategory(Category category, Long newParentId) {
+        if (Objects.equals(category.getParentId(), newParentId)) {
+            return;
+        }
+        validateParent(newParentId);
+        List<Long> subtree = categoryClosureRepository.findSubtreeIds(category.getId());
+        if (newParentId != null && subtree.contains(newParentId)) {
+            throw new ValidationException("A category cannot be moved under itself or one of its descendants");
+        }
+
+        // Cut every path from the old ancestors into the subtree, then graft it under the new parent
+        List<Long> oldAncestors = categoryClosureRepository.findAncestorIds(category.getId());
+        if (!oldAncestors.isEmpty()) {
+            categoryClosureRepository.deleteLinks(oldAncestors, subtree);
+        }
+        if (newParentId != null) {
+            categoryClosureRepository.attachSubtree(category.getId(), newParentId);
+        }
+        category.setParentId(newParentId);
+        categoryRepository.save(category);
+    }
+
+    // Removes a category from the tree before it is deleted; its children move up to its parent.
+    @Transactional
+    public void onCategoryDeleting(Category category) {
+        Long id = category.getId();
+        List<Long> below = new ArrayList<>(categoryClosureRepository.findSubtreeIds(id));
+        below.remove(id);
+        List<Long> ancestors = categoryClosureRepository.findAncestorIds(id);
+        if (!below.isEmpty() && !ancestors.isEmpty()) {
+            categoryClosureRepository.shortenLinks(ancestors, below);
+        }
+        categoryClosureRepository.deleteAllFor(id);
+        for (Category child : categoryRepository.findByParentId(id)) {
+            child.setParentId(category.getParentId());
+            categoryRepository.save(child);
+        }
+    }
+
+    // One page of the active books in a category or any category below it.
+    public Page<BookWithRelations> getSubtreeBooks(String slug, int page, int size) {
+        if (page < 0) {
+            throw new ValidationException("Page index must not be negative");
+        }
+        if (size <= 0) {
+            throw new ValidationException("Page size must be a positive number");
+        }
+        size = Math.min(size, maxPageSize);
+        Category category = categoryRepository.findBySlug(slug.trim())
+                .orElseThrow(() -> CategoryNotFoundException.forSlug(slug));
+
+        Page<Long> ids = bookRepository.findActiveIdsInCategorySubtree(category.getId(), PageRequest.of(page, size));
+        Map<Long, BookWithRelations> books = bookCacheService.getMany(ids.getContent());
+        List<BookWithRelations> content = new ArrayList<>(ids.getNumberOfElements());
+        for (Long id : ids.getContent()) {
+            BookWithRelations book = books.get(id);
+            if (book != null) {
+                content.add(book);
+            }
+        }
+        return new PageImpl<>(content, ids.getPageable(), ids.getTotalElements());
+    }
+
+    // Active categories as a tree, roots and children in display order.
+    public List<CategoryTreeNode> getTree() {
+        List<CategoryTreeNode> current = tree;
+        if (current == null) {
+            // A change while building leaves the tree uncached instead of caching a stale one
+            long version = treeVersion.get();
+            current = buildTree();
+            synchronized (this) {
+                if (treeVersion.get() == version) {
+                    tree = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCategoriesChanged(CategoriesChangedEvent event) {
+        treeVersion.incrementAndGet();
+        tree = null;
+    }
+
+    // Fills the closure table for categories created before it existed.
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillClosure() {
+        try {
+            if (categoryClosureRepository.countSelfLinks() != categoryRepository.count()) {
+                transactionTemplate.executeWithoutResult(status -> rebuildClosure());
+            }
+        } catch (Exception e) {
+            logger.warn("Category closure backfill failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void rebuildClosure() {
+        Map<Long, Long> parents = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            parents.put(category.getId(), category.getParentId());
+        }
+        List<Object[]> rows = new ArrayList<>();
+        for (Long id : parents.keySet()) {
+            // Walk up to the root; the visited set guards against a corrupted (cyclic) parent chain
+            Set<Long> visited = new HashSet<>();
+            Long ancestor = id;
+            int depth = 0;
+            while (ancestor != null && parents.containsKey(ancestor) && visited.add(ancestor)) {
+                rows.add(new Object[]{ancestor, id, depth++});
+                ancestor = parents.get(ancestor);
+            }
+        }
+        categoryClosureRepository.deleteAllLinks();
+        jdbcTemplate.batchUpdate("INSERT INTO category_closure (ancestor_id, descendant_id, depth) VALUES (?, ?, ?)", rows);
+        logger.info("Rebuilt category closure with {} rows for {} categories", rows.size(), parents.size());
+    }
+
+    private List<CategoryTreeNode> buildTree() {
+        List<Category> active = ReadWriteRoutingDataSource.onPrimary(() -> categoryRepository.findAll()).stream()
+                .filter(category -> Boolean.TRUE.equals(category.getIsActive()))
+                .sorted(Comparator.comparingInt(Category::getDisplayOrder).thenComparing(Category::getId))
+                .toList();
+        Map<Long, CategoryTreeNode> nodes = new HashMap<>();
+        for (Category category : active) {
+            nodes.put(category.getId(), new CategoryTreeNode(category.getId(), category.getName(), category.getSlug(),
+                    category.getImage(), category.getDisplayOrder(), new ArrayList<>()));
+        }
+        List<CategoryTreeNode> roots = new ArrayList<>();
+        for (Category category : active) {
+            CategoryTreeNode node = nodes.get(category.getId());
+            CategoryTreeNode parent = category.getParentId() != null ? nodes.get(category.getParentId()) : null;
+            if (parent != null) {
+                parent.getChildren().add(node);
+            } else if (category.getParentId() == null) {
+                roots.add(node);
+            }
+            // Children of an inactive parent are hidden along with it
+        }
+        return List.copyOf(roots);
+    }
+}
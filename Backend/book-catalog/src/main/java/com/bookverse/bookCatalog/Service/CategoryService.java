@@ -1,11 +1,15 @@
 package com.bookverse.bookCatalog.Service;
 
+import com.bookverse.bookCatalog.Event.CategoriesChangedEvent;
 import com.bookverse.bookCatalog.Models.Category;
+import com.bookverse.bookCatalog.Models.OutboxEvent.AggregateType;
+import com.bookverse.bookCatalog.Models.OutboxEvent.EventType;
 import com.bookverse.bookCatalog.Repository.CategoryRepository;
 import com.bookverse.bookCatalog.Exception.CategoryNotFoundException;
 import com.bookverse.bookCatalog.Exception.DuplicateResourceException;
 import com.bookverse.bookCatalog.Exception.ValidationException;
 import com.bookverse.bookCatalog.Exception.BusinessLogicException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,17 +22,29 @@ import java.util.regex.Pattern;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final BookCacheService bookCacheService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CategoryHierarchyService categoryHierarchyService;
+    private final OutboxService outboxService;
 
-    public CategoryService(CategoryRepository categoryRepository) {
+    public CategoryService(CategoryRepository categoryRepository, BookCacheService bookCacheService,
+                           ApplicationEventPublisher eventPublisher, CategoryHierarchyService categoryHierarchyService,
+                           OutboxService outboxService) {
         this.categoryRepository = categoryRepository;
+        this.bookCacheService = bookCacheService;
+        this.eventPublisher = eventPublisher;
+        this.categoryHierarchyService = categoryHierarchyService;
+        this.outboxService = outboxService;
     }
 
     // Retrieves all categories.
+    @Transactional(readOnly = true)
     public List<Category> getAllCategories() {
         return categoryRepository.findAll();
     }
 
     // Fetches a category by its ID.
+    @Transactional(readOnly = true)
     public Optional<Category> getCategoryById(Long id) {
         if (id == null || id <= 0) {
             throw new ValidationException("Category ID must be a positive number");
@@ -37,12 +53,14 @@ public class CategoryService {
     }
     
     // Fetches a category by its ID or throws exception if not found
+    @Transactional(readOnly = true)
     public Category getCategoryByIdOrThrow(Long id) {
         return getCategoryById(id)
             .orElseThrow(() -> new CategoryNotFoundException(id));
     }
     
     // Fetches a category by its name.
+    @Transactional(readOnly = true)
     public Optional<Category> getCategoryByName(String name) {
         return categoryRepository.findByName(name);
     }
@@ -74,17 +92,29 @@ public class CategoryService {
         if (category.getDisplayOrder() == 0) {
             category.setDisplayOrder(getNextDisplayOrder());
         }
+        categoryHierarchyService.validateParent(category.getParentId());
         
         try {
-            return categoryRepository.save(category);
+            Category savedCategory = categoryRepository.save(category);
+            categoryHierarchyService.onCategoryCreated(savedCategory);
+            eventPublisher.publishEvent(new CategoriesChangedEvent(List.of(savedCategory.getId())));
+            outboxService.record(AggregateType.CATEGORY, savedCategory.getId(), EventType.CATEGORY_CREATED);
+            return savedCategory;
         } catch (Exception e) {
             throw new BusinessLogicException("Failed to save category: " + e.getMessage(), e);
         }
     }
 
     // Deletes a category by its ID.
+    @Transactional
     public void deleteCategory(Long id) {
-        categoryRepository.deleteById(id);
+        Category category = getCategoryByIdOrThrow(id);
+        // Resolve linked books before the links are cascaded away
+        bookCacheService.invalidateCategories(List.of(id));
+        categoryHierarchyService.onCategoryDeleting(category);
+        categoryRepository.delete(category);
+        eventPublisher.publishEvent(new CategoriesChangedEvent(List.of(id)));
+        outboxService.record(AggregateType.CATEGORY, id, EventType.CATEGORY_DELETED);
     }
 
     // Updates an existing category.
@@ -121,15 +151,24 @@ public class CategoryService {
         if (updatedCategory.getImage() != null) existingCategory.setImage(updatedCategory.getImage());
         if (updatedCategory.getDisplayOrder() >= 0) existingCategory.setDisplayOrder(updatedCategory.getDisplayOrder());
         if (updatedCategory.getIsActive() != null) existingCategory.setIsActive(updatedCategory.getIsActive());
+        // A parent in the body moves the category; use moveCategory to make it top-level
+        if (updatedCategory.getParentId() != null) {
+            categoryHierarchyService.moveCategory(existingCategory, updatedCategory.getParentId());
+        }
         
         try {
-            return categoryRepository.save(existingCategory);
+            Category savedCategory = categoryRepository.save(existingCategory);
+            bookCacheService.invalidateCategories(List.of(id));
+            eventPublisher.publishEvent(new CategoriesChangedEvent(List.of(id)));
+            outboxService.record(AggregateType.CATEGORY, id, EventType.CATEGORY_UPDATED);
+            return savedCategory;
         } catch (Exception e) {
             throw new BusinessLogicException("Failed to update category: " + e.getMessage(), e);
         }
     }
 
     // Searches for categories based on a query.
+    @Transactional(readOnly = true)
     public List<Category> searchCategories(String query) {
         return categoryRepository.findByNameContainingIgnoreCase(query);
     }
@@ -172,6 +211,7 @@ public class CategoryService {
     }
     
     // Get categories ordered by display order and active status for navigation
+    @Transactional(readOnly = true)
     public List<Category> getActiveCategoriesForNavigation() {
         return categoryRepository.findAll().stream()
             .filter(Category::getIsActive)
@@ -179,6 +219,16 @@ public class CategoryService {
             .toList();
     }
     
+    // Moves a category and its subtree under another parent, or to the top level when parentId is null
+    @Transactional
+    public Category moveCategory(Long id, Long parentId) {
+        Category category = getCategoryByIdOrThrow(id);
+        categoryHierarchyService.moveCategory(category, parentId);
+        eventPublisher.publishEvent(new CategoriesChangedEvent(List.of(id)));
+        outboxService.record(AggregateType.CATEGORY, id, EventType.CATEGORY_MOVED);
+        return category;
+    }
+    
     // Toggle category active status
     @Transactional
     public Category toggleCategoryActiveStatus(Long id) {
@@ -186,7 +236,11 @@ public class CategoryService {
         category.setIsActive(!category.getIsActive());
         
         try {
-            return categoryRepository.save(category);
+            Category savedCategory = categoryRepository.save(category);
+            bookCacheService.invalidateCategories(List.of(id));
+            eventPublisher.publishEvent(new CategoriesChangedEvent(List.of(id)));
+            outboxService.record(AggregateType.CATEGORY, id, EventType.CATEGORY_UPDATED);
+            return savedCategory;
         } catch (Exception e) {
             throw new BusinessLogicException("Failed to toggle category status: " + e.getMessage(), e);
         }
@@ -0,0 +1,178 @@
+package com.bookverse.bookCatalog.Service;
+
+import com.bookverse.bookCatalog.DTO.BookWithRelations;
+import com.bookverse.bookCatalog.DTO.HomePageResponse;
+import com.bookverse.bookCatalog.Event.CategoriesChangedEvent;
+import com.bookverse.bookCatalog.Exception.BusinessLogicException;
+import com.bookverse.bookCatalog.Exception.ValidationException;
+import com.bookverse.bookCatalog.Models.Books;
+import com.bookverse.bookCatalog.Models.Category;
+import com.bookverse.bookCatalog.Repository.BookRepository;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Assembles the home page (three sales-category rails, the best sellers and the navigation
+ * categories) in one call. When the book cache is warm the rails come from one pass over it;
+ * otherwise they are queried from MySQL concurrently on virtual threads, next to the categories.
+ * The composite result is kept per section limit and reused until the book cache version or the
+ * category version moves.
+ */
+@Service
+public class HomePageService {
+
+    private record CachedPage(long bookVersion, long categoryVersion, HomePageResponse page) {
+    }
+
+    private final BookRepository bookRepository;
+    private final BookCacheService bookCacheService;
+    private final CategoryService categoryService;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<Integer, CachedPage> pages = new ConcurrentHashMap<>();
+    private final AtomicLong categoryVersion = new AtomicLong();
+
+    @Value("${books.home.section-limit:12}")
+    private int defaultSectionLimit;
+
+    @Value("${books.pagination.max-size:100}")
+    private int maxSectionLimit;
+
+    public HomePageService(BookRepository bookRepository, BookCacheService bookCacheService, CategoryService categoryService) {
+        this.bookRepository = bookRepository;
+        this.bookCacheService = bookCacheService;
+        this.categoryService = categoryService;
+    }
+
+    /**
+     * Returns the home page with at most {@code limit} books per section.
+     * @param limit null uses {@code books.home.section-limit}
+     */
+    public HomePageResponse getHomePage(Integer limit) {
+        int sectionLimit = limit != null ? limit : defaultSectionLimit;
+        if (sectionLimit <= 0) {
+            throw new ValidationException("Section limit must be a positive number");
+        }
+        sectionLimit = Math.min(sectionLimit, maxSectionLimit);
+
+        // Read both versions before building, so a concurrent write leaves the entry stale, never wrong
+        long bookVersion = bookCacheService.getVersion();
+        long catVersion = categoryVersion.get();
+        CachedPage cached = pages.get(sectionLimit);
+        if (cached != null && cached.bookVersion() == bookVersion && cached.categoryVersion() == catVersion) {
+            return cached.page();
+        }
+
+        HomePageResponse page = build(sectionLimit);
+        pages.put(sectionLimit, new CachedPage(bookVersion, catVersion, page));
+        return page;
+    }
+
+    // Categories do not live in the book cache, so their changes are tracked separately.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoriesChanged(CategoriesChangedEvent event) {
+        categoryVersion.incrementAndGet();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private HomePageResponse build(int limit) {
+        CompletableFuture<List<Category>> categories =
+                CompletableFuture.supplyAsync(categoryService::getActiveCategoriesForNavigation, executor);
+        Map<Books.SalesCategory, List<BookWithRelations>> sections;
+        try {
+            sections = bookCacheService.isLoaded() ? sectionsFromCache() : sectionsFromDatabase();
+            categories.join();
+        } catch (CompletionException e) {
+            throw new BusinessLogicException("Failed to assemble home page: " + e.getCause().getMessage(), e.getCause());
+        }
+        List<BookWithRelations> bestSelling = sections.get(Books.SalesCategory.BEST_SELLING);
+
+        // Same ordering as GET /highly-sold: best sellers by units sold
+        List<BookWithRelations> highlySold = bestSelling.stream()
+                .sorted(Comparator.comparingInt((BookWithRelations book) -> soldOf(book)).reversed())
+                .limit(limit)
+                .toList();
+
+        Map<Long, BookWithRelations> books = new LinkedHashMap<>();
+        return new HomePageResponse(
+                books,
+                collect(sections.get(Books.SalesCategory.NEWLY_LAUNCHED), limit, books),
+                collect(bestSelling, limit, books),
+                collect(sections.get(Books.SalesCategory.SPECIAL_OFFERS), limit, books),
+                collect(highlySold, limit, books),
+                categories.join());
+    }
+
+    // One pass over the cached catalog, bucketed by sales category; each bucket in id order.
+    private Map<Books.SalesCategory, List<BookWithRelations>> sectionsFromCache() {
+        Map<Books.SalesCategory, List<BookWithRelations>> sections = emptySections();
+        for (BookWithRelations book : bookCacheService.getAll()) {
+            if (Boolean.TRUE.equals(book.getIsActive()) && book.getSalesCategory() != null) {
+                sections.get(book.getSalesCategory()).add(book);
+            }
+        }
+        sections.values().forEach(section -> section.sort(Comparator.comparing(BookWithRelations::getId)));
+        return sections;
+    }
+
+    // One query per sales category, run concurrently.
+    private Map<Books.SalesCategory, List<BookWithRelations>> sectionsFromDatabase() {
+        Map<Books.SalesCategory, CompletableFuture<List<BookWithRelations>>> queries = new EnumMap<>(Books.SalesCategory.class);
+        for (Books.SalesCategory salesCategory : Books.SalesCategory.values()) {
+            queries.put(salesCategory, CompletableFuture.supplyAsync(() -> bookRepository.findBySalesCategoryWithRelations(salesCategory)
+                    .stream()
+                    .sorted(Comparator.comparing(Books::getId))
+                    .map(BookWithRelations::fromEntity)
+                    .toList(), executor));
+        }
+        CompletableFuture.allOf(queries.values().toArray(CompletableFuture[]::new)).join();
+        Map<Books.SalesCategory, List<BookWithRelations>> sections = emptySections();
+        queries.forEach((salesCategory, query) -> sections.get(salesCategory).addAll(query.join()));
+        return sections;
+    }
+
+    private static Map<Books.SalesCategory, List<BookWithRelations>> emptySections() {
+        Map<Books.SalesCategory, List<BookWithRelations>> sections = new EnumMap<>(Books.SalesCategory.class);
+        for (Books.SalesCategory salesCategory : Books.SalesCategory.values()) {
+            sections.put(salesCategory, new ArrayList<>());
+        }
+        return sections;
+    }
+
+    // Adds the section's books to the shared map once and returns the section as ids.
+    private static List<Long> collect(List<BookWithRelations> section, int limit, Map<Long, BookWithRelations> books) {
+        List<Long> ids = new ArrayList<>(Math.min(limit, section.size()));
+        for (BookWithRelations book : section) {
+            if (ids.size() == limit) {
+                break;
+            }
+            books.putIfAbsent(book.getId(), book);
+            ids.add(book.getId());
+        }
+        return ids;
+    }
+
+    private static int soldOf(BookWithRelations book) {
+        return book.getNoOfBooksSold() != null ? book.getNoOfBooksSold() : 0;
+    }
+}
@@ -0,0 +1,385 @@
+package com.bookverse.bookCatalog.Service;
+
+import com.bookverse.bookCatalog.Exception.ImageUnavailableException;
+import com.bookverse.bookCatalog.Exception.ValidationException;
+import com.bookverse.bookCatalog.Models.BookImage;
+import com.bookverse.bookCatalog.Repository.BookImageRepository;
+import com.bookverse.bookCatalog.util.DiskLruCache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Resized JPEG variants of book images, kept in a disk LRU cache.
+ * The first request for an image reads its source once (from {@code books.images.source-dir},
+ * or over HTTP for absolute URLs and files missing locally) and renders every variant from it on
+ * a small bounded worker pool; concurrent requests for the same image wait on that one job.
+ * Cache keys include a hash of the source, so an edited image URL never serves stale bytes.
+ * Image URLs come from the database, so fetches are limited to the host of {@code books.images.source-base-url}
+ * and {@code books.images.allowed-hosts}, and redirects are not followed.
+ */
+@Service
+public class ImageVariantService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageVariantService.class);
+
+    public enum Variant {
+        THUMBNAIL(160), MEDIUM(480);
+
+        private final int width;
+
+        Variant(int width) {
+            this.width = width;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public static Variant fromParameter(String value) {
+            try {
+                return Variant.valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new ValidationException("Unsupported image variant: " + value + ". Use thumbnail or medium");
+            }
+        }
+    }
+
+    // An open channel on the variant file; the caller closes it once the body is sent
+    public record ServedImage(FileChannel channel, long length, String etag) implements Closeable {
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    private final BookImageRepository bookImageRepository;
+    private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+    private final HttpClient httpClient;
+
+    private ThreadPoolExecutor workers;
+    private DiskLruCache cache;
+    private Path sourceDirectory;
+    private Set<String> fetchHosts;
+
+    @Value("${books.images.source-dir:../../BookStore/public}")
+    private String sourceDir;
+
+    @Value("${books.images.source-base-url:}")
+    private String sourceBaseUrl;
+
+    // Comma-separated hosts absolute image URLs may point at, besides the host of source-base-url
+    @Value("${books.images.allowed-hosts:}")
+    private String allowedHosts;
+
+    @Value("${books.images.cache-dir:./data/image-cache}")
+    private String cacheDir;
+
+    @Value("${books.images.cache-max-mb:512}")
+    private long cacheMaxMb;
+
+    @Value("${books.images.workers:2}")
+    private int workerCount;
+
+    @Value("${books.images.queue-size:64}")
+    private int queueSize;
+
+    @Value("${books.images.generate-timeout-ms:15000}")
+    private long generateTimeoutMs;
+
+    @Value("${books.images.fetch-timeout-ms:5000}")
+    private long fetchTimeoutMs;
+
+    @Value("${books.images.max-source-mb:20}")
+    private long maxSourceMb;
+
+    @Value("${books.images.max-source-pixels:40000000}")
+    private long maxSourcePixels;
+
+    @Value("${books.images.jpeg-quality:0.82}")
+    private float jpegQuality;
+
+    public ImageVariantService(BookImageRepository bookImageRepository) {
+        this.bookImageRepository = bookImageRepository;
+        this.httpClient = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        sourceDirectory = Paths.get(sourceDir).toAbsolutePath().normalize();
+        fetchHosts = Arrays.stream(allowedHosts.split(","))
+                .map(host -> host.trim().toLowerCase())
+                .filter(host -> !host.isEmpty())
+                .collect(Collectors.toCollection(HashSet::new));
+        String baseHost = sourceBaseUrl.isBlank() ? null : URI.create(sourceBaseUrl).getHost();
+        if (baseHost != null) {
+            fetchHosts.add(baseHost.toLowerCase());
+        }
+        cache = new DiskLruCache(Paths.get(cacheDir), cacheMaxMb * 1024 * 1024);
+        workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), Thread.ofPlatform().name("image-worker-", 0).daemon().factory());
+        logger.info("Image variant cache: {} files, {} KB in {}", cache.count(), cache.sizeInBytes() / 1024, cacheDir);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    // Opens the cached variant file, rendering the image's variants first when needed.
+    public ServedImage getVariant(Long imageId, Variant variant) {
+        if (imageId == null || imageId <= 0) {
+            throw new ValidationException("Image ID must be a positive number");
+        }
+        BookImage image = bookImageRepository.findById(imageId)
+                .orElseThrow(() -> ImageUnavailableException.notFound(imageId));
+        String source = image.getImage();
+        String baseKey = imageId + "-" + sourceHash(source);
+
+        try {
+            FileChannel channel = cache.open(fileName(baseKey, variant));
+            if (channel == null) {
+                render(baseKey, source);
+                channel = cache.open(fileName(baseKey, variant));
+                if (channel == null) {
+                    // Evicted right away by a flood of other images; the cache is too small
+                    throw ImageUnavailableException.busy();
+                }
+            }
+            try {
+                return new ServedImage(channel, channel.size(), "\"" + baseKey + "-" + variant.name().toLowerCase() + "\"");
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+        } catch (IOException e) {
+            throw ImageUnavailableException.busy();
+        }
+    }
+
+    public int cachedVariantCount() {
+        return cache != null ? cache.count() : 0;
+    }
+
+    public long cachedVariantBytes() {
+        return cache != null ? cache.sizeInBytes() : 0;
+    }
+
+    private void render(String baseKey, String source) {
+        CompletableFuture<Void> job;
+        try {
+            job = inFlight.computeIfAbsent(baseKey,
+                    key -> CompletableFuture.runAsync(() -> renderVariants(baseKey, source), workers));
+        } catch (RejectedExecutionException e) {
+            throw ImageUnavailableException.busy();
+        }
+        CompletableFuture<Void> started = job;
+        job.whenComplete((ignored, error) -> inFlight.remove(baseKey, started));
+        try {
+            job.get(generateTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw ImageUnavailableException.busy();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof ImageUnavailableException unavailable ? unavailable
+                    : ImageUnavailableException.unreadableSource(source, cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw ImageUnavailableException.busy();
+        }
+    }
+
+    private void renderVariants(String baseKey, String source) {
+        try {
+            BufferedImage original = decode(readSource(source), source);
+            for (Variant variant : Variant.values()) {
+                cache.put(fileName(baseKey, variant), encodeJpeg(resize(original, variant.getWidth())));
+            }
+        } catch (IOException e) {
+            throw ImageUnavailableException.unreadableSource(source, e);
+        }
+    }
+
+    private byte[] readSource(String source) throws IOException {
+        if (isHttp(source)) {
+            return fetch(URI.create(source.replace(" ", "%20")));
+        }
+        String relative = source.startsWith("/") ? source.substring(1) : source;
+        Path local = sourceDirectory.resolve(relative).normalize();
+        if (!local.startsWith(sourceDirectory)) {
+            throw new IOException("Path escapes the image source directory");
+        }
+        if (Files.isRegularFile(local)) {
+            if (Files.size(local) > maxSourceBytes()) {
+                throw new IOException("Source is larger than " + maxSourceMb + " MB");
+            }
+            return Files.readAllBytes(local);
+        }
+        if (sourceBaseUrl.isBlank()) {
+            throw new IOException("Source not found under " + sourceDirectory);
+        }
+        String path = Arrays.stream(relative.split("/"))
+                .map(segment -> URLEncoder.encode(segment, StandardCharsets.UTF_8).replace("+", "%20"))
+                .collect(Collectors.joining("/"));
+        return fetch(URI.create(sourceBaseUrl.endsWith("/") ? sourceBaseUrl + path : sourceBaseUrl + "/" + path));
+    }
+
+    private byte[] fetch(URI uri) throws IOException {
+        if (!isHttp(uri.toString()) || uri.getHost() == null || !fetchHosts.contains(uri.getHost().toLowerCase())) {
+            throw new IOException("Image host is not allowed: " + uri.getHost());
+        }
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofMillis(fetchTimeoutMs)).GET().build();
+        try {
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                if (response.statusCode() != 200) {
+                    throw new IOException("HTTP " + response.statusCode() + " from " + uri);
+                }
+                byte[] bytes = body.readNBytes((int) maxSourceBytes() + 1);
+                if (bytes.length > maxSourceBytes()) {
+                    throw new IOException("Source is larger than " + maxSourceMb + " MB");
+                }
+                return bytes;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while fetching " + uri, e);
+        }
+    }
+
+    // Checks the dimensions from the header before decoding, so a huge image cannot exhaust the heap.
+    private BufferedImage decode(byte[] bytes, String source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("Unsupported image format: " + source);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > maxSourcePixels) {
+                    throw new IOException("Image has more than " + maxSourcePixels + " pixels");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Halves the image until it is within twice the target, then scales once; never upscales.
+    private static BufferedImage resize(BufferedImage source, int targetWidth) {
+        int width = Math.min(targetWidth, source.getWidth());
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+        BufferedImage current = source;
+        while (current.getWidth() / 2 >= width && current.getWidth() > width) {
+            current = draw(current, current.getWidth() / 2, Math.max(1, current.getHeight() / 2));
+        }
+        return draw(current, width, height);
+    }
+
+    // Draws onto an opaque RGB canvas; transparent areas become white, as JPEG has no alpha.
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(32 * 1024);
+        try (MemoryCacheImageOutputStream output = new MemoryCacheImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private long maxSourceBytes() {
+        return maxSourceMb * 1024 * 1024;
+    }
+
+    private static boolean isHttp(String source) {
+        String lower = source.toLowerCase();
+        return lower.startsWith("http://") || lower.startsWith("https://");
+    }
+
+    private static String fileName(String baseKey, Variant variant) {
+        return baseKey + "-" + variant.name().toLowerCase() + ".jpg";
+    }
+
+    private static String sourceHash(String source) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
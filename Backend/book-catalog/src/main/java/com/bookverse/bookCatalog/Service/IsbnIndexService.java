@@ -0,0 +1,159 @@
+package com.bookverse.bookCatalog.Service;
+
+import com.bookverse.bookCatalog.DTO.BookWithRelations;
+import com.bookverse.bookCatalog.DTO.IsbnBatchResponse;
+import com.bookverse.bookCatalog.Event.CatalogChangesReceivedEvent;
+import com.bookverse.bookCatalog.Event.CatalogReloadedEvent;
+import com.bookverse.bookCatalog.Exception.ValidationException;
+import com.bookverse.bookCatalog.util.IsbnNormalizer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory map from normalized ISBN-13 to book id, for every book in the cache (active or not).
+ * It is rebuilt with the book cache and then follows the outbox tail, so writes from every instance
+ * reach it within one tail interval. Duplicate checks and partner lookups are hash lookups; the unique
+ * index on BOOKS.isbn remains the final guard.
+ */
+@Service
+public class IsbnIndexService {
+
+    private final BookCacheService bookCacheService;
+
+    private final Map<String, Long> idsByIsbn = new ConcurrentHashMap<>();
+    // Reverse mapping, so a change can drop the ISBN a book held before
+    private final Map<Long, String> isbnsById = new HashMap<>();
+    private volatile boolean built = false;
+
+    @Value("${books.batch.max-ids:500}")
+    private int maxBatchIds;
+
+    public IsbnIndexService(BookCacheService bookCacheService) {
+        this.bookCacheService = bookCacheService;
+    }
+
+    // Id of the book holding this ISBN, in any accepted format.
+    public Optional<Long> findBookId(String isbn) {
+        String normalized = IsbnNormalizer.toIsbn13(isbn);
+        if (normalized == null) {
+            return Optional.empty();
+        }
+        ensureBuilt();
+        return Optional.ofNullable(idsByIsbn.get(normalized));
+    }
+
+    // Resolves many ISBNs to books in one call.
+    public IsbnBatchResponse resolve(List<String> isbns) {
+        if (isbns == null || isbns.isEmpty()) {
+            throw new ValidationException("At least one ISBN is required");
+        }
+        if (isbns.size() > maxBatchIds) {
+            throw new ValidationException("A batch may contain at most " + maxBatchIds + " ISBNs");
+        }
+        ensureBuilt();
+
+        Map<String, Long> requested = new LinkedHashMap<>();
+        List<String> notFound = new ArrayList<>();
+        List<String> invalid = new ArrayList<>();
+        for (String isbn : isbns) {
+            String normalized = IsbnNormalizer.toIsbn13(isbn);
+            if (normalized == null) {
+                invalid.add(isbn);
+                continue;
+            }
+            Long id = idsByIsbn.get(normalized);
+            if (id != null) {
+                requested.putIfAbsent(isbn, id);
+            } else {
+                notFound.add(isbn);
+            }
+        }
+
+        Map<Long, BookWithRelations> found = bookCacheService.getMany(requested.values());
+        Map<String, BookWithRelations> books = new LinkedHashMap<>();
+        requested.forEach((isbn, id) -> {
+            BookWithRelations book = found.get(id);
+            if (book != null) {
+                books.put(isbn, book);
+            } else {
+                notFound.add(isbn);
+            }
+        });
+        return new IsbnBatchResponse(books, notFound, invalid);
+    }
+
+    @EventListener
+    public synchronized void onCatalogReloaded(CatalogReloadedEvent event) {
+        rebuild();
+    }
+
+    // Ordered after the book cache, which has reloaded the changed books by now.
+    @EventListener
+    @Order(1)
+    public synchronized void onChangesReceived(CatalogChangesReceivedEvent event) {
+        // A resync reloads the cache, and its CatalogReloadedEvent rebuilds this index
+        if (!built || event.resync() || event.bookIds().isEmpty()) {
+            return;
+        }
+        Map<Long, BookWithRelations> current = bookCacheService.getMany(event.bookIds());
+        for (Long bookId : event.bookIds()) {
+            String previous = isbnsById.get(bookId);
+            String isbn = isbnOf(current.get(bookId));
+            if (previous != null && !previous.equals(isbn)) {
+                idsByIsbn.remove(previous, bookId);
+                isbnsById.remove(bookId);
+            }
+            if (isbn != null) {
+                idsByIsbn.put(isbn, bookId);
+                isbnsById.put(bookId, isbn);
+            }
+        }
+    }
+
+    public int size() {
+        return idsByIsbn.size();
+    }
+
+    private void ensureBuilt() {
+        if (built) {
+            return;
+        }
+        // Outside this monitor: the load publishes CatalogReloadedEvent, whose listeners take it
+        bookCacheService.ensureLoaded();
+        synchronized (this) {
+            if (!built) {
+                rebuild();
+            }
+        }
+    }
+
+    private void rebuild() {
+        Map<String, Long> fresh = new HashMap<>();
+        for (BookWithRelations book : bookCacheService.getAll()) {
+            String isbn = isbnOf(book);
+            if (isbn != null) {
+                fresh.putIfAbsent(isbn, book.getId());
+            }
+        }
+        idsByIsbn.keySet().retainAll(fresh.keySet());
+        idsByIsbn.putAll(fresh);
+        isbnsById.clear();
+        fresh.forEach((isbn, id) -> isbnsById.put(id, isbn));
+        built = true;
+    }
+
+    private static String isbnOf(BookWithRelations book) {
+        return book != null ? IsbnNormalizer.toIsbn13(book.getIsbn()) : null;
+    }
+}
@@ -0,0 +1,130 @@
+package com.bookverse.bookCatalog.Service;
+
+import com.bookverse.bookCatalog.DTO.CatalogChangeMessage;
+import com.bookverse.bookCatalog.Event.CatalogChangesPublishedEvent;
+import com.bookverse.bookCatalog.Models.OutboxEvent;
+import com.bookverse.bookCatalog.Models.OutboxRelayLock;
+import com.bookverse.bookCatalog.Repository.OutboxEventRepository;
+import com.bookverse.bookCatalog.Repository.OutboxRelayLockRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves committed outbox rows to their consumers. Each poll takes the oldest unpublished rows in
+ * batches, gives them consecutive feed positions, hands them to in-process listeners as one
+ * {@link CatalogChangesPublishedEvent} and commits. Every batch transaction first locks the
+ * {@link OutboxRelayLock} row and then reads the last position, so relays on several instances take
+ * turns and the feed has no gaps even though rows commit out of id order.
+ */
+@Service
+public class OutboxRelayService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelayService.class);
+
+    private static final int LOCK_ID = 1;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxRelayLockRepository outboxRelayLockRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile boolean lockRowPresent = false;
+
+    @Value("${books.outbox.relay-enabled:true}")
+    private boolean relayEnabled;
+
+    @Value("${books.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${books.outbox.retention-hours:72}")
+    private int retentionHours;
+
+    public OutboxRelayService(OutboxEventRepository outboxEventRepository,
+                              OutboxRelayLockRepository outboxRelayLockRepository,
+                              ApplicationEventPublisher eventPublisher, TransactionTemplate transactionTemplate) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxRelayLockRepository = outboxRelayLockRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // Publishes everything committed since the last poll, one transaction per batch.
+    @Scheduled(fixedDelayString = "${books.outbox.poll-interval-ms:500}")
+    public synchronized void relay() {
+        if (!relayEnabled) {
+            return;
+        }
+        try {
+            if (!lockRowPresent) {
+                createLockRow();
+            }
+            int published;
+            do {
+                published = publishBatch();
+            } while (published == batchSize);
+        } catch (Exception e) {
+            logger.warn("Outbox relay failed, will retry: {}", e.getMessage(), e);
+        }
+    }
+
+    // Drops published events older than the retention period; feed clients further behind must resync.
+    @Scheduled(cron = "${books.outbox.cleanup-cron:0 0 4 * * *}")
+    public void deleteExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        Integer deleted = transactionTemplate.execute(status -> outboxEventRepository.deletePublishedBefore(cutoff));
+        if (deleted != null && deleted > 0) {
+            logger.info("Deleted {} outbox events published before {}", deleted, cutoff);
+        }
+    }
+
+    private int publishBatch() {
+        Integer count = transactionTemplate.execute(status -> {
+            if (outboxRelayLockRepository.lockById(LOCK_ID).isEmpty()) {
+                lockRowPresent = false;
+                return 0;
+            }
+            // Read after the lock, so the batch another relay committed meanwhile is seen
+            List<OutboxEvent> events = outboxEventRepository.findUnpublished(Pageable.ofSize(batchSize));
+            if (events.isEmpty()) {
+                return 0;
+            }
+            long position = outboxEventRepository.findLastPosition();
+            LocalDateTime now = LocalDateTime.now();
+            List<CatalogChangeMessage> changes = new ArrayList<>(events.size());
+            for (OutboxEvent event : events) {
+                event.setPosition(++position);
+                event.setPublishedAt(now);
+                changes.add(CatalogChangeMessage.from(event));
+            }
+            eventPublisher.publishEvent(new CatalogChangesPublishedEvent(changes));
+            return events.size();
+        });
+        return count != null ? count : 0;
+    }
+
+    // First run against an empty table; losing the insert race to another relay is fine.
+    private void createLockRow() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!outboxRelayLockRepository.existsById(LOCK_ID)) {
+                    outboxRelayLockRepository.saveAndFlush(new OutboxRelayLock(LOCK_ID));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Outbox relay lock row was created concurrently");
+        }
+        lockRowPresent = true;
+    }
+}
@@ -0,0 +1,76 @@
+package com.bookverse.bookCatalog.Service;
+
+import com.bookverse.bookCatalog.Exception.BusinessLogicException;
+import com.bookverse.bookCatalog.Models.OutboxEvent.AggregateType;
+import com.bookverse.bookCatalog.Models.OutboxEvent.EventType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Write side of the transactional outbox. Each call appends rows to OUTBOX_EVENTS inside the caller's
+ * transaction, so an event exists if and only if its change committed. The cost on the write path is
+ * one plain INSERT; delivery is left to {@link OutboxRelayService}.
+ */
+@Service
+public class OutboxService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, payload, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public OutboxService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(AggregateType aggregateType, Long aggregateId, EventType eventType) {
+        record(aggregateType, aggregateId, eventType, null);
+    }
+
+    // Records one event; details are stored as a JSON payload
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(AggregateType aggregateType, Long aggregateId, EventType eventType, Map<String, ?> details) {
+        jdbcTemplate.update(INSERT_SQL, aggregateType.name(), aggregateId, eventType.name(), toJson(details),
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    // Records the same event for many aggregates in one JDBC batch
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(AggregateType aggregateType, Collection<Long> aggregateIds, EventType eventType) {
+        if (aggregateIds.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(aggregateIds.size());
+        for (Long id : aggregateIds) {
+            rows.add(new Object[]{aggregateType.name(), id, eventType.name(), null, now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    private String toJson(Map<String, ?> details) {
+        if (details == null || details.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(details);
+        } catch (JsonProcessingException e) {
+            throw new BusinessLogicException("Failed to serialize outbox payload: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.bookverse.bookCatalog.Service;
+
+import com.bookverse.bookCatalog.util.DropOldestRingBuffer;
+import com.bookverse.bookCatalog.util.StatementScope;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-request SQL guard. Each HTTP request runs in a {@link StatementScope}; when it ends, requests that
+ * prepared more statements than the budget, or the same statement shape repeatedly, are kept as findings.
+ * Statements slower than the threshold are aggregated by shape with their bind parameter count, never values.
+ * Served at /actuator/queryguard.
+ */
+@Service
+public class QueryGuardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryGuardService.class);
+
+    public record Finding(String request, LocalDateTime at, int statements, boolean overBudget,
+                          List<StatementScope.RepeatedStatement> repeated) {
+    }
+
+    public record SlowStatement(String shape, int parameters, long count, long maxMs, double meanMs,
+                                String lastRequest, LocalDateTime lastSeenAt) {
+    }
+
+    private static final class SlowStats {
+        private final int parameters;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private volatile String lastRequest;
+        private volatile LocalDateTime lastSeenAt;
+
+        private SlowStats(int parameters) {
+            this.parameters = parameters;
+        }
+    }
+
+    @Value("${books.query-guard.enabled:true}")
+    private boolean enabled;
+
+    @Value("${books.query-guard.statement-budget:25}")
+    private int statementBudget;
+
+    @Value("${books.query-guard.repeat-threshold:5}")
+    private int repeatThreshold;
+
+    @Value("${books.query-guard.slow-statement-ms:200}")
+    private long slowStatementMs;
+
+    @Value("${books.query-guard.max-slow-shapes:200}")
+    private int maxSlowShapes;
+
+    private final DropOldestRingBuffer<Finding> findings;
+    private final Map<String, LongAdder> flaggedByRequest = new ConcurrentHashMap<>();
+    private final Map<String, SlowStats> slowStatements = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder droppedFindings = new LongAdder();
+    private final LongAdder droppedSlowShapes = new LongAdder();
+
+    public QueryGuardService(@Value("${books.query-guard.max-findings:200}") int maxFindings) {
+        this.findings = new DropOldestRingBuffer<>(maxFindings);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Opens the scope for one request; the label is refined when the request completes.
+    public StatementScope openRequestScope(String label) {
+        return StatementScope.open(label, slowStatementMs * 1_000_000, (shape, parameters, elapsedNanos) ->
+                recordSlowStatement(shape, parameters, elapsedNanos, StatementScope.current()));
+    }
+
+    // Closes the scope and keeps a finding if the request went over budget or repeated a statement.
+    public void completeRequest(StatementScope scope, String request) {
+        scope.close();
+        requests.increment();
+        boolean overBudget = scope.statementCount() > statementBudget;
+        List<StatementScope.RepeatedStatement> repeated = scope.repeatedStatements(repeatThreshold);
+        if (!overBudget && repeated.isEmpty()) {
+            return;
+        }
+        if (findings.size() == findings.capacity()) {
+            droppedFindings.increment();
+        }
+        findings.offer(new Finding(request, LocalDateTime.now(), scope.statementCount(), overBudget, repeated));
+        flaggedByRequest.computeIfAbsent(request, key -> new LongAdder()).increment();
+        logger.debug("{} prepared {} statements; repeated: {}", request, scope.statementCount(), repeated);
+    }
+
+    private void recordSlowStatement(String shape, int parameters, long elapsedNanos, StatementScope scope) {
+        SlowStats stats = slowStatements.get(shape);
+        if (stats == null) {
+            if (slowStatements.size() >= maxSlowShapes) {
+                droppedSlowShapes.increment();
+                return;
+            }
+            stats = slowStatements.computeIfAbsent(shape, key -> new SlowStats(parameters));
+        }
+        stats.count.increment();
+        stats.totalNanos.add(elapsedNanos);
+        stats.maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+        stats.lastRequest = scope != null ? scope.label() : null;
+        stats.lastSeenAt = LocalDateTime.now();
+    }
+
+    public List<Finding> recentFindings() {
+        return findings.snapshot();
+    }
+
+    // Requests flagged at least once, most often flagged first.
+    public Map<String, Long> flaggedRequests() {
+        Map<String, Long> flagged = new LinkedHashMap<>();
+        flaggedByRequest.entrySet().stream()
+                .sorted(Map.Entry.<String, LongAdder>comparingByValue(Comparator.comparingLong(LongAdder::sum)).reversed())
+                .forEach(entry -> flagged.put(entry.getKey(), entry.getValue().sum()));
+        return flagged;
+    }
+
+    // Slow statement shapes, slowest first.
+    public List<SlowStatement> slowStatements() {
+        return slowStatements.entrySet().stream()
+                .map(entry -> {
+                    SlowStats stats = entry.getValue();
+                    long count = stats.count.sum();
+                    return new SlowStatement(entry.getKey(), stats.parameters, count, stats.maxNanos.get() / 1_000_000,
+                            count == 0 ? 0.0 : stats.totalNanos.sum() / 1_000_000.0 / count,
+                            stats.lastRequest, stats.lastSeenAt);
+                })
+                .sorted(Comparator.comparingLong(SlowStatement::maxMs).reversed())
+                .toList();
+    }
+
+    public long requestCount() {
+        return requests.sum();
+    }
+
+    public long droppedFindings() {
+        return droppedFindings.sum();
+    }
+
+    public long droppedSlowShapes() {
+        return droppedSlowShapes.sum();
+    }
+
+    public int statementBudget() {
+        return statementBudget;
+    }
+
+    public int repeatThreshold() {
+        return repeatThreshold;
+    }
+
+    public long slowStatementMs() {
+        return slowStatementMs;
+    }
+
+    public void reset() {
+        findings.drain();
+        droppedFindings.reset();
+        flaggedByRequest.clear();
+        slowStatements.clear();
+        requests.reset();
+        droppedSlowShapes.reset();
+    }
+}
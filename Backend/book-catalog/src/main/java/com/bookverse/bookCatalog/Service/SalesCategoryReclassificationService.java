@@ -0,0 +1,168 @@
+package com.bookverse.bookCatalog.Service;
+
+import com.bookverse.bookCatalog.DTO.SalesCategoryReclassificationResult;
+import com.bookverse.bookCatalog.DTO.SalesClassificationInput;
+import com.bookverse.bookCatalog.Models.Books.SalesCategory;
+import com.bookverse.bookCatalog.Models.OutboxEvent.AggregateType;
+import com.bookverse.bookCatalog.Models.OutboxEvent.EventType;
+import com.bookverse.bookCatalog.Repository.BookRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Recomputes {@code Books.salesCategory} for every active book on a schedule:
+ * BEST_SELLING for the top sellers by units sold over the recent window (from the sales rollups),
+ * otherwise NEWLY_LAUNCHED when published (or, without a publication date, created) recently,
+ * otherwise SPECIAL_OFFERS when the discount off MRP is large enough, otherwise none.
+ * The catalog is read in one streamed pass of the deciding columns; only books whose category
+ * changes are written, with one UPDATE per target category and chunk, each chunk in its own transaction.
+ * Until the rollups cover the whole velocity window (e.g. right after they are introduced), BEST_SELLING
+ * is only ever granted, never taken away, so hand-assigned best sellers survive the first passes.
+ * Home-page sections and /highly-sold then read precomputed membership through the
+ * (is_active, sales_category, price) index.
+ */
+@Service
+public class SalesCategoryReclassificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalesCategoryReclassificationService.class);
+
+    private final BookRepository bookRepository;
+    private final SalesRollupService salesRollupService;
+    private final BookCacheService bookCacheService;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    @Value("${books.reclassify.enabled:true}")
+    private boolean enabled;
+
+    @Value("${books.reclassify.velocity-days:7}")
+    private int velocityDays;
+
+    @Value("${books.reclassify.best-selling.top:50}")
+    private int bestSellingTop;
+
+    @Value("${books.reclassify.best-selling.min-units:1}")
+    private long bestSellingMinUnits;
+
+    @Value("${books.reclassify.new-days:60}")
+    private int newDays;
+
+    @Value("${books.reclassify.offer-min-discount:0.2}")
+    private double offerMinDiscount;
+
+    @Value("${books.reclassify.chunk-size:500}")
+    private int chunkSize;
+
+    public SalesCategoryReclassificationService(BookRepository bookRepository, SalesRollupService salesRollupService,
+                                                BookCacheService bookCacheService, OutboxService outboxService,
+                                                TransactionTemplate transactionTemplate) {
+        this.bookRepository = bookRepository;
+        this.salesRollupService = salesRollupService;
+        this.bookCacheService = bookCacheService;
+        this.outboxService = outboxService;
+        this.transactionTemplate = transactionTemplate;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    @Scheduled(cron = "${books.reclassify.cron:0 15 * * * *}")
+    public void scheduledReclassify() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            SalesCategoryReclassificationResult result = reclassify();
+            if (result.getChangedBooks() > 0) {
+                logger.info("Reclassified {} of {} books in {} ms: {}", result.getChangedBooks(), result.getScannedBooks(),
+                        result.getDurationMs(), result.getMembership());
+            }
+        } catch (Exception e) {
+            logger.warn("Sales category reclassification failed: {}", e.getMessage(), e);
+        }
+    }
+
+    // Runs one pass now; concurrent calls are serialized.
+    public synchronized SalesCategoryReclassificationResult reclassify() {
+        long start = System.currentTimeMillis();
+        Duration window = Duration.ofDays(velocityDays);
+        Set<Long> bestSellers = salesRollupService.getRecentBookUnits(window).entrySet().stream()
+                .filter(entry -> entry.getValue() >= bestSellingMinUnits)
+                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(bestSellingTop)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+        boolean keepBestSellers = !salesRollupService.coversRecent(window);
+        if (keepBestSellers) {
+            logger.info("Sales rollups do not cover the last {} days yet; current best sellers keep their category", velocityDays);
+        }
+        LocalDateTime newSince = LocalDateTime.now().minusDays(newDays);
+
+        // Target category (null = none) -> ids moving there
+        Map<SalesCategory, List<Long>> changes = new HashMap<>();
+        Map<SalesCategory, Integer> membership = new EnumMap<>(SalesCategory.class);
+        int[] scanned = {0};
+        readOnlyTransactionTemplate.executeWithoutResult(status -> {
+            try (Stream<SalesClassificationInput> books = bookRepository.streamSalesClassificationInputs()) {
+                books.forEach(book -> {
+                    scanned[0]++;
+                    SalesCategory target = classify(book, bestSellers, keepBestSellers, newSince);
+                    if (target != null) {
+                        membership.merge(target, 1, Integer::sum);
+                    }
+                    if (target != book.salesCategory()) {
+                        changes.computeIfAbsent(target, category -> new ArrayList<>()).add(book.id());
+                    }
+                });
+            }
+        });
+
+        int changed = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<SalesCategory, List<Long>> entry : changes.entrySet()) {
+            List<Long> ids = entry.getValue();
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + chunkSize));
+                transactionTemplate.executeWithoutResult(status -> {
+                    bookRepository.updateSalesCategory(chunk, entry.getKey(), now);
+                    bookCacheService.invalidateAll(chunk);
+                    outboxService.recordAll(AggregateType.BOOK, chunk, EventType.BOOK_UPDATED);
+                });
+                changed += chunk.size();
+            }
+        }
+        return new SalesCategoryReclassificationResult(scanned[0], changed, membership, System.currentTimeMillis() - start);
+    }
+
+    private SalesCategory classify(SalesClassificationInput book, Set<Long> bestSellers, boolean keepBestSellers,
+                                   LocalDateTime newSince) {
+        if (bestSellers.contains(book.id())
+                || (keepBestSellers && book.salesCategory() == SalesCategory.BEST_SELLING)) {
+            return SalesCategory.BEST_SELLING;
+        }
+        LocalDateTime launchedAt = book.publicationDate() != null ? book.publicationDate() : book.createdAt();
+        if (launchedAt != null && launchedAt.isAfter(newSince) && !launchedAt.isAfter(LocalDateTime.now())) {
+            return SalesCategory.NEWLY_LAUNCHED;
+        }
+        if (book.mrp() > 0 && book.price() < book.mrp() && (book.mrp() - book.price()) / book.mrp() >= offerMinDiscount) {
+            return SalesCategory.SPECIAL_OFFERS;
+        }
+        return null;
+    }
+}
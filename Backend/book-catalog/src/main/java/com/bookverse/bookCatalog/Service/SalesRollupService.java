@@ -0,0 +1,347 @@
+package com.bookverse.bookCatalog.Service;
+
+import com.bookverse.bookCatalog.DTO.BookWithRelations;
+import com.bookverse.bookCatalog.DTO.SalesSeries;
+import com.bookverse.bookCatalog.Exception.ValidationException;
+import com.bookverse.bookCatalog.Models.SalesRollup;
+import com.bookverse.bookCatalog.Models.SalesRollup.Resolution;
+import com.bookverse.bookCatalog.Models.SalesRollup.Scope;
+import com.bookverse.bookCatalog.Repository.SalesRollupRepository;
+import com.bookverse.bookCatalog.util.TimeBucketRing;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Sales rollups per book, per category and for the whole catalog at minute, hour and day
+ * resolution. Committed stock decrements are added to in-memory {@link TimeBucketRing}s; a
+ * scheduled flush adds what accumulated since the previous flush to SALES_ROLLUPS in one batched
+ * upsert, so a row is the sum of every instance's flushes.
+ *
+ * Range queries flush first and then read only the table, so they include the sales of every
+ * instance up to its last flush and this instance's up to now. The rings only hold sales until
+ * the next flush, so they need to span a little more than the flush interval.
+ * Buckets are aligned to {@code books.rollups.utc-offset}, so day buckets are local days.
+ */
+@Service
+public class SalesRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalesRollupService.class);
+
+    private static final String UPSERT =
+            "INSERT INTO sales_rollups (scope, scope_id, resolution, bucket_start, units, revenue) VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE units = units + VALUES(units), revenue = revenue + VALUES(revenue)";
+
+    private record SeriesKey(Scope scope, long id) {
+    }
+
+    // One ring per resolution, indexed by Resolution.ordinal()
+    private record Series(TimeBucketRing[] rings) {
+    }
+
+    // Buckets first..last inclusive
+    private record Range(long first, long last) {
+        int size() {
+            return (int) (last - first + 1);
+        }
+    }
+
+    private record PendingRow(Scope scope, long scopeId, Resolution resolution, long bucket, long units, double revenue) {
+    }
+
+    private final BookCacheService bookCacheService;
+    private final SalesRollupRepository salesRollupRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<SeriesKey, Series> series = new ConcurrentHashMap<>();
+    // Rows of a failed flush, retried by the next one
+    private final List<PendingRow> retry = new ArrayList<>();
+
+    @Value("${books.rollups.minute-buckets:10}")
+    private int minuteBuckets;
+
+    @Value("${books.rollups.hour-buckets:3}")
+    private int hourBuckets;
+
+    @Value("${books.rollups.day-buckets:2}")
+    private int dayBuckets;
+
+    @Value("${books.rollups.flush-interval-ms:60000}")
+    private long flushIntervalMs;
+
+    @Value("${books.rollups.utc-offset:Z}")
+    private String utcOffset;
+
+    @Value("${books.rollups.max-points:2000}")
+    private int maxPoints;
+
+    @Value("${books.rollups.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    @Value("${books.rollups.retention.minute-days:7}")
+    private int minuteRetentionDays;
+
+    @Value("${books.rollups.retention.hour-days:90}")
+    private int hourRetentionDays;
+
+    private ZoneOffset offset;
+    private long offsetMillis;
+
+    public SalesRollupService(BookCacheService bookCacheService, SalesRollupRepository salesRollupRepository,
+                              JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.bookCacheService = bookCacheService;
+        this.salesRollupRepository = salesRollupRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @PostConstruct
+    void init() {
+        offset = ZoneOffset.of(utcOffset);
+        offsetMillis = offset.getTotalSeconds() * 1000L;
+        if (minuteBuckets * Resolution.MINUTE.getMillis() <= 2 * flushIntervalMs) {
+            // A slot recycled before its bucket was flushed loses those sales
+            logger.warn("books.rollups.minute-buckets={} does not span twice the flush interval of {} ms",
+                    minuteBuckets, flushIntervalMs);
+        }
+    }
+
+    /**
+     * Records a sale of a book, attributed to the categories it is in now. Inside a transaction
+     * the sale is counted only once the transaction commits.
+     */
+    public void recordSale(Long bookId, int quantity, double revenue) {
+        if (bookId == null || quantity <= 0) {
+            return;
+        }
+        long at = System.currentTimeMillis();
+        Set<Long> categoryIds = bookCacheService.get(bookId)
+                .map(BookWithRelations::getCategories)
+                .map(categories -> categories.stream().map(BookWithRelations.CategoryInfo::getId).collect(Collectors.toSet()))
+                .orElse(Set.of());
+        Runnable apply = () -> {
+            add(new SeriesKey(Scope.ALL, 0), at, quantity, revenue);
+            add(new SeriesKey(Scope.BOOK, bookId), at, quantity, revenue);
+            categoryIds.forEach(categoryId -> add(new SeriesKey(Scope.CATEGORY, categoryId), at, quantity, revenue));
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    /**
+     * Returns one series over [from, to), read from the table after flushing this instance's sales.
+     * @param scope "all", "book" or "category"
+     * @param to null means now
+     */
+    public SalesSeries getSeries(String scope, Long scopeId, String resolution, LocalDateTime from, LocalDateTime to) {
+        Scope parsedScope = parse(Scope.class, scope, "scope", "all, book or category");
+        Resolution parsedResolution = parse(Resolution.class, resolution, "resolution", "minute, hour or day");
+        long id = 0;
+        if (parsedScope != Scope.ALL) {
+            if (scopeId == null || scopeId <= 0) {
+                throw new ValidationException("A positive id is required for scope " + scope);
+            }
+            id = scopeId;
+        }
+        Range range = range(parsedResolution, from, to);
+
+        flush();
+        List<SalesRollup> stored = salesRollupRepository.findSeries(parsedScope, parsedResolution, id,
+                bucketStart(range.first(), parsedResolution), bucketStart(range.last() + 1, parsedResolution));
+        return build(new SeriesKey(parsedScope, id), parsedResolution, range, stored);
+    }
+
+    // Returns the series of every category that sold anything in [from, to), by category id.
+    public List<SalesSeries> getCategorySeries(String resolution, LocalDateTime from, LocalDateTime to) {
+        Resolution parsedResolution = parse(Resolution.class, resolution, "resolution", "minute, hour or day");
+        Range range = range(parsedResolution, from, to);
+
+        flush();
+        Map<Long, List<SalesRollup>> stored = salesRollupRepository.findAllSeries(Scope.CATEGORY, parsedResolution,
+                        bucketStart(range.first(), parsedResolution), bucketStart(range.last() + 1, parsedResolution))
+                .stream().collect(Collectors.groupingBy(SalesRollup::getScopeId, TreeMap::new, Collectors.toList()));
+
+        return stored.entrySet().stream()
+                .map(entry -> build(new SeriesKey(Scope.CATEGORY, entry.getKey()), parsedResolution, range, entry.getValue()))
+                .filter(result -> result.getTotalUnits() != 0 || result.getTotalRevenue() != 0)
+                .sorted(Comparator.comparing(SalesSeries::getScopeId))
+                .toList();
+    }
+
+    /**
+     * Units sold per book over the last {@code window}, from hour buckets. Flushes first, so this
+     * instance's latest sales are included.
+     */
+    public Map<Long, Long> getRecentBookUnits(Duration window) {
+        flush();
+        LocalDateTime from = LocalDateTime.now(offset).minus(window);
+        Map<Long, Long> units = new HashMap<>();
+        for (Object[] row : salesRollupRepository.sumUnitsSince(Scope.BOOK, Resolution.HOUR, from)) {
+            units.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        return units;
+    }
+
+    /**
+     * Whether the stored hour buckets reach back over the whole {@code window}, so a book missing
+     * from {@link #getRecentBookUnits} did not sell rather than sold before the rollups began.
+     */
+    public boolean coversRecent(Duration window) {
+        LocalDateTime from = LocalDateTime.now(offset).minus(window);
+        return salesRollupRepository.findEarliestBucketStart(Resolution.HOUR)
+                .map(earliest -> !earliest.isAfter(from))
+                .orElse(false);
+    }
+
+    // Adds everything recorded since the previous flush to SALES_ROLLUPS, in one transaction.
+    @Scheduled(fixedDelayString = "${books.rollups.flush-interval-ms:60000}")
+    public synchronized void flush() {
+        List<PendingRow> rows = new ArrayList<>(retry);
+        retry.clear();
+        series.forEach((key, value) -> {
+            synchronized (value) {
+                for (Resolution resolution : Resolution.values()) {
+                    value.rings()[resolution.ordinal()].drainPending((bucket, units, revenue) ->
+                            rows.add(new PendingRow(key.scope(), key.id(), resolution, bucket, units, revenue)));
+                }
+            }
+        });
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int start = 0; start < rows.size(); start += flushBatchSize) {
+                    List<PendingRow> batch = rows.subList(start, Math.min(rows.size(), start + flushBatchSize));
+                    jdbcTemplate.batchUpdate(UPSERT, batch, batch.size(), (ps, row) -> {
+                        ps.setString(1, row.scope().name());
+                        ps.setLong(2, row.scopeId());
+                        ps.setString(3, row.resolution().name());
+                        ps.setTimestamp(4, Timestamp.valueOf(bucketStart(row.bucket(), row.resolution())));
+                        ps.setLong(5, row.units());
+                        ps.setDouble(6, row.revenue());
+                    });
+                }
+            });
+        } catch (Exception e) {
+            retry.addAll(rows);
+            logger.warn("Sales rollup flush of {} rows failed, will retry: {}", rows.size(), e.getMessage(), e);
+        }
+    }
+
+    // Drops minute and hour buckets past their retention; day buckets are kept.
+    @Scheduled(cron = "${books.rollups.cleanup-cron:0 30 4 * * *}")
+    public void deleteExpired() {
+        LocalDateTime now = LocalDateTime.now(offset);
+        Integer minutes = transactionTemplate.execute(status ->
+                salesRollupRepository.deleteBefore(Resolution.MINUTE, now.minusDays(minuteRetentionDays)));
+        Integer hours = transactionTemplate.execute(status ->
+                salesRollupRepository.deleteBefore(Resolution.HOUR, now.minusDays(hourRetentionDays)));
+        logger.info("Deleted {} minute and {} hour sales rollups past retention", minutes, hours);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void add(SeriesKey key, long at, long units, double revenue) {
+        Series value = series.computeIfAbsent(key, k -> new Series(new TimeBucketRing[]{
+                new TimeBucketRing(minuteBuckets), new TimeBucketRing(hourBuckets), new TimeBucketRing(dayBuckets)}));
+        synchronized (value) {
+            for (Resolution resolution : Resolution.values()) {
+                value.rings()[resolution.ordinal()].add(bucketOf(at, resolution), units, revenue);
+            }
+        }
+    }
+
+    private Range range(Resolution resolution, LocalDateTime from, LocalDateTime to) {
+        if (from == null) {
+            throw new ValidationException("Start of the range is required");
+        }
+        LocalDateTime end = to != null ? to : LocalDateTime.now(offset);
+        if (!from.isBefore(end)) {
+            throw new ValidationException("Start of the range must be before its end");
+        }
+        long first = Math.floorDiv(wallMillis(from), resolution.getMillis());
+        long last = Math.floorDiv(wallMillis(end) - 1, resolution.getMillis());
+        if (last - first + 1 > maxPoints) {
+            throw new ValidationException("Range spans more than " + maxPoints + " " + resolution.name().toLowerCase()
+                    + " buckets; use a coarser resolution");
+        }
+        return new Range(first, last);
+    }
+
+    private SalesSeries build(SeriesKey key, Resolution resolution, Range range, List<SalesRollup> stored) {
+        long[] units = new long[range.size()];
+        double[] revenue = new double[range.size()];
+        for (SalesRollup row : stored) {
+            int index = (int) (Math.floorDiv(wallMillis(row.getBucketStart()), resolution.getMillis()) - range.first());
+            units[index] += row.getUnits();
+            revenue[index] += row.getRevenue();
+        }
+
+        List<SalesSeries.Point> points = new ArrayList<>(range.size());
+        long totalUnits = 0;
+        double totalRevenue = 0;
+        for (int i = 0; i < range.size(); i++) {
+            points.add(new SalesSeries.Point(bucketStart(range.first() + i, resolution), units[i], revenue[i]));
+            totalUnits += units[i];
+            totalRevenue += revenue[i];
+        }
+        return new SalesSeries(key.scope(), key.id(), resolution, totalUnits, totalRevenue, points);
+    }
+
+    private long bucketOf(long epochMillis, Resolution resolution) {
+        return Math.floorDiv(epochMillis + offsetMillis, resolution.getMillis());
+    }
+
+    // Wall-clock times at the configured offset are stored as if they were UTC
+    private static long wallMillis(LocalDateTime wallTime) {
+        return wallTime.toEpochSecond(ZoneOffset.UTC) * 1000 + wallTime.getNano() / 1_000_000;
+    }
+
+    private static LocalDateTime bucketStart(long bucket, Resolution resolution) {
+        return LocalDateTime.ofEpochSecond(Math.multiplyExact(bucket, resolution.getMillis()) / 1000, 0, ZoneOffset.UTC);
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value, String name, String allowed) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new ValidationException("Unsupported " + name + ": " + value + ". Use " + allowed);
+        }
+    }
+}
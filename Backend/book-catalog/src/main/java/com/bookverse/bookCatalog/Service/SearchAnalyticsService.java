@@ -0,0 +1,173 @@
+package com.bookverse.bookCatalog.Service;
+
+import com.bookverse.bookCatalog.util.LatencyHistogram;
+import com.bookverse.bookCatalog.util.QueryNormalizer;
+import com.bookverse.bookCatalog.util.SpaceSavingTopK;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process search analytics in fixed memory.
+ * Queries are normalized, then counted in a space-saving top-K; only the queries currently in the
+ * top-K keep their own zero-result counter and latency histogram. Zero-result queries have a top-K
+ * of their own. Searches slower than {@code books.search-analytics.slow-threshold-ms} are kept
+ * individually, only the slowest {@code books.search-analytics.slow-queries} of the window.
+ * Everything is collected per window: {@link #rotate()} closes the current window,
+ * keeps it as the previous one and starts an empty one.
+ */
+@Service
+public class SearchAnalyticsService {
+
+    public record QueryReport(String query, long count, long maxOvercount, long zeroResults, LatencyHistogram.Summary latency) {
+    }
+
+    public record ZeroResultReport(String query, long count) {
+    }
+
+    public record SlowQueryReport(String query, int resultCount, double latencyMs, LocalDateTime at) {
+    }
+
+    public record WindowReport(LocalDateTime start, LocalDateTime end, long totalQueries, long zeroResultQueries,
+                               double zeroResultRate, LatencyHistogram.Summary latency,
+                               List<QueryReport> topQueries, List<ZeroResultReport> topZeroResultQueries,
+                               List<SlowQueryReport> slowestQueries) {
+    }
+
+    private record SlowQuery(String text, int resultCount, long nanos, LocalDateTime at) {
+    }
+
+    private static final class QueryStats {
+        private final String text;
+        private final LongAdder zeroResults = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private QueryStats(String text) {
+            this.text = text;
+        }
+    }
+
+    private final class Window {
+        private final LocalDateTime start = LocalDateTime.now();
+        private final SpaceSavingTopK queries = new SpaceSavingTopK(trackedQueries);
+        private final SpaceSavingTopK zeroResultQueries = new SpaceSavingTopK(trackedQueries);
+        private final Map<Long, QueryStats> stats = new HashMap<>();
+        private final Map<Long, String> zeroResultText = new HashMap<>();
+        private final LongAdder total = new LongAdder();
+        private final LongAdder zeroResults = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+        // Min-heap on latency: the head is the first to go when a slower search arrives
+        private final PriorityQueue<SlowQuery> slowest = new PriorityQueue<>(Comparator.comparingLong(SlowQuery::nanos));
+
+        private synchronized void record(long key, String text, int resultCount, long nanos) {
+            if (nanos >= slowThresholdMs * 1_000_000 && slowQueries > 0) {
+                if (slowest.size() < slowQueries) {
+                    slowest.add(new SlowQuery(text, resultCount, nanos, LocalDateTime.now()));
+                } else if (slowest.peek().nanos() < nanos) {
+                    slowest.poll();
+                    slowest.add(new SlowQuery(text, resultCount, nanos, LocalDateTime.now()));
+                }
+            }
+            Long evicted = queries.add(key, 1);
+            if (evicted != null) {
+                stats.remove(evicted);
+            }
+            QueryStats queryStats = stats.computeIfAbsent(key, k -> new QueryStats(text));
+            queryStats.latency.record(nanos);
+            if (resultCount == 0) {
+                queryStats.zeroResults.increment();
+                Long evictedZero = zeroResultQueries.add(key, 1);
+                if (evictedZero != null) {
+                    zeroResultText.remove(evictedZero);
+                }
+                zeroResultText.putIfAbsent(key, text);
+            }
+        }
+
+        private synchronized WindowReport report(LocalDateTime end) {
+            long totalQueries = total.sum();
+            long zero = zeroResults.sum();
+            List<QueryReport> top = queries.top(reportSize).stream()
+                    .map(entry -> {
+                        QueryStats queryStats = stats.get(entry.key());
+                        return new QueryReport(queryStats.text, Math.round(entry.count()), Math.round(entry.error()),
+                                queryStats.zeroResults.sum(), queryStats.latency.summary());
+                    })
+                    .toList();
+            List<ZeroResultReport> topZero = zeroResultQueries.top(reportSize).stream()
+                    .map(entry -> new ZeroResultReport(zeroResultText.get(entry.key()), Math.round(entry.count())))
+                    .toList();
+            List<SlowQueryReport> slow = slowest.stream()
+                    .sorted(Comparator.comparingLong(SlowQuery::nanos).reversed())
+                    .map(query -> new SlowQueryReport(query.text(), query.resultCount(), query.nanos() / 1_000_000.0, query.at()))
+                    .toList();
+            return new WindowReport(start, end, totalQueries, zero,
+                    totalQueries == 0 ? 0.0 : (double) zero / totalQueries, latency.summary(), top, topZero, slow);
+        }
+    }
+
+    @Value("${books.search-analytics.enabled:true}")
+    private boolean enabled;
+
+    @Value("${books.search-analytics.tracked-queries:500}")
+    private int trackedQueries;
+
+    @Value("${books.search-analytics.report-size:50}")
+    private int reportSize;
+
+    @Value("${books.search-analytics.slow-threshold-ms:500}")
+    private long slowThresholdMs;
+
+    @Value("${books.search-analytics.slow-queries:20}")
+    private int slowQueries;
+
+    private volatile Window current;
+    private volatile WindowReport previous;
+
+    @PostConstruct
+    void init() {
+        current = new Window();
+    }
+
+    // Records one executed search: the raw query, how many results it returned and how long it took.
+    public void record(String rawQuery, int resultCount, long nanos) {
+        if (!enabled) {
+            return;
+        }
+        String normalized = QueryNormalizer.normalize(rawQuery);
+        Window window = current;
+        window.total.increment();
+        if (resultCount == 0) {
+            window.zeroResults.increment();
+        }
+        window.latency.record(nanos);
+        window.record(QueryNormalizer.hash(normalized), normalized, resultCount, nanos);
+    }
+
+    // Closes the current window; its report stays readable as the previous window.
+    @Scheduled(fixedRateString = "${books.search-analytics.window-ms:3600000}",
+            initialDelayString = "${books.search-analytics.window-ms:3600000}")
+    public void rotate() {
+        Window closed = current;
+        current = new Window();
+        previous = closed.report(LocalDateTime.now());
+    }
+
+    public WindowReport currentWindow() {
+        return current.report(LocalDateTime.now());
+    }
+
+    public WindowReport previousWindow() {
+        return previous;
+    }
+}
@@ -0,0 +1,155 @@
+package com.bookverse.bookCatalog.Service;
+
+import com.bookverse.bookCatalog.DTO.BookWithRelations;
+import com.bookverse.bookCatalog.Exception.ValidationException;
+import com.bookverse.bookCatalog.util.CountMinSketch;
+import com.bookverse.bookCatalog.util.SpaceSavingTopK;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks what is hot right now from view, add-to-cart and sale signals.
+ * Every signal is added to a count-min sketch and to a space-saving top-K, both of fixed size.
+ * Decay is exponential with a configurable half-life, applied as forward decay: a signal is
+ * weighted by e^(lambda * time since the landmark) when recorded, so older signals count
+ * relatively less and nothing is rescanned on the hot path. Counters are rescaled to a new
+ * landmark before the weight can overflow.
+ */
+@Service
+public class TrendingService {
+
+    public enum Signal {
+        VIEW, CART, SALE
+    }
+
+    // Past this exponent the counters are rescaled to a fresh landmark
+    private static final double MAX_EXPONENT = 30.0;
+
+    private final BookCacheService bookCacheService;
+
+    @Value("${books.trending.half-life-minutes:360}")
+    private long halfLifeMinutes;
+
+    @Value("${books.trending.sketch-depth:4}")
+    private int sketchDepth;
+
+    @Value("${books.trending.sketch-width:2048}")
+    private int sketchWidth;
+
+    @Value("${books.trending.top-k:200}")
+    private int topKCapacity;
+
+    @Value("${books.trending.weight.view:1}")
+    private double viewWeight;
+
+    @Value("${books.trending.weight.cart:3}")
+    private double cartWeight;
+
+    @Value("${books.trending.weight.sale:5}")
+    private double saleWeight;
+
+    @Value("${books.pagination.max-size:100}")
+    private int maxLimit;
+
+    private CountMinSketch sketch;
+    private SpaceSavingTopK topK;
+    private double lambdaPerMilli;
+    private long landmark;
+
+    public TrendingService(BookCacheService bookCacheService) {
+        this.bookCacheService = bookCacheService;
+    }
+
+    @PostConstruct
+    void init() {
+        sketch = new CountMinSketch(sketchDepth, sketchWidth, 0x5eed);
+        topK = new SpaceSavingTopK(topKCapacity);
+        lambdaPerMilli = Math.log(2) / (halfLifeMinutes * 60_000.0);
+        landmark = System.currentTimeMillis();
+    }
+
+    /**
+     * Records a signal for a book; quantity multiplies the signal's weight (units sold, items carted).
+     * Inside a transaction the signal is counted only once the transaction commits.
+     */
+    public void record(Long bookId, Signal signal, int quantity) {
+        if (bookId == null || quantity <= 0) {
+            return;
+        }
+        double weight = weightOf(signal) * quantity;
+        long at = System.currentTimeMillis();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(bookId, weight, at);
+                }
+            });
+        } else {
+            add(bookId, weight, at);
+        }
+    }
+
+    // Hottest active books first, answered from memory.
+    public List<BookWithRelations> getTrending(int limit) {
+        if (limit <= 0) {
+            throw new ValidationException("Limit must be a positive number");
+        }
+        limit = Math.min(limit, maxLimit);
+
+        // Read more candidates than needed: some may be inactive or gone. Both structures only
+        // overcount, so the smaller of the two counts is the tighter score to rank by.
+        List<Long> ids;
+        synchronized (this) {
+            ids = topK.top(Math.min(topKCapacity, limit * 2)).stream()
+                    .sorted(Comparator.comparingDouble(
+                            (SpaceSavingTopK.Entry entry) -> Math.min(entry.count(), sketch.estimate(entry.key()))).reversed())
+                    .map(SpaceSavingTopK.Entry::key)
+                    .toList();
+        }
+        Map<Long, BookWithRelations> books = bookCacheService.getMany(ids);
+
+        List<BookWithRelations> result = new ArrayList<>(limit);
+        for (Long id : ids) {
+            BookWithRelations book = books.get(id);
+            if (book != null && Boolean.TRUE.equals(book.getIsActive())) {
+                result.add(book);
+                if (result.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private synchronized void add(Long bookId, double weight, long at) {
+        double exponent = lambdaPerMilli * (at - landmark);
+        if (exponent > MAX_EXPONENT) {
+            double factor = Math.exp(-exponent);
+            sketch.scale(factor);
+            topK.scale(factor);
+            landmark = at;
+            exponent = 0;
+        }
+        double scaled = weight * Math.exp(exponent);
+        sketch.add(bookId, scaled);
+        topK.add(bookId, scaled);
+    }
+
+    private double weightOf(Signal signal) {
+        return switch (signal) {
+            case VIEW -> viewWeight;
+            case CART -> cartWeight;
+            case SALE -> saleWeight;
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package com.bookverse.bookCatalog.config;
+
+import com.bookverse.bookCatalog.Exception.InsufficientStockException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.AfterThrowing;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public BookService and BookReviewsService method as {@code catalog.service}
+ * (tags: service, method, exception) and counts stock decrements and insufficient-stock rejections.
+ * Runs outside the transaction advice, so timings include the commit and counters only see committed sales.
+ * Calls a service makes to itself bypass the proxy and are not timed separately.
+ */
+@Aspect
+@Component
+// Not HIGHEST_PRECEDENCE: that would run ahead of the interceptor that args() binding relies on
+@Order(0)
+public class CatalogMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final Counter stockDecrements;
+    private final Counter stockUnitsDecremented;
+    private final Counter insufficientStockRejections;
+
+    public CatalogMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.stockDecrements = Counter.builder("catalog.stock.decrements")
+                .description("Successful stock decrements")
+                .register(meterRegistry);
+        this.stockUnitsDecremented = Counter.builder("catalog.stock.decremented.units")
+                .description("Units removed from stock by successful decrements")
+                .register(meterRegistry);
+        this.insufficientStockRejections = Counter.builder("catalog.stock.rejections")
+                .description("Stock decrements rejected because the book had too few units")
+                .tag("reason", "insufficient_stock")
+                .register(meterRegistry);
+    }
+
+    @Around("execution(public * com.bookverse.bookCatalog.Service.BookService.*(..))"
+            + " || execution(public * com.bookverse.bookCatalog.Service.BookReviewsService.*(..))")
+    public Object timeServiceMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("catalog.service")
+                    .description("Catalog service method latency")
+                    .tag("service", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    @AfterReturning("execution(public void com.bookverse.bookCatalog.Service.BookService.decreaseStock(Long, int)) && args(bookId, quantity)")
+    public void countStockDecrement(Long bookId, int quantity) {
+        stockDecrements.increment();
+        stockUnitsDecremented.increment(quantity);
+    }
+
+    @AfterThrowing(pointcut = "execution(public void com.bookverse.bookCatalog.Service.BookService.decreaseStock(Long, int))",
+            throwing = "rejection")
+    public void countInsufficientStock(InsufficientStockException rejection) {
+        insufficientStockRejections.increment();
+    }
+}
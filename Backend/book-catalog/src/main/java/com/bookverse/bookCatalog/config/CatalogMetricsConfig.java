@@ -0,0 +1,69 @@
+package com.bookverse.bookCatalog.config;
+
+import com.bookverse.bookCatalog.Service.BookCacheService;
+import com.bookverse.bookCatalog.Service.BookDeltaStreamService;
+import com.bookverse.bookCatalog.Service.BookSearchService;
+import com.bookverse.bookCatalog.Service.CatalogSortIndexService;
+import com.bookverse.bookCatalog.Service.CategoryBooksService;
+import com.bookverse.bookCatalog.Service.ImageVariantService;
+import com.bookverse.bookCatalog.Service.IsbnIndexService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * Catalog meters beyond what Spring Boot records on its own (HTTP server requests, JVM, Hikari and
+ * {@code spring.data.repository.invocations} for every repository method): gauges for the in-memory
+ * caches and indexes, and the timed JSON converter. Scraped at /actuator/prometheus.
+ */
+@Configuration
+public class CatalogMetricsConfig {
+
+    @Bean
+    public MeterBinder catalogCacheGauges(BookCacheService bookCacheService, CatalogSortIndexService catalogSortIndexService,
+                                          IsbnIndexService isbnIndexService, CategoryBooksService categoryBooksService,
+                                          BookSearchService bookSearchService, ImageVariantService imageVariantService,
+                                          BookDeltaStreamService bookDeltaStreamService) {
+        return registry -> {
+            gauge(registry, "catalog.cache.books", "Books held in the book cache", bookCacheService, BookCacheService::size);
+            gauge(registry, "catalog.index.sorted.books", "Active books in the sorted listing indexes",
+                    catalogSortIndexService, CatalogSortIndexService::size);
+            gauge(registry, "catalog.index.sorted.categories", "Categories with their own sorted listing indexes",
+                    catalogSortIndexService, CatalogSortIndexService::categoryIndexCount);
+            gauge(registry, "catalog.index.isbn", "ISBNs in the ISBN lookup index", isbnIndexService, IsbnIndexService::size);
+            gauge(registry, "catalog.cache.category.lists", "Cached per-category id lists",
+                    categoryBooksService, CategoryBooksService::cachedListCount);
+            gauge(registry, "catalog.cache.search.results", "Cached search result id lists",
+                    bookSearchService, BookSearchService::cachedResultCount);
+            gauge(registry, "catalog.cache.image.variants", "Resized images in the disk cache",
+                    imageVariantService, ImageVariantService::cachedVariantCount);
+            Gauge.builder("catalog.cache.image.size", imageVariantService, ImageVariantService::cachedVariantBytes)
+                    .description("Bytes used by the resized image disk cache")
+                    .baseUnit("bytes")
+                    .register(registry);
+            gauge(registry, "catalog.deltas.subscribers", "Open book delta streams",
+                    bookDeltaStreamService, BookDeltaStreamService::getSubscriberCount);
+        };
+    }
+
+    // Replaces Spring Boot's Jackson converter (it backs off when one is defined) with the same mapper, timed
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   MeterRegistry meterRegistry) {
+        return new TimedJacksonHttpMessageConverter(objectMapper, meterRegistry);
+    }
+
+    private static <T> void gauge(MeterRegistry registry, String name, String description, T source,
+                                  ToIntFunction<T> size) {
+        Gauge.builder(name, source, value -> size.applyAsInt(value))
+                .description(description)
+                .register(registry);
+    }
+}
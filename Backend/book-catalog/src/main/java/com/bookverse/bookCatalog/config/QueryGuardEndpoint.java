@@ -0,0 +1,57 @@
+package com.bookverse.bookCatalog.config;
+
+import com.bookverse.bookCatalog.Service.QueryGuardService;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator view of the query guard: GET /actuator/queryguard returns the thresholds, requests flagged for
+ * statement budget or repeated statements (N+1), the most recent findings and the slow statement shapes;
+ * DELETE clears them.
+ */
+@Component
+@Endpoint(id = "queryguard")
+public class QueryGuardEndpoint {
+
+    private final QueryGuardService queryGuardService;
+    private final SessionFactory sessionFactory;
+
+    public QueryGuardEndpoint(QueryGuardService queryGuardService, EntityManagerFactory entityManagerFactory) {
+        this.queryGuardService = queryGuardService;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    @ReadOperation
+    public Map<String, Object> report() {
+        Map<String, Object> thresholds = new LinkedHashMap<>();
+        thresholds.put("statementBudget", queryGuardService.statementBudget());
+        thresholds.put("repeatThreshold", queryGuardService.repeatThreshold());
+        thresholds.put("slowStatementMs", queryGuardService.slowStatementMs());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", queryGuardService.isEnabled());
+        result.put("thresholds", thresholds);
+        result.put("requests", queryGuardService.requestCount());
+        // Process-wide total from Hibernate statistics, including work outside HTTP requests
+        result.put("preparedStatements", sessionFactory.getStatistics().getPrepareStatementCount());
+        result.put("flaggedRequests", queryGuardService.flaggedRequests());
+        result.put("recentFindings", queryGuardService.recentFindings());
+        result.put("droppedFindings", queryGuardService.droppedFindings());
+        result.put("slowStatements", queryGuardService.slowStatements());
+        result.put("droppedSlowShapes", queryGuardService.droppedSlowShapes());
+        return result;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        queryGuardService.reset();
+    }
+}
@@ -0,0 +1,46 @@
+package com.bookverse.bookCatalog.config;
+
+import com.bookverse.bookCatalog.Service.QueryGuardService;
+import com.bookverse.bookCatalog.util.StatementScope;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Runs each HTTP request inside a {@link StatementScope} and hands it to {@link QueryGuardService} when done.
+ * Findings are keyed by the matched route pattern (GET /api/books/{id}), not the raw URI.
+ */
+@Component
+public class QueryGuardFilter extends OncePerRequestFilter {
+
+    private final QueryGuardService queryGuardService;
+
+    public QueryGuardFilter(QueryGuardService queryGuardService) {
+        this.queryGuardService = queryGuardService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !queryGuardService.isEnabled() || request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        StatementScope scope = queryGuardService.openRequestScope(request.getMethod() + " " + request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String route = pattern != null ? pattern.toString() : request.getRequestURI();
+            queryGuardService.completeRequest(scope, request.getMethod() + " " + route);
+        }
+    }
+}
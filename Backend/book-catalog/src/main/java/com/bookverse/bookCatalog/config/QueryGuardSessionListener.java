@@ -0,0 +1,31 @@
+package com.bookverse.bookCatalog.config;
+
+import com.bookverse.bookCatalog.util.StatementScope;
+import org.hibernate.SessionEventListener;
+
+/**
+ * Registered through {@code hibernate.session.events.auto}; times JDBC executions (not result set reads)
+ * for the statement last prepared in the thread's open {@link StatementScope}.
+ */
+public class QueryGuardSessionListener implements SessionEventListener {
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        StatementScope.onExecuteStart();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        StatementScope.onExecuteEnd();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        StatementScope.onExecuteStart();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        StatementScope.onExecuteEnd();
+    }
+}
@@ -0,0 +1,17 @@
+package com.bookverse.bookCatalog.config;
+
+import com.bookverse.bookCatalog.util.StatementScope;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Registered through {@code hibernate.session_factory.statement_inspector}; records every statement Hibernate
+ * prepares in the thread's open {@link StatementScope}, if any. The SQL is passed through unchanged.
+ */
+public class QueryGuardStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        StatementScope.onPrepare(sql);
+        return sql;
+    }
+}
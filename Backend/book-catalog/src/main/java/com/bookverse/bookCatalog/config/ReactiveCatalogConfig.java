@@ -0,0 +1,84 @@
+package com.bookverse.bookCatalog.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+/**
+ * R2DBC access for the reactive read endpoints, against the same schema as JPA.
+ * Unless books.reactive.r2dbc.url is set, the URL follows spring.datasource.url.
+ * The pool is deliberately not exposed as a ConnectionFactory bean: Boot would then back off
+ * from the JDBC DataSource, which the rest of the service still runs on.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "books.reactive", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ReactiveCatalogConfig implements DisposableBean {
+
+    @Value("${books.reactive.r2dbc.url:}")
+    private String url;
+
+    @Value("${spring.datasource.url:}")
+    private String jdbcUrl;
+
+    @Value("${books.reactive.r2dbc.username:${spring.datasource.username:}}")
+    private String username;
+
+    @Value("${books.reactive.r2dbc.password:${spring.datasource.password:}}")
+    private String password;
+
+    @Value("${books.reactive.r2dbc.pool.initial-size:2}")
+    private int initialSize;
+
+    @Value("${books.reactive.r2dbc.pool.max-size:20}")
+    private int maxSize;
+
+    @Value("${books.reactive.r2dbc.pool.max-acquire-time-ms:5000}")
+    private long maxAcquireTimeMs;
+
+    private ConnectionPool pool;
+
+    @Bean
+    public DatabaseClient reactiveCatalogClient() {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(r2dbcUrl(url, jdbcUrl)).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("catalog-r2dbc")
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .maxAcquireTime(Duration.ofMillis(maxAcquireTimeMs))
+                .validationQuery("SELECT 1")
+                .build());
+        return DatabaseClient.create(pool);
+    }
+
+    // JDBC query parameters (rewriteBatchedStatements and the like) mean nothing to the R2DBC driver and are dropped
+    static String r2dbcUrl(String configured, String jdbcUrl) {
+        if (!configured.isBlank()) {
+            return configured;
+        }
+        if (!jdbcUrl.startsWith("jdbc:mysql://")) {
+            throw new IllegalStateException(
+                    "books.reactive.r2dbc.url must be set when spring.datasource.url is not a MySQL JDBC URL");
+        }
+        int query = jdbcUrl.indexOf('?');
+        return "r2dbc:" + (query < 0 ? jdbcUrl : jdbcUrl.substring(0, query)).substring("jdbc:".length());
+    }
+
+    @Override
+    public void destroy() {
+        if (pool != null) {
+            pool.dispose();
+        }
+    }
+}
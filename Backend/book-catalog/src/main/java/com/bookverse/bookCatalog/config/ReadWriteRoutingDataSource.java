@@ -0,0 +1,140 @@
+package com.bookverse.bookCatalog.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Sends connections of {@code @Transactional(readOnly = true)} work to the replica and everything
+ * else to the primary. Only the outermost transaction decides, so reads joined to a write
+ * transaction, and reads done after its commit (cache reloads), stay on the primary.
+ * Work that fills an in-memory cache runs inside {@link #onPrimary}, since a lagging replica would
+ * otherwise be cached until the next invalidation. The replica is skipped while the lag monitor reports
+ * it behind or after a failed connect. Must be wrapped in a LazyConnectionDataSourceProxy: the read-only flag is bound after the
+ * transaction manager asks for its connection.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    // Nesting depth of onPrimary scopes on this thread
+    private static final ThreadLocal<Integer> PRIMARY_SCOPE = ThreadLocal.withInitial(() -> 0);
+
+    private final DataSource primary;
+
+    // Stays false until the first lag check succeeds
+    private volatile boolean replicaAvailable = false;
+    private volatile long replicaLagMs = -1;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        this.primary = primary;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentRoute();
+    }
+
+    public Route currentRoute() {
+        return replicaAvailable && !isPrimaryForced() && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? Route.REPLICA : Route.PRIMARY;
+    }
+
+    /**
+     * Runs read-only work on the primary, for loads whose result is cached. The scope must enclose the
+     * transaction: a read-only transaction that already holds a replica connection keeps it.
+     * Harmless without a replica.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        PRIMARY_SCOPE.set(PRIMARY_SCOPE.get() + 1);
+        try {
+            return work.get();
+        } finally {
+            int depth = PRIMARY_SCOPE.get() - 1;
+            if (depth == 0) {
+                PRIMARY_SCOPE.remove();
+            } else {
+                PRIMARY_SCOPE.set(depth);
+            }
+        }
+    }
+
+    public static void onPrimary(Runnable work) {
+        onPrimary(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public static boolean isPrimaryForced() {
+        return PRIMARY_SCOPE.get() > 0;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (currentRoute() == Route.PRIMARY) {
+            return primary.getConnection();
+        }
+        try {
+            return super.getConnection();
+        } catch (SQLException e) {
+            markReplicaUnavailable(e);
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (currentRoute() == Route.PRIMARY) {
+            return primary.getConnection(username, password);
+        }
+        try {
+            return super.getConnection(username, password);
+        } catch (SQLException e) {
+            markReplicaUnavailable(e);
+            return primary.getConnection(username, password);
+        }
+    }
+
+    // Called by the lag monitor after every check.
+    public void updateReplicaLag(long lagMs, long maxLagMs) {
+        boolean available = lagMs <= maxLagMs;
+        if (available != replicaAvailable) {
+            logger.info("Replica {} (lag {} ms, limit {} ms)", available ? "back in rotation" : "behind, reads go to the primary",
+                    lagMs, maxLagMs);
+        }
+        replicaLagMs = lagMs;
+        replicaAvailable = available;
+    }
+
+    public void markReplicaUnavailable(Exception cause) {
+        if (replicaAvailable) {
+            logger.warn("Replica unavailable, reads go to the primary: {}", cause.getMessage());
+        }
+        replicaLagMs = -1;
+        replicaAvailable = false;
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    // Last measured lag, or -1 when the replica could not be read
+    public long getReplicaLagMs() {
+        return replicaLagMs;
+    }
+}
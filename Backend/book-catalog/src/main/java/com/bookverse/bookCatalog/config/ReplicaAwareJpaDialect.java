@@ -0,0 +1,47 @@
+package com.bookverse.bookCatalog.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+
+import java.sql.SQLException;
+
+/**
+ * Stops read-only transactions from filling the second-level and query caches while a replica is
+ * configured: they may run on the replica, and a lagging row put in those caches would be served
+ * long after the primary moved on. They still read the caches. Work inside
+ * {@link ReadWriteRoutingDataSource#onPrimary} caches as usual.
+ */
+public class ReplicaAwareJpaDialect extends HibernateJpaDialect {
+
+    // Session cache mode to restore when the transaction ends; the session may outlive it (open-in-view)
+    private record CacheModeData(Session session, CacheMode previous, Object delegate) {
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException, TransactionException {
+        Object data = super.beginTransaction(entityManager, definition);
+        if (!definition.isReadOnly() || ReadWriteRoutingDataSource.isPrimaryForced()) {
+            return data;
+        }
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode previous = session.getCacheMode();
+        session.setCacheMode(CacheMode.GET);
+        return new CacheModeData(session, previous, data);
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof CacheModeData data) {
+            data.session().setCacheMode(data.previous());
+            super.cleanupTransaction(data.delegate());
+        } else {
+            super.cleanupTransaction(transactionData);
+        }
+    }
+}
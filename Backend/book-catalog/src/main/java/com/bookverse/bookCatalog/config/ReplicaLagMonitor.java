@@ -0,0 +1,53 @@
+package com.bookverse.bookCatalog.config;
+
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Measures replica lag with a heartbeat row: each check reads the replicated beat from the
+ * replica, then writes the current time on the primary. The measured lag therefore includes up
+ * to one check interval, so keep {@code books.datasource.replica.max-lag-ms} well above it.
+ */
+public class ReplicaLagMonitor {
+
+    private static final int HEARTBEAT_ID = 1;
+
+    private final ReadWriteRoutingDataSource routingDataSource;
+    private final JdbcTemplate primaryJdbcTemplate;
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final long maxLagMs;
+
+    public ReplicaLagMonitor(ReadWriteRoutingDataSource routingDataSource, DataSource primary, DataSource replica,
+                             long maxLagMs) {
+        this.routingDataSource = routingDataSource;
+        this.primaryJdbcTemplate = new JdbcTemplate(primary);
+        this.replicaJdbcTemplate = new JdbcTemplate(replica);
+        this.maxLagMs = maxLagMs;
+    }
+
+    @Scheduled(fixedDelayString = "${books.datasource.replica.check-interval-ms:1000}")
+    public void check() {
+        long now = System.currentTimeMillis();
+        try {
+            Long replicated = replicaJdbcTemplate.queryForObject(
+                    "SELECT beat_at FROM replication_heartbeat WHERE id = ?", Long.class, HEARTBEAT_ID);
+            routingDataSource.updateReplicaLag(Math.max(0, now - replicated), maxLagMs);
+        } catch (EmptyResultDataAccessException e) {
+            // Nothing replicated yet; counts as behind
+            routingDataSource.updateReplicaLag(Long.MAX_VALUE, maxLagMs);
+        } catch (Exception e) {
+            routingDataSource.markReplicaUnavailable(e);
+        }
+        beat(now);
+    }
+
+    private void beat(long now) {
+        int updated = primaryJdbcTemplate.update("UPDATE replication_heartbeat SET beat_at = ? WHERE id = ?", now, HEARTBEAT_ID);
+        if (updated == 0) {
+            primaryJdbcTemplate.update("INSERT INTO replication_heartbeat (id, beat_at) VALUES (?, ?)", HEARTBEAT_ID, now);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.bookverse.bookCatalog.config;
+
+import com.bookverse.bookCatalog.Service.SearchAnalyticsService;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator view of the search analytics: GET /actuator/searchanalytics returns the current and the
+ * previous window (top queries, zero-result queries and the slowest searches), DELETE closes the
+ * current window early.
+ */
+@Component
+@Endpoint(id = "searchanalytics")
+public class SearchAnalyticsEndpoint {
+
+    private final SearchAnalyticsService searchAnalyticsService;
+
+    public SearchAnalyticsEndpoint(SearchAnalyticsService searchAnalyticsService) {
+        this.searchAnalyticsService = searchAnalyticsService;
+    }
+
+    @ReadOperation
+    public Map<String, Object> windows() {
+        Map<String, Object> windows = new LinkedHashMap<>();
+        windows.put("current", searchAnalyticsService.currentWindow());
+        windows.put("previous", searchAnalyticsService.previousWindow());
+        return windows;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        searchAnalyticsService.rotate();
+    }
+}
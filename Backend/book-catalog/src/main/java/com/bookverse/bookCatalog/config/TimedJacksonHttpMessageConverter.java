@@ -0,0 +1,58 @@
+package com.bookverse.bookCatalog.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Jackson converter that records how long each JSON response body takes to write as {@code catalog.serialization},
+ * tagged with the declared body type (BookWithRelations, Page&lt;BookSummary&gt;, ...). The time includes
+ * flushing to the response buffer, so very large bodies also show client back-pressure.
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final MeterRegistry meterRegistry;
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        super(objectMapper);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        long start = System.nanoTime();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            Timer.builder("catalog.serialization")
+                    .description("JSON response serialization time")
+                    .tag("type", typeName(type != null ? type : object.getClass()))
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Simple names keep the tag readable and its cardinality bounded by the number of response types
+    static String typeName(Type type) {
+        if (type instanceof Class<?> clazz) {
+            return clazz.getSimpleName();
+        }
+        if (type instanceof ParameterizedType parameterized) {
+            return typeName(parameterized.getRawType()) + Arrays.stream(parameterized.getActualTypeArguments())
+                    .map(TimedJacksonHttpMessageConverter::typeName)
+                    .collect(Collectors.joining(",", "<", ">"));
+        }
+        return "other";
+    }
+}
@@ -0,0 +1,278 @@
+package com.bookverse.bookCatalog.util;
+
+import com.bookverse.bookCatalog.DTO.BookWithRelations;
+import com.bookverse.bookCatalog.Models.Books;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary format of the catalog snapshot file.
+ *
+ * <pre>
+ * int    magic ("BKCS")
+ * short  format version
+ * long   takenAt (epoch millis, UTC)
+ * int    book count
+ * ...    book records
+ * long   CRC32 of every byte above
+ * </pre>
+ *
+ * Strings are written as a length-prefixed UTF-8 run (-1 for null); nullable numbers and
+ * timestamps carry a presence byte. Any change to the record layout must bump {@link #FORMAT_VERSION}.
+ */
+public final class CatalogSnapshotCodec {
+
+    public static final int MAGIC = 0x424B4353;
+    public static final short FORMAT_VERSION = 1;
+
+    private static final int TRAILER_BYTES = Long.BYTES;
+
+    private CatalogSnapshotCodec() {
+    }
+
+    public record Decoded(LocalDateTime takenAt, List<BookWithRelations> books) {
+    }
+
+    // Writes the whole snapshot, followed by a checksum of the written bytes.
+    public static void encode(OutputStream target, LocalDateTime takenAt, Collection<BookWithRelations> books) throws IOException {
+        CRC32 crc = new CRC32();
+        CheckedOutputStream checked = new CheckedOutputStream(target, crc);
+        DataOutputStream out = new DataOutputStream(checked);
+
+        out.writeInt(MAGIC);
+        out.writeShort(FORMAT_VERSION);
+        out.writeLong(takenAt.toInstant(ZoneOffset.UTC).toEpochMilli());
+        out.writeInt(books.size());
+        for (BookWithRelations book : books) {
+            writeBook(out, book);
+        }
+        out.flush();
+
+        // The checksum itself is not part of the checked range
+        new DataOutputStream(target).writeLong(crc.getValue());
+        target.flush();
+    }
+
+    /**
+     * Decodes a snapshot from a (typically memory-mapped) buffer.
+     * Throws {@link IllegalStateException} if the header, version or checksum does not match.
+     */
+    public static Decoded decode(ByteBuffer buffer) {
+        if (buffer.remaining() < Integer.BYTES + Short.BYTES + Long.BYTES + Integer.BYTES + TRAILER_BYTES) {
+            throw new IllegalStateException("Snapshot is truncated");
+        }
+        int payloadLength = buffer.remaining() - TRAILER_BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(buffer.position(), payloadLength));
+        long expectedCrc = buffer.getLong(buffer.position() + payloadLength);
+        if (crc.getValue() != expectedCrc) {
+            throw new IllegalStateException("Snapshot checksum mismatch");
+        }
+
+        if (buffer.getInt() != MAGIC) {
+            throw new IllegalStateException("Not a catalog snapshot");
+        }
+        short version = buffer.getShort();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalStateException("Unsupported snapshot version " + version);
+        }
+        LocalDateTime takenAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(buffer.getLong()), ZoneOffset.UTC);
+        int count = buffer.getInt();
+        List<BookWithRelations> books = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            books.add(readBook(buffer));
+        }
+        return new Decoded(takenAt, books);
+    }
+
+    private static void writeBook(DataOutputStream out, BookWithRelations book) throws IOException {
+        out.writeLong(book.getId());
+        writeString(out, book.getIsbn());
+        writeString(out, book.getTitle());
+        writeString(out, book.getAuthor());
+        writeString(out, book.getDescription());
+        writeString(out, book.getLanguage());
+        writeString(out, book.getFormat());
+        writeString(out, book.getEdition());
+        writeString(out, book.getPublisher());
+        writeDateTime(out, book.getPublicationDate());
+        writeInteger(out, book.getPages());
+        writeDouble(out, book.getWeight());
+        writeString(out, book.getDimensions());
+        writeDouble(out, book.getPrice());
+        writeDouble(out, book.getMrp());
+        writeInteger(out, book.getStockDisplay());
+        writeInteger(out, book.getStockActual());
+        writeInteger(out, book.getNoOfBooksSold());
+        writeDouble(out, book.getTotalRevenue());
+        writeDouble(out, book.getAverageRating());
+        writeInteger(out, book.getReviewCount());
+        writeString(out, book.getSalesCategory() != null ? book.getSalesCategory().name() : null);
+        writeBoolean(out, book.getIsActive());
+        writeBoolean(out, book.getIsFeatured());
+        writeDateTime(out, book.getLastSoldAt());
+        writeDateTime(out, book.getCreatedAt());
+        writeDateTime(out, book.getUpdatedAt());
+
+        List<BookWithRelations.CategoryInfo> categories = book.getCategories() != null ? book.getCategories() : List.of();
+        out.writeInt(categories.size());
+        for (BookWithRelations.CategoryInfo category : categories) {
+            out.writeLong(category.getId());
+            writeString(out, category.getName());
+            writeString(out, category.getSlug());
+            writeString(out, category.getDescription());
+            writeString(out, category.getImage());
+            writeBoolean(out, category.getIsActive());
+            writeInteger(out, category.getPriority());
+        }
+
+        List<BookWithRelations.BookImageInfo> images = book.getImages() != null ? book.getImages() : List.of();
+        out.writeInt(images.size());
+        for (BookWithRelations.BookImageInfo image : images) {
+            out.writeLong(image.getId());
+            writeString(out, image.getImageUrl());
+            writeString(out, image.getAltText());
+            writeBoolean(out, image.getIsPrimary());
+        }
+    }
+
+    private static BookWithRelations readBook(ByteBuffer in) {
+        BookWithRelations book = new BookWithRelations();
+        book.setId(in.getLong());
+        book.setIsbn(readString(in));
+        book.setTitle(readString(in));
+        book.setAuthor(readString(in));
+        book.setDescription(readString(in));
+        book.setLanguage(readString(in));
+        book.setFormat(readString(in));
+        book.setEdition(readString(in));
+        book.setPublisher(readString(in));
+        book.setPublicationDate(readDateTime(in));
+        book.setPages(readInteger(in));
+        book.setWeight(readDouble(in));
+        book.setDimensions(readString(in));
+        book.setPrice(readDouble(in));
+        book.setMrp(readDouble(in));
+        book.setStockDisplay(readInteger(in));
+        book.setStockActual(readInteger(in));
+        book.setNoOfBooksSold(readInteger(in));
+        book.setTotalRevenue(readDouble(in));
+        book.setAverageRating(readDouble(in));
+        book.setReviewCount(readInteger(in));
+        String salesCategory = readString(in);
+        book.setSalesCategory(salesCategory != null ? Books.SalesCategory.valueOf(salesCategory) : null);
+        book.setIsActive(readBoolean(in));
+        book.setIsFeatured(readBoolean(in));
+        book.setLastSoldAt(readDateTime(in));
+        book.setCreatedAt(readDateTime(in));
+        book.setUpdatedAt(readDateTime(in));
+
+        int categoryCount = in.getInt();
+        List<BookWithRelations.CategoryInfo> categories = new ArrayList<>(categoryCount);
+        for (int i = 0; i < categoryCount; i++) {
+            BookWithRelations.CategoryInfo category = new BookWithRelations.CategoryInfo();
+            category.setId(in.getLong());
+            category.setName(readString(in));
+            category.setSlug(readString(in));
+            category.setDescription(readString(in));
+            category.setImage(readString(in));
+            category.setIsActive(readBoolean(in));
+            category.setPriority(readInteger(in));
+            categories.add(category);
+        }
+        book.setCategories(categories);
+
+        int imageCount = in.getInt();
+        List<BookWithRelations.BookImageInfo> images = new ArrayList<>(imageCount);
+        for (int i = 0; i < imageCount; i++) {
+            BookWithRelations.BookImageInfo image = new BookWithRelations.BookImageInfo();
+            image.setId(in.getLong());
+            image.setImageUrl(readString(in));
+            image.setAltText(readString(in));
+            image.setIsPrimary(readBoolean(in));
+            images.add(image);
+        }
+        book.setImages(images);
+        return book;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeInteger(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInteger(ByteBuffer in) {
+        return in.get() != 0 ? in.getInt() : null;
+    }
+
+    private static void writeDouble(DataOutputStream out, Double value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeDouble(value);
+        }
+    }
+
+    private static Double readDouble(ByteBuffer in) {
+        return in.get() != 0 ? in.getDouble() : null;
+    }
+
+    private static void writeBoolean(DataOutputStream out, Boolean value) throws IOException {
+        out.writeByte(value == null ? -1 : (value ? 1 : 0));
+    }
+
+    private static Boolean readBoolean(ByteBuffer in) {
+        byte value = in.get();
+        return value < 0 ? null : value == 1;
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readDateTime(ByteBuffer in) {
+        if (in.get() == 0) {
+            return null;
+        }
+        long epochSecond = in.getLong();
+        int nano = in.getInt();
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+}
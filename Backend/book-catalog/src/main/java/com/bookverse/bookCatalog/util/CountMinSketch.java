@@ -0,0 +1,84 @@
+package com.bookverse.bookCatalog.util;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Count-min sketch over long keys with real-valued weights.
+ * Memory is {@code depth * width} doubles whatever the number of distinct keys; an estimate never
+ * undercounts and overcounts by at most {@code e / width} of the total weight with probability
+ * {@code 1 - e^-depth}. Counters can be scaled as a whole, which is how decay is applied.
+ */
+public class CountMinSketch {
+
+    // 2^61 - 1: Mersenne prime for the pairwise independent (a * x + b) mod p hash family
+    private static final long PRIME = (1L << 61) - 1;
+
+    private final int width;
+    private final double[][] counters;
+    private final long[] hashA;
+    private final long[] hashB;
+
+    public CountMinSketch(int depth, int width, long seed) {
+        if (depth <= 0 || width <= 0) {
+            throw new IllegalArgumentException("Sketch depth and width must be positive");
+        }
+        this.width = width;
+        this.counters = new double[depth][width];
+        this.hashA = new long[depth];
+        this.hashB = new long[depth];
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int row = 0; row < depth; row++) {
+            hashA[row] = 1 + random.nextLong(PRIME - 1);
+            hashB[row] = random.nextLong(PRIME);
+        }
+    }
+
+    // Adds the weight to the key and returns the key's new estimate.
+    public synchronized double add(long key, double weight) {
+        double estimate = Double.MAX_VALUE;
+        for (int row = 0; row < counters.length; row++) {
+            int column = column(row, key);
+            counters[row][column] += weight;
+            estimate = Math.min(estimate, counters[row][column]);
+        }
+        return estimate;
+    }
+
+    public synchronized double estimate(long key) {
+        double estimate = Double.MAX_VALUE;
+        for (int row = 0; row < counters.length; row++) {
+            estimate = Math.min(estimate, counters[row][column(row, key)]);
+        }
+        return estimate;
+    }
+
+    // Multiplies every counter by the factor; used to age counts or to renormalize them.
+    public synchronized void scale(double factor) {
+        for (double[] row : counters) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] *= factor;
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        for (double[] row : counters) {
+            Arrays.fill(row, 0.0);
+        }
+    }
+
+    private int column(int row, long key) {
+        long hash = Math.floorMod(mulMod(hashA[row], Math.floorMod(key, PRIME)) + hashB[row], PRIME);
+        return (int) (hash % width);
+    }
+
+    // (a * b) mod 2^61 - 1 without overflow
+    private static long mulMod(long a, long b) {
+        long high = Math.multiplyHigh(a, b);
+        long low = a * b;
+        long result = (low & PRIME) + (low >>> 61) + (high << 3);
+        result = (result & PRIME) + (result >>> 61);
+        return result >= PRIME ? result - PRIME : result;
+    }
+}
@@ -0,0 +1,168 @@
+package com.bookverse.bookCatalog.util;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Size-bounded directory of files, one per key, evicted least recently used first.
+ * Recency is tracked in memory; on startup the files already present are re-registered in
+ * last-modified order. Writes go to a temp file that is renamed into place, so readers only
+ * ever see complete files. Readers that stream a file should {@link #open} it: the channel stays
+ * readable after the file is evicted or replaced.
+ */
+public class DiskLruCache {
+
+    private static final Pattern KEY = Pattern.compile("[A-Za-z0-9._-]{1,200}");
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final long maxBytes;
+
+    // Access-ordered: iteration starts at the least recently used key
+    private final LinkedHashMap<String, Long> sizes = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    public DiskLruCache(Path directory, long maxBytes) throws IOException {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(directory);
+        load();
+    }
+
+    // Returns the file for the key, or null when it is not cached.
+    public Path get(String key) {
+        Path file = directory.resolve(checkKey(key));
+        synchronized (this) {
+            if (sizes.get(key) == null) {
+                return null;
+            }
+            if (Files.isRegularFile(file)) {
+                return file;
+            }
+            // Removed behind our back
+            totalBytes -= sizes.remove(key);
+            return null;
+        }
+    }
+
+    /**
+     * Opens the file for the key for reading, or returns null when it is not cached. The lookup and
+     * the open happen under the cache lock, and evictions leave the map under that lock before their
+     * files are deleted, so an evicted file is never opened half-way through its removal.
+     */
+    public FileChannel open(String key) throws IOException {
+        Path file = directory.resolve(checkKey(key));
+        synchronized (this) {
+            if (sizes.get(key) == null) {
+                return null;
+            }
+            try {
+                return FileChannel.open(file, StandardOpenOption.READ);
+            } catch (NoSuchFileException e) {
+                // Removed behind our back
+                totalBytes -= sizes.remove(key);
+                return null;
+            }
+        }
+    }
+
+    // Stores the content under the key, replacing any previous file, then evicts down to the size limit.
+    public Path put(String key, byte[] content) throws IOException {
+        Path file = directory.resolve(checkKey(key));
+        Path temp = Files.createTempFile(directory, key + ".", TEMP_SUFFIX);
+        try {
+            Files.write(temp, content);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        List<Path> evicted = new ArrayList<>();
+        synchronized (this) {
+            Long previous = sizes.put(key, (long) content.length);
+            totalBytes += content.length - (previous != null ? previous : 0);
+            Iterator<Map.Entry<String, Long>> eldest = sizes.entrySet().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, Long> entry = eldest.next();
+                if (entry.getKey().equals(key)) {
+                    continue;
+                }
+                totalBytes -= entry.getValue();
+                evicted.add(directory.resolve(entry.getKey()));
+                eldest.remove();
+            }
+        }
+        for (Path old : evicted) {
+            Files.deleteIfExists(old);
+        }
+        return file;
+    }
+
+    public synchronized int count() {
+        return sizes.size();
+    }
+
+    public synchronized long sizeInBytes() {
+        return totalBytes;
+    }
+
+    private void load() throws IOException {
+        record Entry(Path file, long size, long modified) {
+        }
+        List<Entry> entries = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(TEMP_SUFFIX)) {
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                if (attributes.isRegularFile() && KEY.matcher(name).matches()) {
+                    entries.add(new Entry(file, attributes.size(), attributes.lastModifiedTime().toMillis()));
+                }
+            }
+        }
+        entries.sort(Comparator.comparingLong(Entry::modified));
+        synchronized (this) {
+            for (Entry entry : entries) {
+                sizes.put(entry.file().getFileName().toString(), entry.size());
+                totalBytes += entry.size();
+            }
+        }
+        // The limit may have been lowered since the files were written
+        while (true) {
+            Path old;
+            synchronized (this) {
+                if (totalBytes <= maxBytes || sizes.isEmpty()) {
+                    break;
+                }
+                Map.Entry<String, Long> eldest = sizes.entrySet().iterator().next();
+                totalBytes -= eldest.getValue();
+                sizes.remove(eldest.getKey());
+                old = directory.resolve(eldest.getKey());
+            }
+            Files.deleteIfExists(old);
+        }
+    }
+
+    private static String checkKey(String key) {
+        if (key == null || !KEY.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid cache key: " + key);
+        }
+        return key;
+    }
+}
@@ -0,0 +1,74 @@
+package com.bookverse.bookCatalog.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-capacity FIFO that never blocks the producer: when full, the oldest item is overwritten
+ * and counted as dropped, so a slow consumer loses history instead of holding memory.
+ */
+public class DropOldestRingBuffer<T> {
+
+    private final Object[] items;
+    private int head;
+    private int size;
+    private long dropped;
+
+    public DropOldestRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Ring buffer capacity must be positive");
+        }
+        this.items = new Object[capacity];
+    }
+
+    public synchronized void offer(T item) {
+        if (size == items.length) {
+            items[head] = item;
+            head = (head + 1) % items.length;
+            dropped++;
+        } else {
+            items[(head + size) % items.length] = item;
+            size++;
+        }
+    }
+
+    // Removes and returns everything buffered, oldest first.
+    public synchronized List<T> drain() {
+        List<T> result = snapshot();
+        for (int i = 0; i < size; i++) {
+            items[(head + i) % items.length] = null;
+        }
+        head = 0;
+        size = 0;
+        return result;
+    }
+
+    // Returns everything buffered, oldest first, without removing it.
+    @SuppressWarnings("unchecked")
+    public synchronized List<T> snapshot() {
+        List<T> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add((T) items[(head + i) % items.length]);
+        }
+        return result;
+    }
+
+    // Returns how many items were overwritten since the last call, and resets the count.
+    public synchronized long takeDropped() {
+        long count = dropped;
+        dropped = 0;
+        return count;
+    }
+
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return items.length;
+    }
+}
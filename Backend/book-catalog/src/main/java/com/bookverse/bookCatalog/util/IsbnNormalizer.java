@@ -0,0 +1,62 @@
+package com.bookverse.bookCatalog.util;
+
+/**
+ * Canonical ISBN form used for storage and lookups: 13 digits, no separators.
+ * ISBN-10 values are converted to their 978-prefixed ISBN-13; both forms are checksum-validated.
+ */
+public final class IsbnNormalizer {
+
+    private IsbnNormalizer() {
+    }
+
+    // Returns the ISBN-13 for a raw ISBN-10 or ISBN-13 (hyphens and spaces allowed), or null if it is not valid.
+    public static String toIsbn13(String raw) {
+        if (raw == null) {
+            return null;
+        }
+        StringBuilder compact = new StringBuilder(13);
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c == '-' || c == ' ') {
+                continue;
+            }
+            compact.append(Character.toUpperCase(c));
+        }
+        String value = compact.toString();
+        if (value.length() == 10 && isValidIsbn10(value)) {
+            String body = "978" + value.substring(0, 9);
+            return body + isbn13CheckDigit(body);
+        }
+        if (value.length() == 13 && value.chars().allMatch(Character::isDigit)
+                && isbn13CheckDigit(value.substring(0, 12)) == value.charAt(12)) {
+            return value;
+        }
+        return null;
+    }
+
+    private static boolean isValidIsbn10(String value) {
+        int sum = 0;
+        for (int i = 0; i < 10; i++) {
+            char c = value.charAt(i);
+            int digit;
+            if (Character.isDigit(c)) {
+                digit = c - '0';
+            } else if (c == 'X' && i == 9) {
+                digit = 10;
+            } else {
+                return false;
+            }
+            sum += digit * (10 - i);
+        }
+        return sum % 11 == 0;
+    }
+
+    private static char isbn13CheckDigit(String first12) {
+        int sum = 0;
+        for (int i = 0; i < 12; i++) {
+            int digit = first12.charAt(i) - '0';
+            sum += (i % 2 == 0) ? digit : digit * 3;
+        }
+        return (char) ('0' + (10 - sum % 10) % 10);
+    }
+}
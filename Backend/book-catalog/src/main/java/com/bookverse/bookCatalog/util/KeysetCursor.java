@@ -0,0 +1,65 @@
+package com.bookverse.bookCatalog.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Opaque, URL-safe encoding of the sort values of the last row of a page, nulls included.
+ * Callers put whatever identifies the ordering first so a cursor cannot be replayed against another sort.
+ */
+public final class KeysetCursor {
+
+    private static final int VERSION = 1;
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(List<String> values) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(VERSION);
+            out.writeShort(values.size());
+            for (String value : values) {
+                out.writeBoolean(value != null);
+                if (value != null) {
+                    out.writeUTF(value);
+                }
+            }
+            out.flush();
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the text is not a cursor produced by {@link #encode}
+     */
+    public static List<String> decode(String cursor) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)));
+            if (in.readByte() != VERSION) {
+                throw new IllegalArgumentException("Unsupported cursor version");
+            }
+            int count = in.readUnsignedShort();
+            List<String> values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                values.add(in.readBoolean() ? in.readUTF() : null);
+            }
+            if (in.available() > 0) {
+                throw new IllegalArgumentException("Trailing bytes in cursor");
+            }
+            return values;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.bookverse.bookCatalog.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-bucket latency histogram in milliseconds.
+ * Buckets follow a 1-2-5 progression from 1 ms to 10 s plus an overflow bucket, so a histogram
+ * is a handful of longs and percentiles are reported as the upper bound of their bucket.
+ */
+public class LatencyHistogram {
+
+    private static final long[] BOUNDS_MS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1_000, 2_000, 5_000, 10_000};
+
+    public record Summary(long count, double meanMs, long p50Ms, long p95Ms, long p99Ms, long maxBucketMs) {
+    }
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BOUNDS_MS.length + 1);
+    private final LongAdder totalMicros = new LongAdder();
+
+    public void record(long nanos) {
+        long millis = nanos / 1_000_000;
+        int bucket = BOUNDS_MS.length;
+        for (int i = 0; i < BOUNDS_MS.length; i++) {
+            if (millis < BOUNDS_MS[i]) {
+                bucket = i;
+                break;
+            }
+        }
+        buckets.incrementAndGet(bucket);
+        totalMicros.add(nanos / 1_000);
+    }
+
+    public Summary summary() {
+        long[] counts = new long[buckets.length()];
+        long count = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets.get(i);
+            count += counts[i];
+        }
+        if (count == 0) {
+            return new Summary(0, 0.0, 0, 0, 0, 0);
+        }
+        int highest = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                highest = i;
+            }
+        }
+        double meanMs = totalMicros.sum() / 1_000.0 / count;
+        return new Summary(count, meanMs, percentile(counts, count, 0.50), percentile(counts, count, 0.95),
+                percentile(counts, count, 0.99), upperBound(highest));
+    }
+
+    private static long percentile(long[] counts, long total, double quantile) {
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(counts.length - 1);
+    }
+
+    // The overflow bucket has no upper bound; it reports as the last finite bound
+    private static long upperBound(int bucket) {
+        return BOUNDS_MS[Math.min(bucket, BOUNDS_MS.length - 1)];
+    }
+}
@@ -0,0 +1,39 @@
+package com.bookverse.bookCatalog.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Canonical form of a free-text search query, so that "Harry  Potter!" and "harry potter"
+ * are counted and cached as the same query.
+ */
+public final class QueryNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private QueryNormalizer() {
+    }
+
+    // Folds case and accents, and turns punctuation and whitespace runs into single spaces.
+    public static String normalize(String query) {
+        if (query == null) {
+            return "";
+        }
+        String folded = Normalizer.normalize(query, Normalizer.Form.NFKD);
+        folded = DIACRITICS.matcher(folded).replaceAll("");
+        folded = SEPARATORS.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ");
+        return folded.trim();
+    }
+
+    // Stable 64-bit FNV-1a hash of an already normalized query.
+    public static long hash(String normalized) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < normalized.length(); i++) {
+            hash ^= normalized.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,134 @@
+package com.bookverse.bookCatalog.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Ids kept in ascending (key, id) order in two parallel primitive arrays.
+ * Writes are serialized and publish a new copy of the arrays, so readers take a page
+ * by plain index arithmetic without locking: O(page size) regardless of the offset.
+ */
+public class SortedIdIndex {
+
+    private record State(long[] ids, double[] keys) {
+    }
+
+    private volatile State state = new State(new long[0], new double[0]);
+    private final Map<Long, Double> keyById = new HashMap<>();
+
+    // Inserts the id, or moves it if its key changed.
+    public synchronized void upsert(long id, double key) {
+        Double current = keyById.get(id);
+        if (current != null && Double.compare(current, key) == 0) {
+            return;
+        }
+        State s = state;
+        long[] ids = s.ids();
+        double[] keys = s.keys();
+        if (current != null) {
+            int removeAt = position(ids, keys, current, id);
+            ids = without(ids, removeAt);
+            keys = without(keys, removeAt);
+        }
+        int insertAt = -position(ids, keys, key, id) - 1;
+        long[] newIds = new long[ids.length + 1];
+        double[] newKeys = new double[keys.length + 1];
+        System.arraycopy(ids, 0, newIds, 0, insertAt);
+        System.arraycopy(keys, 0, newKeys, 0, insertAt);
+        newIds[insertAt] = id;
+        newKeys[insertAt] = key;
+        System.arraycopy(ids, insertAt, newIds, insertAt + 1, ids.length - insertAt);
+        System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+        keyById.put(id, key);
+        state = new State(newIds, newKeys);
+    }
+
+    public synchronized void remove(long id) {
+        Double current = keyById.remove(id);
+        if (current == null) {
+            return;
+        }
+        State s = state;
+        int removeAt = position(s.ids(), s.keys(), current, id);
+        state = new State(without(s.ids(), removeAt), without(s.keys(), removeAt));
+    }
+
+    // Replaces the whole content in one sort; used for bulk (re)builds.
+    public synchronized void rebuild(Map<Long, Double> entries) {
+        Long[] order = entries.keySet().toArray(new Long[0]);
+        Arrays.sort(order, (a, b) -> {
+            int byKey = Double.compare(entries.get(a), entries.get(b));
+            return byKey != 0 ? byKey : Long.compare(a, b);
+        });
+        long[] ids = new long[order.length];
+        double[] keys = new double[order.length];
+        for (int i = 0; i < order.length; i++) {
+            ids[i] = order[i];
+            keys[i] = entries.get(order[i]);
+        }
+        keyById.clear();
+        keyById.putAll(entries);
+        state = new State(ids, keys);
+    }
+
+    public int size() {
+        return state.ids().length;
+    }
+
+    /**
+     * Returns up to {@code limit} ids starting at {@code offset}, in ascending or descending order.
+     * In descending order ties on the key come out with the higher id first.
+     */
+    public long[] page(int offset, int limit, boolean descending) {
+        long[] ids = state.ids();
+        if (offset >= ids.length || limit <= 0) {
+            return new long[0];
+        }
+        int count = Math.min(limit, ids.length - offset);
+        long[] result = new long[count];
+        if (descending) {
+            for (int i = 0; i < count; i++) {
+                result[i] = ids[ids.length - 1 - offset - i];
+            }
+        } else {
+            System.arraycopy(ids, offset, result, 0, count);
+        }
+        return result;
+    }
+
+    // Binary search on (key, id); same contract as Arrays.binarySearch.
+    private static int position(long[] ids, double[] keys, double key, long id) {
+        int low = 0;
+        int high = ids.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = Double.compare(keys[mid], key);
+            if (cmp == 0) {
+                cmp = Long.compare(ids[mid], id);
+            }
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static long[] without(long[] values, int index) {
+        long[] result = new long[values.length - 1];
+        System.arraycopy(values, 0, result, 0, index);
+        System.arraycopy(values, index + 1, result, index, values.length - index - 1);
+        return result;
+    }
+
+    private static double[] without(double[] values, int index) {
+        double[] result = new double[values.length - 1];
+        System.arraycopy(values, 0, result, 0, index);
+        System.arraycopy(values, index + 1, result, index, values.length - index - 1);
+        return result;
+    }
+}
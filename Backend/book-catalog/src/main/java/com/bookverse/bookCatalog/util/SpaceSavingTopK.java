@@ -0,0 +1,96 @@
+package com.bookverse.bookCatalog.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Space-saving heavy hitters: tracks at most {@code capacity} keys with real-valued counts.
+ * When full, a new key takes over the entry with the smallest count and inherits that count as
+ * its error bound, so any key whose true weight exceeds total / capacity is guaranteed to be kept.
+ */
+public class SpaceSavingTopK {
+
+    public record Entry(long key, double count, double error) {
+    }
+
+    private static final Comparator<Entry> BY_COUNT = Comparator.comparingDouble(Entry::count)
+            .thenComparingLong(Entry::key);
+
+    private final int capacity;
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> ordered = new TreeSet<>(BY_COUNT);
+
+    public SpaceSavingTopK(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Top-K capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    // Adds the weight to the key; returns the key that was evicted to make room, or null.
+    public synchronized Long add(long key, double weight) {
+        Entry current = entries.get(key);
+        Entry updated;
+        Long evictedKey = null;
+        if (current != null) {
+            ordered.remove(current);
+            updated = new Entry(key, current.count() + weight, current.error());
+        } else if (entries.size() < capacity) {
+            updated = new Entry(key, weight, 0.0);
+        } else {
+            Entry evicted = ordered.pollFirst();
+            entries.remove(evicted.key());
+            evictedKey = evicted.key();
+            updated = new Entry(key, evicted.count() + weight, evicted.count());
+        }
+        entries.put(key, updated);
+        ordered.add(updated);
+        return evictedKey;
+    }
+
+    // Highest counts first.
+    public synchronized List<Entry> top(int limit) {
+        List<Entry> result = new ArrayList<>(Math.min(limit, ordered.size()));
+        for (Entry entry : ordered.descendingSet()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(entry);
+        }
+        return result;
+    }
+
+    // Multiplies every count and error bound by the factor; relative order is unchanged.
+    public synchronized void scale(double factor) {
+        List<Entry> scaled = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            scaled.add(new Entry(entry.key(), entry.count() * factor, entry.error() * factor));
+        }
+        entries.clear();
+        ordered.clear();
+        for (Entry entry : scaled) {
+            entries.put(entry.key(), entry);
+            ordered.add(entry);
+        }
+    }
+
+    public synchronized void remove(long key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            ordered.remove(entry);
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        ordered.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,44 @@
+package com.bookverse.bookCatalog.util;
+
+import java.util.regex.Pattern;
+
+/**
+ * Shape of a SQL statement: literals become placeholders, IN lists of any length collapse to one form
+ * and whitespace is folded, so the same query with different ids or list sizes groups together
+ * and no bound value ends up in a report.
+ */
+public final class SqlShape {
+
+    private static final Pattern STRING_LITERALS = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERALS = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern PLACEHOLDER_LISTS = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlShape() {
+    }
+
+    public static String of(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String shape = STRING_LITERALS.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERALS.matcher(shape).replaceAll("?");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ").trim();
+        return PLACEHOLDER_LISTS.matcher(shape).replaceAll("(?...)");
+    }
+
+    // Number of JDBC bind parameters, ignoring question marks inside string literals.
+    public static int parameterCount(String sql) {
+        if (sql == null) {
+            return 0;
+        }
+        String withoutLiterals = STRING_LITERALS.matcher(sql).replaceAll("");
+        int count = 0;
+        for (int i = 0; i < withoutLiterals.length(); i++) {
+            if (withoutLiterals.charAt(i) == '?') {
+                count++;
+            }
+        }
+        return count;
+    }
+}
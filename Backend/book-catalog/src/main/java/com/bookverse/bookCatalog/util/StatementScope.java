@@ -0,0 +1,158 @@
+package com.bookverse.bookCatalog.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements prepared on the current thread while the scope is open, grouped by
+ * {@link SqlShape}, and times their execution. Scopes nest: a statement is recorded in every open scope
+ * of the thread, so a test can wrap a request that opens its own scope.
+ * The static hooks are fed by the Hibernate statement inspector and session listener in config.
+ *
+ * <pre>
+ * try (StatementScope scope = StatementScope.open("similar books")) {
+ *     bookService.findSimilarBooks(id);
+ *     scope.assertStatementsAtMost(3);
+ *     scope.assertNoRepeatedStatements(2);
+ * }
+ * </pre>
+ */
+public final class StatementScope implements AutoCloseable {
+
+    @FunctionalInterface
+    public interface SlowStatementListener {
+        void onSlowStatement(String shape, int parameters, long elapsedNanos);
+    }
+
+    public record RepeatedStatement(String shape, int executions) {
+    }
+
+    private static final ThreadLocal<StatementScope> CURRENT = new ThreadLocal<>();
+
+    private final String label;
+    private final StatementScope parent;
+    private final long slowThresholdNanos;
+    private final SlowStatementListener slowStatementListener;
+    private final Map<String, Integer> statementsByShape = new LinkedHashMap<>();
+    private int statements;
+    private boolean closed;
+
+    // Last prepared statement on this thread, timed by the execute hooks
+    private String pendingShape;
+    private int pendingParameters;
+    private long executeStartedAt;
+
+    private StatementScope(String label, long slowThresholdNanos, SlowStatementListener slowStatementListener) {
+        this.label = label;
+        this.parent = CURRENT.get();
+        this.slowThresholdNanos = slowThresholdNanos;
+        this.slowStatementListener = slowStatementListener;
+    }
+
+    public static StatementScope open(String label) {
+        return open(label, Long.MAX_VALUE, null);
+    }
+
+    // Opens a scope that reports every statement whose execution takes at least the threshold.
+    public static StatementScope open(String label, long slowThresholdNanos, SlowStatementListener slowStatementListener) {
+        StatementScope scope = new StatementScope(label, slowThresholdNanos, slowStatementListener);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public static StatementScope current() {
+        return CURRENT.get();
+    }
+
+    public static void onPrepare(String sql) {
+        StatementScope scope = CURRENT.get();
+        if (scope == null) {
+            return;
+        }
+        String shape = SqlShape.of(sql);
+        scope.pendingShape = shape;
+        scope.pendingParameters = SqlShape.parameterCount(sql);
+        for (StatementScope s = scope; s != null; s = s.parent) {
+            s.statements++;
+            s.statementsByShape.merge(shape, 1, Integer::sum);
+        }
+    }
+
+    public static void onExecuteStart() {
+        StatementScope scope = CURRENT.get();
+        if (scope != null) {
+            scope.executeStartedAt = System.nanoTime();
+        }
+    }
+
+    public static void onExecuteEnd() {
+        StatementScope scope = CURRENT.get();
+        if (scope == null || scope.executeStartedAt == 0 || scope.pendingShape == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - scope.executeStartedAt;
+        scope.executeStartedAt = 0;
+        for (StatementScope s = scope; s != null; s = s.parent) {
+            if (s.slowStatementListener != null && elapsed >= s.slowThresholdNanos) {
+                s.slowStatementListener.onSlowStatement(scope.pendingShape, scope.pendingParameters, elapsed);
+            }
+        }
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public int statementCount() {
+        return statements;
+    }
+
+    public Map<String, Integer> statementsByShape() {
+        return Collections.unmodifiableMap(statementsByShape);
+    }
+
+    // Shapes prepared at least {@code minExecutions} times, most repeated first; the usual N+1 signature.
+    public List<RepeatedStatement> repeatedStatements(int minExecutions) {
+        List<RepeatedStatement> repeated = new ArrayList<>();
+        statementsByShape.forEach((shape, count) -> {
+            if (count >= minExecutions) {
+                repeated.add(new RepeatedStatement(shape, count));
+            }
+        });
+        repeated.sort((a, b) -> Integer.compare(b.executions(), a.executions()));
+        return repeated;
+    }
+
+    public void assertStatementsAtMost(int budget) {
+        if (statements > budget) {
+            throw new AssertionError(label + ": expected at most " + budget + " statements but " + statements
+                    + " were prepared: " + statementsByShape);
+        }
+    }
+
+    // Fails when any single statement shape ran {@code minExecutions} times or more.
+    public void assertNoRepeatedStatements(int minExecutions) {
+        List<RepeatedStatement> repeated = repeatedStatements(minExecutions);
+        if (!repeated.isEmpty()) {
+            throw new AssertionError(label + ": statements repeated " + minExecutions + "+ times (N+1?): " + repeated);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (CURRENT.get() == this) {
+            if (parent != null) {
+                CURRENT.set(parent);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.bookverse.bookCatalog.util;
+
+import java.util.Arrays;
+
+/**
+ * The most recent {@code capacity} buckets of a units/revenue series, in parallel primitive
+ * arrays indexed by bucket number modulo capacity. Each slot remembers which bucket it holds, so
+ * a slot is recycled the first time a newer bucket lands on it. Alongside the totals, each slot
+ * keeps the amount not yet persisted, drained by {@link #drainPending}.
+ * Not thread-safe; callers serialize access per ring.
+ */
+public class TimeBucketRing {
+
+    @FunctionalInterface
+    public interface BucketConsumer {
+        void accept(long bucket, long units, double revenue);
+    }
+
+    private final long[] buckets;
+    private final long[] units;
+    private final double[] revenue;
+    private final long[] pendingUnits;
+    private final double[] pendingRevenue;
+    private long newest = Long.MIN_VALUE;
+
+    public TimeBucketRing(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        buckets = new long[capacity];
+        Arrays.fill(buckets, Long.MIN_VALUE);
+        units = new long[capacity];
+        revenue = new double[capacity];
+        pendingUnits = new long[capacity];
+        pendingRevenue = new double[capacity];
+    }
+
+    /**
+     * Adds to a bucket. Returns false, changing nothing, when the bucket has already fallen out
+     * of the window behind the newest bucket seen.
+     */
+    public boolean add(long bucket, long unitCount, double amount) {
+        if (newest != Long.MIN_VALUE && bucket <= newest - buckets.length) {
+            return false;
+        }
+        int slot = slot(bucket);
+        if (buckets[slot] != bucket) {
+            buckets[slot] = bucket;
+            units[slot] = 0;
+            revenue[slot] = 0;
+            pendingUnits[slot] = 0;
+            pendingRevenue[slot] = 0;
+        }
+        units[slot] += unitCount;
+        revenue[slot] += amount;
+        pendingUnits[slot] += unitCount;
+        pendingRevenue[slot] += amount;
+        newest = Math.max(newest, bucket);
+        return true;
+    }
+
+    // Visits the non-empty buckets in [from, to], oldest first.
+    public void forEachInRange(long from, long to, BucketConsumer consumer) {
+        long start = Math.max(from, newest == Long.MIN_VALUE ? to + 1 : newest - buckets.length + 1);
+        for (long bucket = start; bucket <= to && bucket <= newest; bucket++) {
+            int slot = slot(bucket);
+            if (buckets[slot] == bucket && (units[slot] != 0 || revenue[slot] != 0)) {
+                consumer.accept(bucket, units[slot], revenue[slot]);
+            }
+        }
+    }
+
+    // Hands over and clears the amounts added since the last drain.
+    public void drainPending(BucketConsumer consumer) {
+        for (int slot = 0; slot < buckets.length; slot++) {
+            if (pendingUnits[slot] != 0 || pendingRevenue[slot] != 0) {
+                consumer.accept(buckets[slot], pendingUnits[slot], pendingRevenue[slot]);
+                pendingUnits[slot] = 0;
+                pendingRevenue[slot] = 0;
+            }
+        }
+    }
+
+    public int capacity() {
+        return buckets.length;
+    }
+
+    private int slot(long bucket) {
+        return (int) Math.floorMod(bucket, (long) buckets.length);
+    }
+}
@@ -0,0 +1,112 @@
+package com.bookverse.bookCatalog.Repository;
+
+import com.bookverse.bookCatalog.DTO.AdminBookFilter;
+import com.bookverse.bookCatalog.DTO.AdminBookRow;
+import com.bookverse.bookCatalog.Models.Books;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import static com.bookverse.bookCatalog.Repository.TestBooks.book;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Walks the admin grid query page by page on an embedded database, which sorts NULLs like MySQL
+@CatalogJpaTest
+@DisplayName("Admin Inventory Query Tests")
+class AdminInventoryQueryTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 5, 1, 10, 0);
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final List<Long> ids = new ArrayList<>();
+    private final List<LocalDateTime> updatedAt = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // A null updatedAt means never updated
+        persist(book("Book 0").stock(5), T0.plusHours(1));
+        persist(book("Book 1").stock(2).active(false), null);
+        persist(book("Book 2").stock(5), T0.plusHours(3));
+        persist(book("Book 3").stock(0), T0.plusHours(1));
+        persist(book("Book 4").stock(2).active(false), T0.plusHours(2));
+        persist(book("Book 5").stock(5), null);
+        persist(book("Book 6").stock(9), T0);
+        entityManager.flush();
+        // updatedAt is stamped on persist, so the fixture values are written afterwards
+        for (int i = 0; i < ids.size(); i++) {
+            entityManager.createQuery("UPDATE Books b SET b.updatedAt = :updatedAt WHERE b.id = :id")
+                    .setParameter("updatedAt", updatedAt.get(i))
+                    .setParameter("id", ids.get(i))
+                    .executeUpdate();
+        }
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should visit every row exactly once, in order, when paging by updatedAt descending")
+    void shouldPageByUpdatedDescendingWithNulls() {
+        List<Sort.Order> orders = List.of(Sort.Order.desc("updatedAt"), Sort.Order.desc("id"));
+
+        List<Long> visited = walk(filter(), orders, 2, row -> Arrays.asList(row.getUpdatedAt(), row.getId()));
+
+        assertEquals(List.of(ids.get(2), ids.get(4), ids.get(3), ids.get(0), ids.get(6), ids.get(5), ids.get(1)), visited);
+    }
+
+    @Test
+    @DisplayName("Should page a multi-column order with mixed directions under a filter")
+    void shouldPageMixedDirectionsUnderFilter() {
+        AdminBookFilter filter = filter();
+        filter.setActive(true);
+        filter.setStockBelow(9);
+        List<Sort.Order> orders = List.of(Sort.Order.desc("stockActual"), Sort.Order.asc("updatedAt"), Sort.Order.asc("id"));
+
+        List<Long> visited = walk(filter, orders, 1, row -> Arrays.asList(row.getStockActual(), row.getUpdatedAt(), row.getId()));
+
+        // stock 5 first (updatedAt ascending, null first), then stock 0
+        assertEquals(List.of(ids.get(5), ids.get(0), ids.get(2), ids.get(3)), visited);
+    }
+
+    private void persist(TestBooks fixture, LocalDateTime updated) {
+        ids.add(fixture.salesCategory(Books.SalesCategory.SPECIAL_OFFERS).persist(entityManager).getId());
+        updatedAt.add(updated);
+    }
+
+    private List<Long> walk(AdminBookFilter filter, List<Sort.Order> orders, int pageSize,
+                            Function<AdminBookRow, List<Object>> position) {
+        List<Long> visited = new ArrayList<>();
+        List<Object> after = null;
+        while (true) {
+            Specification<Books> spec = BookSpecifications.matching(filter);
+            if (after != null) {
+                spec = spec.and(BookSpecifications.after(orders, after));
+            }
+            List<AdminBookRow> page = bookRepository.findAdminRows(spec, Sort.by(orders), pageSize);
+            if (page.isEmpty()) {
+                return visited;
+            }
+            page.forEach(row -> visited.add(row.getId()));
+            after = position.apply(page.get(page.size() - 1));
+        }
+    }
+
+    private static AdminBookFilter filter() {
+        AdminBookFilter filter = new AdminBookFilter();
+        filter.setSalesCategory(Books.SalesCategory.SPECIAL_OFFERS);
+        return filter;
+    }
+}
@@ -0,0 +1,196 @@
+package com.bookverse.bookCatalog.Repository;
+
+import com.bookverse.bookCatalog.DTO.BookFilter;
+import com.bookverse.bookCatalog.DTO.BookSummary;
+import com.bookverse.bookCatalog.Exception.ValidationException;
+import com.bookverse.bookCatalog.Models.BookCategory;
+import com.bookverse.bookCatalog.Models.Books;
+import com.bookverse.bookCatalog.Models.Category;
+import com.bookverse.bookCatalog.Service.BookFilterService;
+import com.bookverse.bookCatalog.Service.BookFilterService.SortBy;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.bookverse.bookCatalog.Repository.TestBooks.book;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Storefront filters on an embedded database, including which index the generated SQL is planned on
+@CatalogJpaTest
+@DisplayName("Book Filter Query Tests")
+class BookFilterQueryTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private BookFilterService bookFilterService;
+
+    private final Map<String, Long> ids = new HashMap<>();
+    private Long fantasyId;
+
+    @BeforeEach
+    void setUp() {
+        Category fantasy = new Category();
+        fantasy.setName("Filtered Fantasy");
+        fantasy.setSlug("filtered-fantasy");
+        entityManager.persist(fantasy);
+        fantasyId = fantasy.getId();
+
+        persist(book("cheap-fantasy").price(150.0).stock(3).rating(4.5), fantasy);
+        persist(book("dear-fantasy").price(450.0).stock(5).rating(4.0), fantasy);
+        persist(book("sold-out-fantasy").price(200.0).stock(0).rating(3.0), fantasy);
+        persist(book("inactive-fantasy").price(100.0).stock(9).rating(5.0).active(false), fantasy);
+        persist(book("cheap-other").price(250.0).stock(2).rating(4.5), null);
+        persist(book("same-price").price(150.0).stock(1).rating(2.0), null);
+        entityManager.flush();
+        entityManager.clear();
+
+        bookFilterService = new BookFilterService(bookRepository);
+        ReflectionTestUtils.setField(bookFilterService, "maxPageSize", 100);
+    }
+
+    @Test
+    @DisplayName("Should keep active books inside the price range, cheapest first, ties by id")
+    void shouldFilterByPriceRange() {
+        BookFilter filter = new BookFilter();
+        filter.setMinPrice(100.0);
+        filter.setMaxPrice(300.0);
+
+        Page<BookSummary> page = bookFilterService.filterBooks(filter, SortBy.PRICE, null, 0, 20);
+
+        assertEquals(List.of("cheap-fantasy", "same-price", "sold-out-fantasy", "cheap-other"), titles(page));
+        assertEquals(4, page.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Should drop sold-out books when only in-stock books are asked for")
+    void shouldFilterInStock() {
+        BookFilter filter = new BookFilter();
+        filter.setInStock(true);
+
+        Page<BookSummary> page = bookFilterService.filterBooks(filter, SortBy.STOCK, null, 0, 20);
+
+        assertEquals(List.of("dear-fantasy", "cheap-fantasy", "cheap-other", "same-price"), titles(page));
+    }
+
+    @Test
+    @DisplayName("Should return each active book of the category once and combine with the other filters")
+    void shouldFilterByCategory() {
+        BookFilter filter = new BookFilter();
+        filter.setCategoryId(fantasyId);
+
+        assertEquals(List.of("cheap-fantasy", "sold-out-fantasy", "dear-fantasy"),
+                titles(bookFilterService.filterBooks(filter, SortBy.PRICE, "asc", 0, 20)));
+
+        filter.setMaxPrice(300.0);
+        filter.setInStock(true);
+        assertEquals(List.of("cheap-fantasy"), titles(bookFilterService.filterBooks(filter, SortBy.PRICE, null, 0, 20)));
+    }
+
+    @Test
+    @DisplayName("Should break sort ties by id in the sort direction so pages neither repeat nor skip rows")
+    void shouldBreakTiesById() {
+        Page<BookSummary> first = bookFilterService.filterBooks(new BookFilter(), SortBy.RATING, null, 0, 2);
+        Page<BookSummary> second = bookFilterService.filterBooks(new BookFilter(), SortBy.RATING, null, 1, 2);
+
+        // cheap-fantasy and cheap-other share 4.5; the later id comes first when descending
+        assertEquals(List.of("cheap-other", "cheap-fantasy"), titles(first));
+        assertEquals(List.of("dear-fantasy", "sold-out-fantasy"), titles(second));
+        assertEquals(5, first.getTotalElements());
+
+        assertEquals(List.of("cheap-fantasy", "same-price", "sold-out-fantasy", "cheap-other", "dear-fantasy"),
+                titles(bookFilterService.filterBooks(new BookFilter(), SortBy.PRICE, "ASC", 0, 20)));
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown sort direction")
+    void shouldRejectInvalidDirection() {
+        assertThrows(ValidationException.class,
+                () -> bookFilterService.filterBooks(new BookFilter(), SortBy.PRICE, "sideways", 0, 20));
+    }
+
+    @Test
+    @DisplayName("Should plan each filter on the composite index that lines up with it")
+    void shouldUseCompositeIndexes() throws SQLException {
+        BookFilter byOfferPrice = new BookFilter();
+        byOfferPrice.setSalesCategory(Books.SalesCategory.SPECIAL_OFFERS);
+        byOfferPrice.setMinPrice(100.0);
+        byOfferPrice.setMaxPrice(300.0);
+        String plan = plan(byOfferPrice, SortBy.PRICE);
+        assertTrue(plan.contains("IDX_BOOKS_ACTIVE_SALES_PRICE: IS_ACTIVE = TRUE AND PRICE >= ?"), plan);
+
+        BookFilter byRating = new BookFilter();
+        byRating.setMinRating(4.0);
+        plan = plan(byRating, SortBy.RATING);
+        assertTrue(plan.contains("IDX_BOOKS_ACTIVE_RATING: IS_ACTIVE = TRUE AND AVERAGE_RATING >= ?"), plan);
+
+        BookFilter inStock = new BookFilter();
+        inStock.setInStock(true);
+        plan = plan(inStock, SortBy.STOCK);
+        assertTrue(plan.contains("IDX_BOOKS_ACTIVE_STOCK: IS_ACTIVE = TRUE AND STOCK_ACTUAL > ?"), plan);
+
+        BookFilter byCategory = new BookFilter();
+        byCategory.setCategoryId(fantasyId);
+        plan = plan(byCategory, SortBy.NEWEST);
+        assertTrue(plan.contains("IDX_BOOK_CATEGORIES_CATEGORY_PRIORITY_BOOK: CATEGORY_ID = ?"), plan);
+    }
+
+    // Runs the filter and returns H2's plan for the listing query it issued, on one line. The statistics
+    // switches commit, so they go through a connection of their own rather than the test transaction's.
+    private void persist(TestBooks fixture, Category category) {
+        Books book = fixture.salesCategory(Books.SalesCategory.SPECIAL_OFFERS).persist(entityManager);
+        ids.put(book.getTitle(), book.getId());
+        if (category != null) {
+            BookCategory link = new BookCategory();
+            link.setBook(book);
+            link.setCategory(category);
+            link.setPriority(1);
+            entityManager.persist(link);
+        }
+    }
+
+    private String plan(BookFilter filter, SortBy sortBy) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("SET QUERY_STATISTICS TRUE");
+            try {
+                bookFilterService.filterBooks(filter, sortBy, null, 0, 20);
+                String sql;
+                try (ResultSet result = statement.executeQuery("SELECT SQL_STATEMENT FROM INFORMATION_SCHEMA.QUERY_STATISTICS " +
+                        "WHERE SQL_STATEMENT LIKE 'select b1_0.id,b1_0.title,%'")) {
+                    assertTrue(result.next());
+                    sql = result.getString(1);
+                }
+                // Parameters may stay unbound for EXPLAIN
+                try (ResultSet result = statement.executeQuery("EXPLAIN " + sql)) {
+                    result.next();
+                    return result.getString(1).replaceAll("\\s+", " ");
+                }
+            } finally {
+                statement.execute("SET QUERY_STATISTICS FALSE");
+            }
+        }
+    }
+
+    private static List<String> titles(Page<BookSummary> page) {
+        return page.getContent().stream().map(BookSummary::getTitle).toList();
+    }
+}
@@ -0,0 +1,101 @@
+package com.bookverse.bookCatalog.Repository;
+
+import com.bookverse.bookCatalog.DTO.BookWithRelations;
+import com.bookverse.bookCatalog.Models.Category;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs against an embedded R2DBC database holding the columns the reactive queries read
+@DisplayName("Reactive Catalog Repository Tests")
+class ReactiveCatalogRepositoryTest {
+
+    private ReactiveCatalogRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        DatabaseClient client = DatabaseClient.create(ConnectionFactories.get(
+                "r2dbc:h2:mem:///catalog" + System.nanoTime() + "?options=DB_CLOSE_DELAY=-1"));
+        Flux.just(
+                "CREATE TABLE books (id BIGINT PRIMARY KEY, isbn VARCHAR(20), title VARCHAR(255), author VARCHAR(255), " +
+                        "description VARCHAR(1000), language VARCHAR(50), format VARCHAR(50), edition VARCHAR(50), " +
+                        "publisher VARCHAR(255), publication_date TIMESTAMP, pages INT, weight DOUBLE, dimensions VARCHAR(50), " +
+                        "price DOUBLE, mrp DOUBLE, stock_display INT, stock_actual INT, no_of_books_sold INT, " +
+                        "total_revenue DOUBLE, average_rating DOUBLE, review_count INT, sales_category VARCHAR(32), " +
+                        "is_active BOOLEAN, is_featured BOOLEAN, last_sold_at TIMESTAMP, created_at TIMESTAMP, updated_at TIMESTAMP)",
+                "CREATE TABLE categories (id BIGINT PRIMARY KEY, name VARCHAR(255), slug VARCHAR(255), description VARCHAR(500), " +
+                        "image VARCHAR(255), parent_id BIGINT, display_order INT, is_active BOOLEAN, created_at TIMESTAMP, updated_at TIMESTAMP)",
+                "CREATE TABLE book_categories (id BIGINT PRIMARY KEY, book_id BIGINT, category_id BIGINT, priority INT)",
+                "CREATE TABLE book_images (id BIGINT PRIMARY KEY, book_id BIGINT, image VARCHAR(1500), alt_text VARCHAR(255), " +
+                        "is_primary BOOLEAN, display_order INT)",
+                "INSERT INTO books (id, title, author, price, no_of_books_sold, sales_category, is_active, is_featured) VALUES " +
+                        "(1, 'The Hobbit', 'Tolkien', 499, 50, 'BEST_SELLING', true, false), " +
+                        "(2, 'Dune', 'Herbert', 399, 80, 'BEST_SELLING', true, true), " +
+                        "(3, 'Withdrawn', 'Nobody', 99, 0, 'NEWLY_LAUNCHED', false, false), " +
+                        "(4, '100%_Pure', 'Tolkien', 199, 10, 'NEWLY_LAUNCHED', true, false)",
+                "INSERT INTO categories (id, name, slug, display_order, is_active) VALUES " +
+                        "(10, 'Fantasy', 'fantasy', 2, true), (11, 'Sci-Fi', 'sci-fi', 1, true), (12, 'Hidden', 'hidden', 0, false)",
+                "INSERT INTO book_categories (id, book_id, category_id, priority) VALUES (1, 1, 10, 2), (2, 1, 11, 1), (3, 2, 11, 1)",
+                "INSERT INTO book_images (id, book_id, image, is_primary, display_order) VALUES (1, 1, 'images/hobbit.jpg', true, 0)")
+                .concatMap(sql -> client.sql(sql).then())
+                .blockLast();
+
+        repository = new ReactiveCatalogRepository(client);
+        // Smaller than the catalog, so relations are fetched across several buffers
+        ReflectionTestUtils.setField(repository, "relationBatchSize", 2);
+    }
+
+    @Test
+    @DisplayName("Should stream active books in id order with their categories and images")
+    void shouldStreamActiveBooksWithRelations() {
+        List<BookWithRelations> books = repository.findActiveBooks().collectList().block();
+
+        assertEquals(List.of(1L, 2L, 4L), books.stream().map(BookWithRelations::getId).toList());
+        BookWithRelations hobbit = books.get(0);
+        assertEquals(List.of(11L, 10L), hobbit.getCategories().stream().map(BookWithRelations.CategoryInfo::getId).toList());
+        assertEquals("images/hobbit.jpg", hobbit.getImages().get(0).getImageUrl());
+        assertTrue(hobbit.getImages().get(0).getIsPrimary());
+        assertEquals(1, books.get(1).getCategories().size());
+        assertTrue(books.get(2).getCategories().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should find an active book by id and ignore inactive ones")
+    void shouldFindActiveBookById() {
+        BookWithRelations dune = repository.findActiveBookById(2L).block();
+
+        assertNotNull(dune);
+        assertEquals("Dune", dune.getTitle());
+        assertTrue(dune.getIsFeatured());
+        assertNull(repository.findActiveBookById(3L).block());
+    }
+
+    @Test
+    @DisplayName("Should search titles and authors, best sellers first, treating wildcards literally")
+    void shouldSearchBooks() {
+        List<Long> byAuthor = repository.searchActiveBooks("tolkien", 10)
+                .map(BookWithRelations::getId).collectList().block();
+        List<Long> literal = repository.searchActiveBooks("%_", 10)
+                .map(BookWithRelations::getId).collectList().block();
+
+        assertEquals(List.of(1L, 4L), byAuthor);
+        assertEquals(List.of(4L), literal);
+    }
+
+    @Test
+    @DisplayName("Should list active categories in display order")
+    void shouldListActiveCategories() {
+        List<String> slugs = repository.findActiveCategoriesForNavigation()
+                .map(Category::getSlug).collectList().block();
+
+        assertEquals(List.of("sci-fi", "fantasy"), slugs);
+    }
+}
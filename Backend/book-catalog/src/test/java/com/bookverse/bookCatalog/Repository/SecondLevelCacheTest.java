@@ -0,0 +1,213 @@
+package com.bookverse.bookCatalog.Repository;
+
+import com.bookverse.bookCatalog.Models.BookCategory;
+import com.bookverse.bookCatalog.Models.BookImage;
+import com.bookverse.bookCatalog.Models.Books;
+import com.bookverse.bookCatalog.Models.Category;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CollectionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.bookverse.bookCatalog.Repository.TestBooks.book;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs against an embedded database; each read happens in its own transaction, as in the services
+@CatalogJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Second Level Cache Tests")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategoryClosureRepository categoryClosureRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+    }
+
+    // Every step above commits; remove what the test wrote so later test classes see an empty catalog
+    @AfterEach
+    void tearDown() {
+        inTransaction(() -> {
+            for (String entity : List.of("BookCategory", "BookImage", "Books", "CategoryClosure", "Category")) {
+                entityManager.createQuery("DELETE FROM " + entity).executeUpdate();
+            }
+            return null;
+        });
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    @DisplayName("Should load a category by id from the cache without SQL")
+    void shouldServeCategoryByIdFromCache() {
+        Long id = inTransaction(() -> categoryRepository.save(category("Fantasy", "fantasy")).getId());
+        inTransaction(() -> categoryRepository.findById(id));
+
+        statistics.clear();
+        Category cached = inTransaction(() -> categoryRepository.findById(id).orElseThrow());
+
+        assertEquals("Fantasy", cached.getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should answer a repeated slug lookup from the query cache without SQL")
+    void shouldServeSlugLookupFromQueryCache() {
+        inTransaction(() -> categoryRepository.save(category("Science Fiction", "science-fiction")));
+        inTransaction(() -> categoryRepository.findBySlug("science-fiction"));
+
+        statistics.clear();
+        Category cached = inTransaction(() -> categoryRepository.findBySlug("science-fiction").orElseThrow());
+
+        assertEquals("Science Fiction", cached.getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    @DisplayName("Should resolve a book's images from the collection cache without selecting them")
+    void shouldServeBookImagesFromCollectionCache() {
+        Long bookId = inTransaction(() -> {
+            Books book = book("The Hobbit").build();
+            BookImage image = new BookImage();
+            image.setBook(book);
+            image.setImage("images/hobbit.jpg");
+            book.getBookImages().add(image);
+            entityManager.persist(book);
+            return book.getId();
+        });
+        inTransaction(() -> entityManager.find(Books.class, bookId).getBookImages().size());
+
+        statistics.clear();
+        int images = inTransaction(() -> entityManager.find(Books.class, bookId).getBookImages().size());
+
+        assertEquals(1, images);
+        // Books itself is not cached, so its row is still selected; the image collection is not
+        CollectionStatistics imageStats = statistics.getCollectionStatistics(Books.class.getName() + ".bookImages");
+        assertEquals(0, imageStats.getFetchCount());
+        assertEquals(1, imageStats.getCacheHitCount());
+        assertEquals(0, statistics.getEntityStatistics(BookImage.class.getName()).getLoadCount());
+        assertEquals(1, statistics.getEntityStatistics(BookImage.class.getName()).getCacheHitCount());
+    }
+
+    @Test
+    @DisplayName("Should drop cached query results after a category is written")
+    void shouldInvalidateQueryCacheOnWrite() {
+        Long id = inTransaction(() -> categoryRepository.save(category("Poetry", "poetry")).getId());
+        inTransaction(() -> categoryRepository.findBySlug("poetry"));
+
+        inTransaction(() -> {
+            Category category = categoryRepository.findById(id).orElseThrow();
+            category.setSlug("verse");
+            return categoryRepository.save(category);
+        });
+
+        assertTrue(inTransaction(() -> categoryRepository.findBySlug("poetry")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep unrelated cached entries when the closure table is written with native SQL")
+    void shouldKeepCacheOnClosureInsert() {
+        Long parentId = inTransaction(() -> categoryRepository.save(category("Drama", "drama")).getId());
+        Long childId = inTransaction(() -> categoryRepository.save(category("Tragedy", "tragedy")).getId());
+        Long movedId = inTransaction(() -> categoryRepository.save(category("Comedy", "comedy")).getId());
+        inTransaction(() -> categoryClosureRepository.insertLeaf(parentId, null));
+        inTransaction(() -> categoryClosureRepository.insertLeaf(movedId, null));
+        inTransaction(() -> categoryRepository.findById(parentId));
+        inTransaction(() -> categoryRepository.findBySlug("drama"));
+
+        inTransaction(() -> categoryClosureRepository.insertLeaf(childId, parentId));
+        inTransaction(() -> categoryClosureRepository.attachSubtree(movedId, parentId));
+        assertEquals(List.of(parentId), inTransaction(() -> categoryClosureRepository.findAncestorIds(movedId)));
+
+        statistics.clear();
+        inTransaction(() -> categoryRepository.findById(parentId).orElseThrow());
+        inTransaction(() -> categoryRepository.findBySlug("drama").orElseThrow());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should evict a book's cached categories when a link is saved without touching the collection")
+    void shouldEvictCategoryCollectionOnLinkInsert() {
+        Long bookId = inTransaction(() -> {
+            return book("Dune").persist(entityManager).getId();
+        });
+        Long categoryId = inTransaction(() -> categoryRepository.save(category("Classics", "classics")).getId());
+        assertEquals(0, (int) inTransaction(() -> entityManager.find(Books.class, bookId).getBookCategories().size()));
+
+        // Same as BookCategoryService.linkBookToCategory: the child is saved, the parent's set is not updated
+        inTransaction(() -> {
+            BookCategory link = new BookCategory();
+            link.setBook(entityManager.getReference(Books.class, bookId));
+            link.setCategory(entityManager.getReference(Category.class, categoryId));
+            link.setPriority(1);
+            entityManager.persist(link);
+            return link;
+        });
+
+        assertEquals(1, (int) inTransaction(() -> entityManager.find(Books.class, bookId).getBookCategories().size()));
+    }
+
+    @Test
+    @DisplayName("Should evict a book's cached images when an image is saved without touching the collection")
+    void shouldEvictImageCollectionOnImageInsert() {
+        Long bookId = inTransaction(() -> {
+            return book("Emma").persist(entityManager).getId();
+        });
+        assertEquals(0, (int) inTransaction(() -> entityManager.find(Books.class, bookId).getBookImages().size()));
+
+        // Same as BookImageService.addImageToBook
+        inTransaction(() -> {
+            BookImage image = new BookImage();
+            image.setBook(entityManager.getReference(Books.class, bookId));
+            image.setImage("images/emma.jpg");
+            entityManager.persist(image);
+            return image;
+        });
+
+        assertEquals(1, (int) inTransaction(() -> entityManager.find(Books.class, bookId).getBookImages().size()));
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return transactionTemplate.execute(status -> work.get());
+    }
+
+    private static Category category(String name, String slug) {
+        Category category = new Category();
+        category.setName(name);
+        category.setSlug(slug);
+        return category;
+    }
+}
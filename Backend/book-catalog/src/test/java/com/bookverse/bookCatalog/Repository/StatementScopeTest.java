@@ -0,0 +1,84 @@
+package com.bookverse.bookCatalog.Repository;
+
+import com.bookverse.bookCatalog.util.StatementScope;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.bookverse.bookCatalog.Repository.TestBooks.book;
+import static org.junit.jupiter.api.Assertions.*;
+
+// The statement inspector and session listener come from application.properties, as in production
+@CatalogJpaTest
+@DisplayName("Statement Scope Tests")
+class StatementScopeTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 6; i++) {
+            ids.add(book("Book " + i).persist(entityManager).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should flag the per-book inventory alert lookup behind loading Books entities")
+    void shouldDetectRepeatedStatements() {
+        try (StatementScope scope = StatementScope.open("entities")) {
+            assertEquals(ids.size(), bookRepository.findAllById(ids).size());
+
+            // The inverse one-to-one Books.inventoryAlert cannot be lazy, so each book costs one more select
+            List<StatementScope.RepeatedStatement> repeated = scope.repeatedStatements(2);
+            assertEquals(1, repeated.size());
+            assertTrue(repeated.get(0).shape().contains("inventory_alerts"), repeated.get(0).shape());
+            assertEquals(ids.size(), repeated.get(0).executions());
+            assertThrows(AssertionError.class, () -> scope.assertNoRepeatedStatements(2));
+            assertThrows(AssertionError.class, () -> scope.assertStatementsAtMost(1));
+        }
+    }
+
+    @Test
+    @DisplayName("Should pass the budget when the same books are read as a projection")
+    void shouldPassForProjection() {
+        try (StatementScope scope = StatementScope.open("projection")) {
+            assertEquals(ids.size(), bookRepository.findAdminRows(
+                    (root, query, cb) -> root.get("id").in(ids), Sort.by("id"), 100).size());
+
+            scope.assertStatementsAtMost(1);
+            scope.assertNoRepeatedStatements(2);
+        }
+    }
+
+    @Test
+    @DisplayName("Should report executions over the slow threshold to the outer scope too")
+    void shouldReportSlowStatementsInNestedScopes() {
+        List<String> slow = new ArrayList<>();
+        try (StatementScope outer = StatementScope.open("outer", 0, (shape, parameters, nanos) -> slow.add(shape + "/" + parameters))) {
+            try (StatementScope inner = StatementScope.open("inner")) {
+                bookRepository.findAdminRows((root, query, cb) -> cb.equal(root.get("id"), ids.get(0)), Sort.by("id"), 1);
+                assertEquals(1, inner.statementCount());
+            }
+            assertSame(outer, StatementScope.current());
+            assertEquals(1, outer.statementCount());
+        }
+
+        assertNull(StatementScope.current());
+        assertEquals(1, slow.size());
+        assertTrue(slow.get(0).endsWith("/2"), slow.get(0));
+    }
+}
@@ -0,0 +1,75 @@
+package com.bookverse.bookCatalog.Repository;
+
+import com.bookverse.bookCatalog.Models.Books;
+import com.bookverse.bookCatalog.Models.Books.SalesCategory;
+import jakarta.persistence.EntityManager;
+
+import java.time.LocalDateTime;
+
+/**
+ * Book fixtures for the database tests: {@code book("title").price(150.0).stock(3).persist(entityManager)}.
+ * Anything not set keeps the entity defaults.
+ */
+public final class TestBooks {
+
+    private final Books book = new Books();
+
+    private TestBooks(String title) {
+        book.setTitle(title);
+    }
+
+    public static TestBooks book(String title) {
+        return new TestBooks(title);
+    }
+
+    public TestBooks price(double price) {
+        book.setPrice(price);
+        return this;
+    }
+
+    public TestBooks mrp(double mrp) {
+        book.setMrp(mrp);
+        return this;
+    }
+
+    public TestBooks stock(int stock) {
+        book.setStockActual(stock);
+        return this;
+    }
+
+    public TestBooks rating(double rating) {
+        book.setAverageRating(rating);
+        return this;
+    }
+
+    public TestBooks active(boolean active) {
+        book.setActive(active);
+        return this;
+    }
+
+    public TestBooks salesCategory(SalesCategory salesCategory) {
+        book.setSalesCategory(salesCategory);
+        return this;
+    }
+
+    public TestBooks publishedAt(LocalDateTime publicationDate) {
+        book.setPublicationDate(publicationDate);
+        return this;
+    }
+
+    // Soft-deleted as BookService.deleteBook leaves it
+    public TestBooks deletedAt(LocalDateTime deletedAt) {
+        book.setActive(false);
+        book.setDeletedAt(deletedAt);
+        return this;
+    }
+
+    public Books build() {
+        return book;
+    }
+
+    public Books persist(EntityManager entityManager) {
+        entityManager.persist(book);
+        return book;
+    }
+}
@@ -0,0 +1,109 @@
+package com.bookverse.bookCatalog.Service;
+
+import com.bookverse.bookCatalog.Models.Books;
+import com.bookverse.bookCatalog.Repository.BookCategoryRepository;
+import com.bookverse.bookCatalog.Repository.BookImageRepository;
+import com.bookverse.bookCatalog.Repository.BookRepository;
+import com.bookverse.bookCatalog.Repository.BookReviewsRepository;
+import com.bookverse.bookCatalog.Repository.CatalogJpaTest;
+import com.bookverse.bookCatalog.Repository.InventoryAlertRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.bookverse.bookCatalog.Repository.TestBooks.book;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+// Retention purge against an embedded database; every chunk commits, as the scheduled purge does
+@CatalogJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Book Purge Tests")
+class BookPurgeServiceTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookImageRepository bookImageRepository;
+
+    @Autowired
+    private BookCategoryRepository bookCategoryRepository;
+
+    @Autowired
+    private InventoryAlertRepository inventoryAlertRepository;
+
+    @Autowired
+    private BookReviewsRepository bookReviewsRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> bookRepository.deleteAllInBatch());
+    }
+
+    @Test
+    @DisplayName("Should keep a book restored after its purge chunk was selected")
+    void shouldSkipBookRestoredAfterSelection() {
+        LocalDateTime longAgo = LocalDateTime.now().minusDays(90);
+        Long expired = save("expired", longAgo);
+        Long restored = save("restored", longAgo);
+
+        // The restore commits between the chunk select and the purge transaction
+        AtomicBoolean first = new AtomicBoolean(true);
+        BookRepository repository = mock(BookRepository.class, delegatesTo(bookRepository));
+        doAnswer(invocation -> {
+            List<Long> ids = bookRepository.findSoftDeletedIdsBefore(invocation.getArgument(0), invocation.getArgument(1));
+            if (first.getAndSet(false)) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    Books book = bookRepository.findById(restored).orElseThrow();
+                    book.setActive(true);
+                    book.setDeletedAt(null);
+                });
+            }
+            return ids;
+        }).when(repository).findSoftDeletedIdsBefore(any(), any(Pageable.class));
+
+        BookPurgeService service = new BookPurgeService(repository, bookImageRepository, bookCategoryRepository,
+                inventoryAlertRepository, bookReviewsRepository, mock(BookCacheService.class), transactionTemplate,
+                mock(OutboxService.class));
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "retentionDays", 30);
+        ReflectionTestUtils.setField(service, "chunkSize", 10);
+
+        service.purgeExpiredSoftDeletes();
+
+        assertFalse(bookRepository.existsById(expired));
+        Books kept = bookRepository.findById(restored).orElseThrow();
+        assertTrue(kept.isActive());
+    }
+
+    private Long save(String title, LocalDateTime deletedAt) {
+        Books book = book(title).price(10.0).deletedAt(deletedAt).build();
+        return transactionTemplate.execute(status -> bookRepository.save(book).getId());
+    }
+}
@@ -0,0 +1,349 @@
+package com.bookverse.bookCatalog.Service;
+
+import com.bookverse.bookCatalog.DTO.CatalogChangeMessage;
+import com.bookverse.bookCatalog.Event.CatalogChangesPublishedEvent;
+import com.bookverse.bookCatalog.Event.CatalogChangesReceivedEvent;
+import com.bookverse.bookCatalog.Exception.ValidationException;
+import com.bookverse.bookCatalog.Models.OutboxEvent;
+import com.bookverse.bookCatalog.Models.OutboxEvent.AggregateType;
+import com.bookverse.bookCatalog.Models.OutboxEvent.EventType;
+import com.bookverse.bookCatalog.Repository.CatalogJpaTest;
+import com.bookverse.bookCatalog.Repository.OutboxEventRepository;
+import com.bookverse.bookCatalog.Repository.OutboxRelayLockRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Relay, tail and feed against an embedded database; every step commits, as the scheduled jobs do
+@CatalogJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Outbox Relay Tests")
+class OutboxRelayServiceTest {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxRelayLockRepository outboxRelayLockRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private OutboxRelayService relayService;
+    private CatalogChangeFeedService feedService;
+
+    // What the in-process listener does with each batch; positions of every delivery attempt
+    private Consumer<CatalogChangesPublishedEvent> listener;
+    private final List<List<Long>> deliveries = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.deleteAllInBatch());
+
+        listener = event -> { };
+        relayService = relay();
+
+        feedService = new CatalogChangeFeedService(outboxEventRepository);
+        ReflectionTestUtils.setField(feedService, "maxLimit", 3);
+        ReflectionTestUtils.setField(feedService, "sseTimeoutMs", 60_000L);
+    }
+
+    @Test
+    @DisplayName("Should hand out gapless positions in publish order when rows commit out of id order")
+    void shouldAssignGaplessPositionsAcrossOutOfOrderCommits() throws Exception {
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Long> slow = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            Long id = outboxEventRepository.saveAndFlush(event(1L)).getId();
+            inserted.countDown();
+            await(release);
+            return id;
+        }));
+        assertTrue(inserted.await(10, TimeUnit.SECONDS));
+        Long fast = transactionTemplate.execute(status -> outboxEventRepository.save(event(2L)).getId());
+
+        // The earlier id is still uncommitted, so only the later one is visible
+        relayService.relay();
+        release.countDown();
+        Long slowId = slow.get(10, TimeUnit.SECONDS);
+        relayService.relay();
+
+        assertTrue(slowId < fast);
+        assertEquals(List.of(List.of(1L), List.of(2L)), deliveries);
+        assertEquals(1L, position(fast));
+        assertEquals(2L, position(slowId));
+        assertEquals(List.of(2L, 1L), feedService.getChangesAfter(0, 10).stream()
+                .map(CatalogChangeMessage::getAggregateId).toList());
+    }
+
+    @Test
+    @DisplayName("Should let relays on two instances take turns without reusing positions")
+    void shouldSerializeConcurrentRelays() throws Exception {
+        record(4);
+        relayService.relay();
+        record(4);
+        CountDownLatch publishing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        listener = event -> {
+            publishing.countDown();
+            await(release);
+        };
+
+        // The first relay holds the lock while its listener runs; the second waits for the commit
+        CompletableFuture<Void> first = CompletableFuture.runAsync(relayService::relay);
+        assertTrue(publishing.await(10, TimeUnit.SECONDS));
+        OutboxRelayService other = relay();
+        CompletableFuture<Void> second = CompletableFuture.runAsync(other::relay);
+        Thread.sleep(200);
+        release.countDown();
+        first.get(10, TimeUnit.SECONDS);
+        second.get(10, TimeUnit.SECONDS);
+
+        // Each position handed out exactly once, with no batch delivered by both relays
+        List<Long> expected = List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L);
+        assertEquals(expected, deliveries.stream().flatMap(List::stream).sorted().toList());
+        assertEquals(expected, transactionTemplate.execute(status ->
+                outboxEventRepository.findAll().stream().map(OutboxEvent::getPosition).sorted().toList()));
+    }
+
+    @Test
+    @DisplayName("Should redeliver a batch whose listener failed under the same positions")
+    void shouldRedeliverAfterListenerFailure() {
+        record(5);
+        listener = event -> {
+            if (event.changes().get(0).getPosition() == 3) {
+                throw new IllegalStateException("listener down");
+            }
+        };
+
+        relayService.relay();
+        assertEquals(List.of(List.of(1L, 2L), List.of(3L, 4L)), deliveries);
+        assertEquals(2, feedService.getChangesAfter(0, 10).size());
+
+        listener = event -> { };
+        relayService.relay();
+
+        assertEquals(List.of(List.of(1L, 2L), List.of(3L, 4L), List.of(3L, 4L), List.of(5L)), deliveries);
+        assertEquals(List.of(1L, 2L, 3L), positions(feedService.getChangesAfter(0, 10)));
+        assertEquals(List.of(4L, 5L), positions(feedService.getChangesAfter(3, 10)));
+    }
+
+    @Test
+    @DisplayName("Should re-read the last position after a batch fails to commit, leaving no gap")
+    void shouldResetLastPositionAfterRolledBackCommit() {
+        record(3);
+        // Fails after the relay has advanced its in-memory position for the batch
+        listener = event -> TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                if (event.changes().get(0).getPosition() == 3) {
+                    throw new IllegalStateException("commit failed");
+                }
+            }
+        });
+
+        relayService.relay();
+        assertEquals(List.of(1L, 2L), positions(feedService.getChangesAfter(0, 10)));
+
+        listener = event -> { };
+        relayService.relay();
+
+        assertEquals(List.of(List.of(1L, 2L), List.of(3L), List.of(3L)), deliveries);
+        assertEquals(List.of(1L, 2L, 3L), positions(feedService.getChangesAfter(0, 10)));
+    }
+
+    @Test
+    @DisplayName("Should page the feed by position and cap the page size")
+    void shouldPageFeed() {
+        record(5);
+        relayService.relay();
+
+        assertEquals(List.of(1L, 2L), positions(feedService.getChangesAfter(0, 2)));
+        assertEquals(List.of(3L, 4L, 5L), positions(feedService.getChangesAfter(2, 50)));
+        assertEquals(List.of(), feedService.getChangesAfter(5, 2));
+        assertThrows(ValidationException.class, () -> feedService.getChangesAfter(-1, 2));
+        assertThrows(ValidationException.class, () -> feedService.getChangesAfter(0, 0));
+    }
+
+    @Test
+    @DisplayName("Should replay a subscriber's backlog, then stream what the tail reads without repeats")
+    void shouldHandOffFromReplayToLive() {
+        CatalogChangeTailService tail = tail(feedService::onChangesReceived);
+        record(2);
+        relayService.relay();
+        tail.poll();
+
+        SseEmitter emitter = feedService.subscribe(1);
+        record(2);
+        relayService.relay();
+        tail.poll();
+
+        assertEquals(List.of(2L, 3L, 4L), positions(sent(emitter)));
+    }
+
+    @Test
+    @DisplayName("Should skip a live page that was already replayed")
+    void shouldSkipLiveBatchCoveredByReplay() {
+        CatalogChangeTailService tail = tail(feedService::onChangesReceived);
+        record(2);
+        relayService.relay();
+
+        // The tail reads the page only after the subscriber's backlog read
+        SseEmitter emitter = feedService.subscribe(0);
+        tail.poll();
+
+        assertEquals(List.of(1L, 2L), positions(sent(emitter)));
+    }
+
+    @Test
+    @DisplayName("Should read skipped positions from the table before a live page")
+    void shouldBackfillBeforeLivePage() {
+        SseEmitter emitter = feedService.subscribe(0);
+        record(4);
+        relayService.relay();
+
+        // A page that starts past the subscriber's last position, e.g. after a lagging backlog read
+        List<CatalogChangeMessage> page = feedService.getChangesAfter(2, 10);
+        feedService.onChangesReceived(new CatalogChangesReceivedEvent(page, Set.of(), Set.of(), false));
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), positions(sent(emitter)));
+    }
+
+    @Test
+    @DisplayName("Should tail published changes on another instance and resync after a retention gap")
+    void shouldTailPublishedChanges() {
+        List<CatalogChangesReceivedEvent> received = new ArrayList<>();
+        CatalogChangeTailService tail = tail(received::add);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxEventRepository.save(event(AggregateType.BOOK, 1L, null));
+            outboxEventRepository.save(event(AggregateType.REVIEW, 10L, "{\"bookId\":2,\"averageRating\":4.5,\"reviewCount\":1}"));
+            outboxEventRepository.save(event(AggregateType.CATEGORY, 3L, null));
+        });
+        relayService.relay();
+        tail.poll();
+
+        assertEquals(2, received.size());
+        assertEquals(List.of(1L, 2L), positions(received.get(0).changes()));
+        assertEquals(Set.of(1L, 2L), received.get(0).bookIds());
+        assertEquals(Set.of(3L), received.get(1).categoryIds());
+        assertEquals(3L, tail.getLastPosition());
+
+        // Retention deleted a position this instance had not read yet
+        record(2);
+        relayService.relay();
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.deleteAll(
+                outboxEventRepository.findPublishedAfter(3, Pageable.ofSize(1))));
+        tail.poll();
+
+        assertTrue(received.get(2).resync());
+        assertEquals(5L, tail.getLastPosition());
+        tail.poll();
+        assertEquals(3, received.size());
+    }
+
+    // A relay as each instance runs it, reporting to this test's listener
+    private OutboxRelayService relay() {
+        OutboxRelayService relay = new OutboxRelayService(outboxEventRepository, outboxRelayLockRepository, event -> {
+            CatalogChangesPublishedEvent published = (CatalogChangesPublishedEvent) event;
+            synchronized (deliveries) {
+                deliveries.add(positions(published.changes()));
+            }
+            listener.accept(published);
+        }, transactionTemplate);
+        ReflectionTestUtils.setField(relay, "relayEnabled", true);
+        ReflectionTestUtils.setField(relay, "batchSize", 2);
+        return relay;
+    }
+
+    // The outbox tail every instance runs, starting from the current end of the feed
+    private CatalogChangeTailService tail(Consumer<CatalogChangesReceivedEvent> consumer) {
+        CatalogChangeTailService tail = new CatalogChangeTailService(outboxEventRepository,
+                event -> consumer.accept((CatalogChangesReceivedEvent) event), new ObjectMapper());
+        ReflectionTestUtils.setField(tail, "tailEnabled", true);
+        ReflectionTestUtils.setField(tail, "batchSize", 2);
+        tail.init();
+        return tail;
+    }
+
+    private void record(int count) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (long i = 0; i < count; i++) {
+                outboxEventRepository.save(event(i));
+            }
+        });
+    }
+
+    private Long position(Long id) {
+        return transactionTemplate.execute(status -> outboxEventRepository.findById(id).orElseThrow().getPosition());
+    }
+
+    private static OutboxEvent event(Long aggregateId) {
+        return event(AggregateType.BOOK, aggregateId, null);
+    }
+
+    private static OutboxEvent event(AggregateType aggregateType, Long aggregateId, String payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setAggregateType(aggregateType);
+        event.setAggregateId(aggregateId);
+        event.setEventType(switch (aggregateType) {
+            case BOOK -> EventType.BOOK_UPDATED;
+            case CATEGORY -> EventType.CATEGORY_UPDATED;
+            case REVIEW -> EventType.REVIEW_CREATED;
+        });
+        event.setPayload(payload);
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+
+    // Changes sent to an emitter that no response has picked up yet
+    @SuppressWarnings("unchecked")
+    private static List<CatalogChangeMessage> sent(SseEmitter emitter) {
+        Collection<ResponseBodyEmitter.DataWithMediaType> early =
+                (Collection<ResponseBodyEmitter.DataWithMediaType>) ReflectionTestUtils.getField(emitter, "earlySendAttempts");
+        return early.stream()
+                .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                .filter(CatalogChangeMessage.class::isInstance)
+                .map(CatalogChangeMessage.class::cast)
+                .toList();
+    }
+
+    private static List<Long> positions(List<CatalogChangeMessage> changes) {
+        return changes.stream().map(CatalogChangeMessage::getPosition).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
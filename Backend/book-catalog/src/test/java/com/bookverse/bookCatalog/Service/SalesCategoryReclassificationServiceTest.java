@@ -0,0 +1,158 @@
+package com.bookverse.bookCatalog.Service;
+
+import com.bookverse.bookCatalog.DTO.SalesCategoryReclassificationResult;
+import com.bookverse.bookCatalog.DTO.SalesClassificationInput;
+import com.bookverse.bookCatalog.Models.Books;
+import com.bookverse.bookCatalog.Models.Books.SalesCategory;
+import com.bookverse.bookCatalog.Repository.BookRepository;
+import com.bookverse.bookCatalog.Repository.CatalogJpaTest;
+import com.bookverse.bookCatalog.Repository.TestBooks;
+import com.bookverse.bookCatalog.util.StatementScope;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.bookverse.bookCatalog.Repository.TestBooks.book;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Runs the classification pass and its UPDATEs against an embedded database; the sales rollups are stubbed
+@CatalogJpaTest
+@DisplayName("Sales Category Reclassification Tests")
+class SalesCategoryReclassificationServiceTest {
+
+    private static final LocalDateTime LONG_AGO = LocalDateTime.now().minusYears(2);
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private SalesRollupService salesRollupService;
+    private OutboxService outboxService;
+    private SalesCategoryReclassificationService service;
+
+    private final Map<String, Long> ids = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        persist(book("seller-1").price(100.0));
+        persist(book("seller-2").salesCategory(SalesCategory.SPECIAL_OFFERS).price(50.0));
+        persist(book("seller-3").salesCategory(SalesCategory.NEWLY_LAUNCHED).price(100.0));
+        persist(book("former-seller").salesCategory(SalesCategory.BEST_SELLING).price(70.0));
+        persist(book("new").price(100.0).publishedAt(LocalDateTime.now().minusDays(3)));
+        persist(book("expired-offer").salesCategory(SalesCategory.SPECIAL_OFFERS).price(95.0));
+        persist(book("offer").salesCategory(SalesCategory.SPECIAL_OFFERS).price(60.0));
+        persist(book("inactive").salesCategory(SalesCategory.BEST_SELLING).price(100.0).active(false));
+        entityManager.flush();
+        entityManager.clear();
+
+        salesRollupService = mock(SalesRollupService.class);
+        when(salesRollupService.getRecentBookUnits(any())).thenReturn(Map.of(
+                ids.get("seller-1"), 30L, ids.get("seller-2"), 20L, ids.get("seller-3"), 10L, ids.get("inactive"), 40L));
+        outboxService = mock(OutboxService.class);
+
+        // Same query without the MySQL streaming fetch size, which H2 rejects
+        BookRepository repository = mock(BookRepository.class, delegatesTo(bookRepository));
+        doAnswer(invocation -> entityManager.createQuery("SELECT new com.bookverse.bookCatalog.DTO.SalesClassificationInput(" +
+                "b.id, b.salesCategory, b.price, b.mrp, b.publicationDate, b.createdAt) FROM Books b WHERE b.isActive = true",
+                SalesClassificationInput.class).getResultStream())
+                .when(repository).streamSalesClassificationInputs();
+
+        service = new SalesCategoryReclassificationService(repository, salesRollupService, mock(BookCacheService.class),
+                outboxService, new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(service, "velocityDays", 7);
+        ReflectionTestUtils.setField(service, "bestSellingTop", 4);
+        ReflectionTestUtils.setField(service, "bestSellingMinUnits", 1L);
+        ReflectionTestUtils.setField(service, "newDays", 60);
+        ReflectionTestUtils.setField(service, "offerMinDiscount", 0.2);
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+    }
+
+    @Test
+    @DisplayName("Should classify by precedence and write only changed books in chunked UPDATEs")
+    void shouldReclassifyChangedBooksInChunks() {
+        when(salesRollupService.coversRecent(any())).thenReturn(true);
+
+        SalesCategoryReclassificationResult result;
+        try (StatementScope scope = StatementScope.open("reclassify")) {
+            result = service.reclassify();
+
+            // BEST_SELLING: 3 ids in chunks of 2; SPECIAL_OFFERS, NEWLY_LAUNCHED and none: 1 each
+            assertEquals(5, updates(scope));
+        }
+        entityManager.clear();
+
+        assertEquals(7, result.getScannedBooks());
+        assertEquals(6, result.getChangedBooks());
+        assertEquals(Map.of(SalesCategory.BEST_SELLING, 3, SalesCategory.SPECIAL_OFFERS, 2,
+                SalesCategory.NEWLY_LAUNCHED, 1), result.getMembership());
+        assertEquals(SalesCategory.BEST_SELLING, categoryOf("seller-1"));
+        assertEquals(SalesCategory.BEST_SELLING, categoryOf("seller-2"));
+        assertEquals(SalesCategory.BEST_SELLING, categoryOf("seller-3"));
+        assertEquals(SalesCategory.SPECIAL_OFFERS, categoryOf("former-seller"));
+        assertEquals(SalesCategory.NEWLY_LAUNCHED, categoryOf("new"));
+        assertNull(categoryOf("expired-offer"));
+        assertEquals(SalesCategory.SPECIAL_OFFERS, categoryOf("offer"));
+        assertEquals(SalesCategory.BEST_SELLING, categoryOf("inactive"));
+        verify(outboxService, times(5)).recordAll(any(), anyCollection(), any());
+    }
+
+    @Test
+    @DisplayName("Should keep current best sellers while the rollups do not cover the velocity window")
+    void shouldNotDemoteBestSellersWithoutRollupHistory() {
+        when(salesRollupService.coversRecent(any())).thenReturn(false);
+
+        SalesCategoryReclassificationResult result = service.reclassify();
+        entityManager.clear();
+
+        assertEquals(5, result.getChangedBooks());
+        assertEquals(SalesCategory.BEST_SELLING, categoryOf("former-seller"));
+        assertEquals(SalesCategory.BEST_SELLING, categoryOf("seller-1"));
+        assertNull(categoryOf("expired-offer"));
+        verify(outboxService, times(0)).recordAll(any(), eq(List.of(ids.get("former-seller"))), any());
+    }
+
+    // Every fixture lists at 100 and was published long ago unless it says otherwise
+    private void persist(TestBooks fixture) {
+        Books book = fixture.mrp(100.0).build();
+        if (book.getPublicationDate() == null) {
+            book.setPublicationDate(LONG_AGO);
+        }
+        entityManager.persist(book);
+        ids.put(book.getTitle(), book.getId());
+    }
+
+    private long updates(StatementScope scope) {
+        return scope.statementsByShape().entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith("update books"))
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+
+    private SalesCategory categoryOf(String title) {
+        return bookRepository.findById(ids.get(title)).orElseThrow().getSalesCategory();
+    }
+}
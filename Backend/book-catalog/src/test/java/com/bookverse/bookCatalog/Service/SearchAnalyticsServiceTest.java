@@ -0,0 +1,49 @@
+package com.bookverse.bookCatalog.Service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Search Analytics Tests")
+class SearchAnalyticsServiceTest {
+
+    private SearchAnalyticsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new SearchAnalyticsService();
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "trackedQueries", 10);
+        ReflectionTestUtils.setField(service, "reportSize", 5);
+        ReflectionTestUtils.setField(service, "slowThresholdMs", 100L);
+        ReflectionTestUtils.setField(service, "slowQueries", 2);
+        service.init();
+    }
+
+    @Test
+    @DisplayName("Should keep only the slowest searches over the threshold, per window")
+    void shouldTrackSlowestQueries() {
+        service.record("fast", 3, millis(20));
+        service.record("Slow  One", 0, millis(150));
+        service.record("slowest", 1, millis(900));
+        service.record("slower", 2, millis(400));
+
+        List<SearchAnalyticsService.SlowQueryReport> slow = service.currentWindow().slowestQueries();
+        assertEquals(List.of("slowest", "slower"), slow.stream().map(SearchAnalyticsService.SlowQueryReport::query).toList());
+        assertEquals(900.0, slow.get(0).latencyMs());
+        assertEquals(1, slow.get(0).resultCount());
+
+        service.rotate();
+        assertEquals(2, service.previousWindow().slowestQueries().size());
+        assertTrue(service.currentWindow().slowestQueries().isEmpty());
+    }
+
+    private static long millis(long ms) {
+        return ms * 1_000_000;
+    }
+}
@@ -0,0 +1,144 @@
+package com.bookverse.bookCatalog.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Load harness comparing the blocking endpoints with their /api/reactive counterparts on a running
+ * instance. It is a main class, not a test, so the regular build never runs it.
+ *
+ * Start the service with a fixed heap and a small servlet pool so both paths get the same memory
+ * and the blocking path saturates first, e.g.
+ *   java -Xms512m -Xmx512m -jar target/book-catalog-0.0.1-SNAPSHOT.jar --server.tomcat.threads.max=50 \
+ *        --management.endpoints.web.exposure.include=health,metrics
+ * then run this class with: [baseUrl] [concurrency] [seconds per run] [book id] [search query].
+ * Each endpoint pair is warmed up, then driven by the given number of closed-loop clients; the report
+ * has throughput, exact latency percentiles, errors, and the server's heap and live threads after the run.
+ */
+public class ReadPathBenchmark {
+
+    private static final Pattern MEASUREMENT = Pattern.compile("\"value\"\\s*:\\s*([0-9.Ee+-]+)");
+
+    private record Result(String path, long requests, long errors, double perSecond,
+                          double p50Ms, double p99Ms, double p999Ms, double maxMs) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8082";
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        String bookId = args.length > 3 ? args[3] : "1";
+        String query = args.length > 4 ? args[4] : "the";
+
+        String[][] pairs = {
+                {"/api/books", "/api/reactive/books"},
+                {"/api/books/" + bookId, "/api/reactive/books/" + bookId},
+                {"/api/books/search?query=" + query, "/api/reactive/books/search?query=" + query},
+                {"/api/categories/active", "/api/reactive/categories/active"}
+        };
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        System.out.printf("%-45s %9s %7s %9s %8s %8s %9s %8s %10s %8s%n",
+                "path", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "heap MB", "threads");
+        for (String[] pair : pairs) {
+            for (String path : pair) {
+                run(client, baseUrl + path, concurrency, Math.max(1, seconds / 5)); // warm-up
+                Result result = run(client, baseUrl + path, concurrency, seconds);
+                double heapMb = metric(client, baseUrl, "jvm.memory.used?tag=area:heap") / (1024 * 1024);
+                double threads = metric(client, baseUrl, "jvm.threads.live");
+                System.out.printf("%-45s %9d %7d %9.0f %8.1f %8.1f %9.1f %8.1f %10.0f %8.0f%n",
+                        result.path(), result.requests(), result.errors(), result.perSecond(),
+                        result.p50Ms(), result.p99Ms(), result.p999Ms(), result.maxMs(), heapMb, threads);
+            }
+        }
+    }
+
+    // Closed loop: every client sends its next request as soon as the previous one completes
+    private static Result run(HttpClient client, String url, int concurrency, int seconds) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        LongAdder errors = new LongAdder();
+
+        List<Future<long[]>> clients = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.increment();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.increment();
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+
+        long[] all = clients.stream().map(ReadPathBenchmark::join).flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(url.substring(url.indexOf("/api")), all.length, errors.sum(), (double) all.length / seconds,
+                percentileMs(all, 0.50), percentileMs(all, 0.99), percentileMs(all, 0.999),
+                all.length > 0 ? all[all.length - 1] / 1e6 : 0);
+    }
+
+    private static long[] join(Future<long[]> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            return new long[0];
+        }
+    }
+
+    private static double percentileMs(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    // Reads one actuator metric; NaN when the metrics endpoint is not exposed
+    private static double metric(HttpClient client, String baseUrl, String name) {
+        try {
+            HttpResponse<String> response = client.send(
+                    HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + name)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            Matcher matcher = MEASUREMENT.matcher(response.body());
+            return response.statusCode() == 200 && matcher.find() ? Double.parseDouble(matcher.group(1)) : Double.NaN;
+        } catch (Exception e) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.bookverse.bookCatalog.config;
+
+import com.bookverse.bookCatalog.Exception.InsufficientStockException;
+import com.bookverse.bookCatalog.Service.BookService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("Catalog Metrics Tests")
+class CatalogMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private BookService bookService;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        BookService target = mock(BookService.class);
+        doThrow(new InsufficientStockException(2L, 5, 1)).when(target).decreaseStock(2L, 5);
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new CatalogMetricsAspect(registry));
+        bookService = factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Should count decrements and units only for successful calls, and rejections separately")
+    void shouldCountStockOutcomes() {
+        bookService.decreaseStock(1L, 3);
+        bookService.decreaseStock(1L, 2);
+        assertThrows(InsufficientStockException.class, () -> bookService.decreaseStock(2L, 5));
+
+        assertEquals(2, registry.get("catalog.stock.decrements").counter().count());
+        assertEquals(5, registry.get("catalog.stock.decremented.units").counter().count());
+        assertEquals(1, registry.get("catalog.stock.rejections").tag("reason", "insufficient_stock").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should time service methods by method and exception")
+    void shouldTimeServiceMethods() {
+        bookService.decreaseStock(1L, 1);
+        assertThrows(InsufficientStockException.class, () -> bookService.decreaseStock(2L, 5));
+
+        assertEquals(1, registry.get("catalog.service").tags("service", "BookService", "method", "decreaseStock",
+                "exception", "none").timer().count());
+        assertEquals(1, registry.get("catalog.service").tags("method", "decreaseStock",
+                "exception", "InsufficientStockException").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should time JSON serialization tagged by the declared body type")
+    void shouldTimeSerialization() throws Exception {
+        TimedJacksonHttpMessageConverter converter = new TimedJacksonHttpMessageConverter(new ObjectMapper(), registry);
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(List.of(Map.of("id", 1)), new ParameterizedTypeReference<List<Map<String, Integer>>>() { }.getType(),
+                MediaType.APPLICATION_JSON, output);
+
+        assertEquals("[{\"id\":1}]", output.getBodyAsString());
+        assertEquals(1, registry.get("catalog.serialization").tag("type", "List<Map<String,Integer>>").timer().count());
+    }
+}
@@ -0,0 +1,32 @@
+package com.bookverse.bookCatalog.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Reactive Catalog Config Tests")
+class ReactiveCatalogConfigTest {
+
+    @Test
+    @DisplayName("Should follow the JDBC datasource without its driver-only parameters")
+    void shouldDeriveUrlFromDatasource() {
+        assertEquals("r2dbc:mysql://db.internal:3306/catlog_schema",
+                ReactiveCatalogConfig.r2dbcUrl("", "jdbc:mysql://db.internal:3306/catlog_schema?rewriteBatchedStatements=true"));
+        assertEquals("r2dbc:mysql://localhost/catalog", ReactiveCatalogConfig.r2dbcUrl("", "jdbc:mysql://localhost/catalog"));
+    }
+
+    @Test
+    @DisplayName("Should prefer an explicit R2DBC URL")
+    void shouldPreferConfiguredUrl() {
+        assertEquals("r2dbc:mysql://replica:3307/catlog_schema",
+                ReactiveCatalogConfig.r2dbcUrl("r2dbc:mysql://replica:3307/catlog_schema", "jdbc:mysql://primary:3306/catlog_schema"));
+    }
+
+    @Test
+    @DisplayName("Should refuse to guess a URL for a datasource that is not MySQL")
+    void shouldRejectOtherDatasources() {
+        assertThrows(IllegalStateException.class, () -> ReactiveCatalogConfig.r2dbcUrl("", "jdbc:h2:mem:catalog"));
+        assertThrows(IllegalStateException.class, () -> ReactiveCatalogConfig.r2dbcUrl("", ""));
+    }
+}
@@ -0,0 +1,131 @@
+package com.bookverse.bookCatalog.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Two embedded databases stand in for the primary and the replica; a marker row tells them apart
+@DisplayName("Read/Write Routing DataSource Tests")
+class ReadWriteRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private ReadWriteRoutingDataSource routingDataSource;
+    private ReplicaLagMonitor monitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        routingDataSource = new ReadWriteRoutingDataSource(primary, replica);
+        monitor = new ReplicaLagMonitor(routingDataSource, primary, replica, 5000);
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    @DisplayName("Should run read-only transactions on the replica and the rest on the primary")
+    void shouldRouteByReadOnlyFlag() {
+        replicate();
+        monitor.check();
+
+        assertTrue(routingDataSource.isReplicaAvailable());
+        assertEquals("replica", readOnly.execute(status -> marker()));
+        assertEquals("primary", readWrite.execute(status -> marker()));
+        assertEquals("primary", marker());
+    }
+
+    @Test
+    @DisplayName("Should keep read-only work joined to a write transaction on the primary")
+    void shouldKeepJoinedReadsOnPrimary() {
+        replicate();
+        monitor.check();
+
+        String seen = readWrite.execute(status -> readOnly.execute(inner -> marker()));
+
+        assertEquals("primary", seen);
+    }
+
+    @Test
+    @DisplayName("Should run read-only work inside onPrimary on the primary")
+    void shouldForcePrimaryForCacheLoads() {
+        replicate();
+        monitor.check();
+
+        assertEquals("primary", ReadWriteRoutingDataSource.onPrimary(() -> readOnly.execute(status -> marker())));
+        assertEquals("primary", ReadWriteRoutingDataSource.onPrimary(
+                () -> ReadWriteRoutingDataSource.onPrimary(() -> readOnly.execute(status -> marker()))));
+        assertFalse(ReadWriteRoutingDataSource.isPrimaryForced());
+        assertEquals("replica", readOnly.execute(status -> marker()));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary while the replica lags")
+    void shouldFallBackWhenReplicaLags() {
+        new JdbcTemplate(replica).update("INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, ?)",
+                System.currentTimeMillis() - 60_000);
+        monitor.check();
+
+        assertFalse(routingDataSource.isReplicaAvailable());
+        assertTrue(routingDataSource.getReplicaLagMs() >= 60_000);
+        assertEquals("primary", readOnly.execute(status -> marker()));
+
+        replicate();
+        monitor.check();
+        assertEquals("replica", readOnly.execute(status -> marker()));
+    }
+
+    @Test
+    @DisplayName("Should stay on the primary until a heartbeat has been replicated")
+    void shouldStartOnPrimary() {
+        assertEquals("primary", readOnly.execute(status -> marker()));
+
+        monitor.check();
+
+        assertFalse(routingDataSource.isReplicaAvailable());
+        assertEquals(1, new JdbcTemplate(primary).queryForObject("SELECT COUNT(*) FROM replication_heartbeat", Integer.class));
+    }
+
+    private String marker() {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    // Copies the primary's heartbeat to the replica, as replication would
+    private void replicate() {
+        JdbcTemplate primaryJdbc = new JdbcTemplate(primary);
+        if (primaryJdbc.queryForObject("SELECT COUNT(*) FROM replication_heartbeat", Integer.class) == 0) {
+            primaryJdbc.update("INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, ?)", System.currentTimeMillis());
+        }
+        Long beat = primaryJdbc.queryForObject("SELECT beat_at FROM replication_heartbeat WHERE id = 1", Long.class);
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.update("DELETE FROM replication_heartbeat");
+        replicaJdbc.update("INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, ?)", beat);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE marker (name VARCHAR(16))");
+        jdbc.update("INSERT INTO marker (name) VALUES (?)", name);
+        jdbc.execute("CREATE TABLE replication_heartbeat (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+        return dataSource;
+    }
+}
@@ -0,0 +1,56 @@
+package com.bookverse.bookCatalog.util;
+
+import com.bookverse.bookCatalog.DTO.BookWithRelations;
+import com.bookverse.bookCatalog.Models.Books;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Catalog Snapshot Codec Tests")
+class CatalogSnapshotCodecTest {
+
+    @Test
+    @DisplayName("Should round-trip books with categories, images and null fields")
+    void shouldRoundTripBooks() throws Exception {
+        BookWithRelations book = new BookWithRelations();
+        book.setId(42L);
+        book.setTitle("The Hobbit – Illustrated");
+        book.setAuthor("J.R.R. Tolkien");
+        book.setPrice(499.0);
+        book.setStockActual(7);
+        book.setSalesCategory(Books.SalesCategory.BEST_SELLING);
+        book.setIsActive(true);
+        book.setUpdatedAt(LocalDateTime.of(2024, 5, 1, 10, 15, 30, 123_456_789));
+        book.setCategories(List.of(new BookWithRelations.CategoryInfo(3L, "Fantasy", "fantasy", null, null, true, 1)));
+        book.setImages(List.of(new BookWithRelations.BookImageInfo(9L, "images/hobbit.jpg", "cover", true)));
+
+        LocalDateTime takenAt = LocalDateTime.of(2024, 5, 1, 10, 0);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CatalogSnapshotCodec.encode(out, takenAt, List.of(book));
+
+        CatalogSnapshotCodec.Decoded decoded = CatalogSnapshotCodec.decode(ByteBuffer.wrap(out.toByteArray()));
+
+        assertEquals(takenAt, decoded.takenAt());
+        assertEquals(List.of(book), decoded.books());
+    }
+
+    @Test
+    @DisplayName("Should reject a snapshot whose checksum does not match")
+    void shouldRejectCorruptedSnapshot() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BookWithRelations book = new BookWithRelations();
+        book.setId(1L);
+        CatalogSnapshotCodec.encode(out, LocalDateTime.now(), List.of(book));
+
+        byte[] bytes = out.toByteArray();
+        bytes[bytes.length / 2] ^= 0x01;
+
+        assertThrows(IllegalStateException.class, () -> CatalogSnapshotCodec.decode(ByteBuffer.wrap(bytes)));
+    }
+}
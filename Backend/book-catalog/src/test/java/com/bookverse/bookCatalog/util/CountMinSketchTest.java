@@ -0,0 +1,39 @@
+package com.bookverse.bookCatalog.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Count-Min Sketch Tests")
+class CountMinSketchTest {
+
+    @Test
+    @DisplayName("Should never undercount and stay close for a skewed stream")
+    void shouldBoundEstimates() {
+        CountMinSketch sketch = new CountMinSketch(4, 1024, 7);
+        for (long key = 1; key <= 5_000; key++) {
+            sketch.add(key, 1.0);
+        }
+        for (int i = 0; i < 1_000; i++) {
+            sketch.add(42L, 1.0);
+        }
+
+        double estimate = sketch.estimate(42L);
+        assertTrue(estimate >= 1_001.0);
+        // e / width of the 6,001 total, with a wide margin
+        assertTrue(estimate <= 1_001.0 + 60.0);
+        assertTrue(sketch.estimate(999_999L) <= 60.0);
+    }
+
+    @Test
+    @DisplayName("Should scale every counter")
+    void shouldScaleCounters() {
+        CountMinSketch sketch = new CountMinSketch(3, 64, 1);
+        sketch.add(5L, 8.0);
+
+        sketch.scale(0.25);
+
+        assertEquals(2.0, sketch.estimate(5L), 1e-9);
+    }
+}
@@ -0,0 +1,90 @@
+package com.bookverse.bookCatalog.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Disk LRU Cache Tests")
+class DiskLruCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should evict the least recently used files once over the size limit")
+    void shouldEvictLeastRecentlyUsed() throws Exception {
+        DiskLruCache cache = new DiskLruCache(directory, 30);
+        cache.put("a.jpg", new byte[10]);
+        cache.put("b.jpg", new byte[10]);
+        cache.put("c.jpg", new byte[10]);
+
+        assertNotNull(cache.get("a.jpg"));   // a is now more recent than b
+        cache.put("d.jpg", new byte[10]);
+
+        assertNull(cache.get("b.jpg"));
+        assertFalse(Files.exists(directory.resolve("b.jpg")));
+        assertNotNull(cache.get("a.jpg"));
+        assertNotNull(cache.get("d.jpg"));
+        assertEquals(30, cache.sizeInBytes());
+        assertEquals(3, cache.count());
+    }
+
+    @Test
+    @DisplayName("Should replace an existing key and keep the size accurate")
+    void shouldReplaceExistingKey() throws Exception {
+        DiskLruCache cache = new DiskLruCache(directory, 100);
+        cache.put("a.jpg", new byte[40]);
+        cache.put("a.jpg", new byte[25]);
+
+        assertEquals(25, Files.size(cache.get("a.jpg")));
+        assertEquals(25, cache.sizeInBytes());
+    }
+
+    @Test
+    @DisplayName("Should pick up existing files on startup, trimming to a lowered limit and dropping temp files")
+    void shouldReloadFromDisk() throws Exception {
+        DiskLruCache first = new DiskLruCache(directory, 100);
+        first.put("old.jpg", new byte[20]);
+        Files.setLastModifiedTime(directory.resolve("old.jpg"), FileTime.fromMillis(1_000));
+        first.put("new.jpg", new byte[20]);
+        Files.write(directory.resolve("half-written.jpg.123.tmp"), new byte[5]);
+
+        DiskLruCache reopened = new DiskLruCache(directory, 30);
+
+        assertNull(reopened.get("old.jpg"));
+        assertNotNull(reopened.get("new.jpg"));
+        assertEquals(20, reopened.sizeInBytes());
+        assertFalse(Files.exists(directory.resolve("half-written.jpg.123.tmp")));
+    }
+
+    @Test
+    @DisplayName("Should keep an opened file readable after it is evicted")
+    void shouldServeOpenedFileAfterEviction() throws Exception {
+        DiskLruCache cache = new DiskLruCache(directory, 10);
+        cache.put("a.jpg", new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        try (FileChannel channel = cache.open("a.jpg")) {
+            cache.put("b.jpg", new byte[8]);
+
+            assertNull(cache.open("a.jpg"));
+            assertFalse(Files.exists(directory.resolve("a.jpg")));
+            ByteBuffer content = ByteBuffer.allocate(8);
+            assertEquals(8, channel.read(content, 0));
+            assertArrayEquals(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}, content.array());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject keys that are not plain file names")
+    void shouldRejectUnsafeKeys() {
+        assertThrows(IllegalArgumentException.class, () -> new DiskLruCache(directory, 10).get("../etc/passwd"));
+    }
+}
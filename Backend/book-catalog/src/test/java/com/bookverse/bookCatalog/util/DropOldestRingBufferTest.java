@@ -0,0 +1,41 @@
+package com.bookverse.bookCatalog.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Drop Oldest Ring Buffer Tests")
+class DropOldestRingBufferTest {
+
+    @Test
+    @DisplayName("Should keep the newest items and count the overwritten ones")
+    void shouldDropOldestWhenFull() {
+        DropOldestRingBuffer<Integer> buffer = new DropOldestRingBuffer<>(3);
+        for (int i = 1; i <= 5; i++) {
+            buffer.offer(i);
+        }
+
+        assertEquals(List.of(3, 4, 5), buffer.snapshot());
+        assertEquals(2, buffer.takeDropped());
+        assertEquals(0, buffer.takeDropped());
+    }
+
+    @Test
+    @DisplayName("Should drain in order and accept new items afterwards")
+    void shouldDrainAndRefill() {
+        DropOldestRingBuffer<Integer> buffer = new DropOldestRingBuffer<>(3);
+        buffer.offer(1);
+        buffer.offer(2);
+        buffer.offer(3);
+        buffer.offer(4);
+
+        assertEquals(List.of(2, 3, 4), buffer.drain());
+        assertTrue(buffer.isEmpty());
+
+        buffer.offer(5);
+        assertEquals(List.of(5), buffer.drain());
+    }
+}
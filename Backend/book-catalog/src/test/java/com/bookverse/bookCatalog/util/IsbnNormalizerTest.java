@@ -0,0 +1,28 @@
+package com.bookverse.bookCatalog.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ISBN Normalizer Tests")
+class IsbnNormalizerTest {
+
+    @Test
+    @DisplayName("Should convert ISBN-10 to ISBN-13 and strip separators")
+    void shouldNormalizeValidIsbns() {
+        assertEquals("9780306406157", IsbnNormalizer.toIsbn13("0-306-40615-2"));
+        assertEquals("9780306406157", IsbnNormalizer.toIsbn13("978-0-306-40615-7"));
+        assertEquals("9780804429573", IsbnNormalizer.toIsbn13("080442957X"));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed ISBNs and bad check digits")
+    void shouldRejectInvalidIsbns() {
+        assertNull(IsbnNormalizer.toIsbn13("0-306-40615-3"));
+        assertNull(IsbnNormalizer.toIsbn13("978-0-306-40615-8"));
+        assertNull(IsbnNormalizer.toIsbn13("12345"));
+        assertNull(IsbnNormalizer.toIsbn13("X306406152"));
+        assertNull(IsbnNormalizer.toIsbn13(null));
+    }
+}
@@ -0,0 +1,34 @@
+package com.bookverse.bookCatalog.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Keyset Cursor Tests")
+class KeysetCursorTest {
+
+    @Test
+    @DisplayName("Should round-trip values, nulls and non-ASCII text through a URL-safe token")
+    void shouldRoundTripValues() {
+        List<String> values = Arrays.asList("updated:desc,title:asc", null, "Ænid – Ölkü", "2024-05-01T10:15:30", "42");
+
+        String cursor = KeysetCursor.encode(values);
+
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"));
+        assertEquals(values, KeysetCursor.decode(cursor));
+    }
+
+    @Test
+    @DisplayName("Should reject text that is not a cursor")
+    void shouldRejectMalformedCursor() {
+        String cursor = KeysetCursor.encode(List.of("stock:asc", "3", "7"));
+
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(cursor.substring(0, cursor.length() - 3)));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(cursor + "AAAA"));
+    }
+}
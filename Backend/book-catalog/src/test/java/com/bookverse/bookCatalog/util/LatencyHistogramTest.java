@@ -0,0 +1,30 @@
+package com.bookverse.bookCatalog.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Latency Histogram Tests")
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Should report percentiles as bucket upper bounds")
+    void shouldReportPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) {
+            histogram.record(3_000_000L);      // 3 ms -> 5 ms bucket
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(150_000_000L);    // 150 ms -> 200 ms bucket
+        }
+
+        LatencyHistogram.Summary summary = histogram.summary();
+
+        assertEquals(100, summary.count());
+        assertEquals(5, summary.p50Ms());
+        assertEquals(200, summary.p95Ms());
+        assertEquals(200, summary.maxBucketMs());
+        assertEquals(17.7, summary.meanMs(), 0.01);
+    }
+}
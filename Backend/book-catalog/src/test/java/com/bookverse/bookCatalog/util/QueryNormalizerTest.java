@@ -0,0 +1,20 @@
+package com.bookverse.bookCatalog.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Query Normalizer Tests")
+class QueryNormalizerTest {
+
+    @Test
+    @DisplayName("Should fold case, accents, punctuation and whitespace")
+    void shouldNormalizeQueries() {
+        assertEquals("harry potter", QueryNormalizer.normalize("  Harry   Potter! "));
+        assertEquals("cafe society", QueryNormalizer.normalize("Café-Society"));
+        assertEquals("", QueryNormalizer.normalize(null));
+        assertEquals(QueryNormalizer.hash(QueryNormalizer.normalize("TOLKIEN")),
+                QueryNormalizer.hash(QueryNormalizer.normalize("tolkien.")));
+    }
+}
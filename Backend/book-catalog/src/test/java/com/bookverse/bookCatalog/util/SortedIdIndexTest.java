@@ -0,0 +1,41 @@
+package com.bookverse.bookCatalog.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Sorted Id Index Tests")
+class SortedIdIndexTest {
+
+    @Test
+    @DisplayName("Should keep ids ordered by key, then id, across upserts and removals")
+    void shouldKeepOrderAcrossUpdates() {
+        SortedIdIndex index = new SortedIdIndex();
+        index.rebuild(Map.of(1L, 300.0, 2L, 150.0, 3L, 450.0));
+
+        index.upsert(4L, 150.0);   // tie with id 2
+        index.upsert(3L, 100.0);   // key change moves the id
+        index.remove(1L);
+
+        assertArrayEquals(new long[]{3L, 2L, 4L}, index.page(0, 10, false));
+        assertArrayEquals(new long[]{4L, 2L, 3L}, index.page(0, 10, true));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    @DisplayName("Should slice pages by offset and limit")
+    void shouldSlicePages() {
+        SortedIdIndex index = new SortedIdIndex();
+        for (long id = 1; id <= 25; id++) {
+            index.upsert(id, id * 10.0);
+        }
+
+        assertArrayEquals(new long[]{11L, 12L, 13L, 14L, 15L}, index.page(10, 5, false));
+        assertArrayEquals(new long[]{15L, 14L, 13L, 12L, 11L}, index.page(10, 5, true));
+        assertArrayEquals(new long[]{21L, 22L, 23L, 24L, 25L}, index.page(20, 10, false));
+        assertEquals(0, index.page(25, 10, false).length);
+    }
+}
@@ -0,0 +1,44 @@
+package com.bookverse.bookCatalog.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Space-Saving Top-K Tests")
+class SpaceSavingTopKTest {
+
+    @Test
+    @DisplayName("Should keep heavy hitters in a stream of many distinct keys")
+    void shouldKeepHeavyHitters() {
+        SpaceSavingTopK topK = new SpaceSavingTopK(10);
+        for (int round = 0; round < 200; round++) {
+            topK.add(1L, 3.0);
+            topK.add(2L, 2.0);
+            topK.add(1_000L + round, 1.0);
+        }
+
+        List<SpaceSavingTopK.Entry> top = topK.top(2);
+
+        assertEquals(10, topK.size());
+        assertEquals(1L, top.get(0).key());
+        assertEquals(2L, top.get(1).key());
+        assertTrue(top.get(0).count() >= 600.0);
+    }
+
+    @Test
+    @DisplayName("Should hand the smallest entry's count to a new key as its error")
+    void shouldReplaceSmallestEntry() {
+        SpaceSavingTopK topK = new SpaceSavingTopK(2);
+        topK.add(1L, 5.0);
+        topK.add(2L, 1.0);
+        topK.add(3L, 1.0);
+
+        List<SpaceSavingTopK.Entry> top = topK.top(2);
+
+        assertEquals(new SpaceSavingTopK.Entry(1L, 5.0, 0.0), top.get(0));
+        assertEquals(new SpaceSavingTopK.Entry(3L, 2.0, 1.0), top.get(1));
+    }
+}
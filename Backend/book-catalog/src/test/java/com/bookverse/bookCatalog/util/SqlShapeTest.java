@@ -0,0 +1,27 @@
+package com.bookverse.bookCatalog.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SQL Shape Tests")
+class SqlShapeTest {
+
+    @Test
+    @DisplayName("Should group statements that differ only in literals, list sizes and whitespace")
+    void shouldNormalizeLiteralsAndLists() {
+        String a = SqlShape.of("select b1_0.id from books b1_0 where b1_0.id in (?, ?, ?) and b1_0.title = 'It''s'  and b1_0.price > 10.5");
+        String b = SqlShape.of("select b1_0.id from books b1_0\n where b1_0.id in (?,?) and b1_0.title = 'Dune' and b1_0.price > 3");
+
+        assertEquals(a, b);
+        assertEquals("select b1_0.id from books b1_0 where b1_0.id in (?...) and b1_0.title = ? and b1_0.price > ?", a);
+    }
+
+    @Test
+    @DisplayName("Should count bind parameters outside string literals")
+    void shouldCountParameters() {
+        assertEquals(3, SqlShape.parameterCount("update books set title = ?, note = 'why?' where id = ? and version = ?"));
+        assertEquals(0, SqlShape.parameterCount(null));
+    }
+}
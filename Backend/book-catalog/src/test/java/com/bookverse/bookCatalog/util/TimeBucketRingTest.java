@@ -0,0 +1,60 @@
+package com.bookverse.bookCatalog.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Time Bucket Ring Tests")
+class TimeBucketRingTest {
+
+    private record Bucket(long bucket, long units, double revenue) {
+    }
+
+    @Test
+    @DisplayName("Should sum into buckets and recycle slots as newer buckets arrive")
+    void shouldRecycleSlots() {
+        TimeBucketRing ring = new TimeBucketRing(3);
+        ring.add(10, 1, 100.0);
+        ring.add(10, 2, 200.0);
+        ring.add(11, 1, 50.0);
+        ring.add(13, 4, 400.0);   // lands on bucket 10's slot
+
+        assertEquals(List.of(new Bucket(11, 1, 50.0), new Bucket(13, 4, 400.0)), range(ring, 0, 100));
+        assertFalse(ring.add(10, 1, 1.0), "bucket 10 is out of the window");
+        assertTrue(ring.add(12, 1, 10.0), "late but still inside the window");
+        assertEquals(List.of(new Bucket(12, 1, 10.0)), range(ring, 12, 12));
+    }
+
+    @Test
+    @DisplayName("Should hand over only what was added since the last drain")
+    void shouldDrainPending() {
+        TimeBucketRing ring = new TimeBucketRing(4);
+        ring.add(1, 2, 20.0);
+        ring.add(2, 1, 10.0);
+
+        List<Bucket> first = drain(ring);
+        ring.add(2, 3, 30.0);
+        List<Bucket> second = drain(ring);
+
+        assertEquals(2, first.size());
+        assertEquals(List.of(new Bucket(2, 3, 30.0)), second);
+        assertTrue(drain(ring).isEmpty());
+        assertEquals(List.of(new Bucket(1, 2, 20.0), new Bucket(2, 4, 40.0)), range(ring, 1, 2));
+    }
+
+    private static List<Bucket> range(TimeBucketRing ring, long from, long to) {
+        List<Bucket> result = new ArrayList<>();
+        ring.forEachInRange(from, to, (bucket, units, revenue) -> result.add(new Bucket(bucket, units, revenue)));
+        return result;
+    }
+
+    private static List<Bucket> drain(TimeBucketRing ring) {
+        List<Bucket> result = new ArrayList<>();
+        ring.drainPending((bucket, units, revenue) -> result.add(new Bucket(bucket, units, revenue)));
+        return result;
+    }
+}